@@ -0,0 +1,60 @@
+package com.test.feeextract.config;
+
+import com.test.feeextract.util.PriorityTaskExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.TaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블로킹 작업 동시 요청 부하 테스트 (플랫폼 풀 vs 가상 스레드)
+ * - /async/user/{name} 1,000건 동시 호출과 같은 상황: 대기 시간이 대부분인 작업 1,000개를 한꺼번에 넣고 모두 끝날 때까지의 시간
+ * - 작업 시간은 processUser 의 1~3초 대신 20ms 로 줄여서 측정 (비율은 동일)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ExecutorModeBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final long BLOCKING_MILLIS = 20;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutorMode mode;
+
+    private TaskExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = AsyncConfig.blockingExecutor(mode, 2, Duration.ofMillis(200));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof PriorityTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void concurrentBlockingCalls() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(BLOCKING_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
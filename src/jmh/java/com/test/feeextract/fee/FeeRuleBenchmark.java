@@ -0,0 +1,62 @@
+package com.test.feeextract.fee;
+
+import com.test.feeextract.domain.Department;
+import com.test.feeextract.domain.UserDataBatch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수수료 규칙 해석 vs 컴파일 계산기 벤치마크
+ * - 실행: ./gradlew jmh -Pjmh.includes=FeeRuleBenchmark
+ * - 규칙은 기본 fee-rules.conf, 점수는 초당 계산 건수 (배치 1회 = BATCH_SIZE 건)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(FeeRuleBenchmark.BATCH_SIZE)
+public class FeeRuleBenchmark {
+
+    static final int BATCH_SIZE = 10000;
+
+    @Param({"interpreted", "compiled"})
+    public String evaluator;
+
+    private FeeEvaluator feeEvaluator;
+    private UserDataBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<FeeRule> rules;
+        try (Reader reader = new InputStreamReader(
+                FeeRuleBenchmark.class.getResourceAsStream("/fee-rules.conf"), StandardCharsets.UTF_8)) {
+            rules = new FeeRuleParser(ZoneId.systemDefault()).parse(reader);
+        }
+        feeEvaluator = FeeRuleEngine.evaluator(rules, evaluator.equals("compiled"));
+
+        // 부서/금액/생성일이 골고루 섞인 배치 (모든 규칙이 고르게 일치)
+        batch = UserDataBatch.allocate(BATCH_SIZE, false);
+        long now = System.currentTimeMillis();
+        for (int id = 1; id <= BATCH_SIZE; id++) {
+            batch.add(id, "User_" + id, "user" + id + "@test.com", Department.of(id).name(), "",
+                    Math.floorMod(id * 2654435761L, 10_000_000L), now - (id % 1000) * 86_400_000L);
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole bh) {
+        for (int row = 0; row < BATCH_SIZE; row++) {
+            bh.consume(feeEvaluator.fee(batch, row));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.domain.JobStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업 레지스트리 경합 벤치마크
+ * - jobCount=1: 모든 스레드가 같은 작업을 갱신 (최대 경합)
+ * - update / read 를 같은 그룹에서 동시에 실행해 쓰기 중 스냅샷 읽기 비용도 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobRegistryBenchmark {
+
+    @Param({"1", "16", "1000"})
+    public int jobCount;
+
+    private SimpleAsyncService service;
+    private String[] jobIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new SimpleAsyncService();
+        jobIds = new String[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            jobIds[i] = service.createJob("benchmark_" + i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        int progress;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void update(Cursor cursor) {
+        String jobId = jobIds[cursor.next++ % jobCount];
+        cursor.progress = (cursor.progress + 1) % 100;
+        service.updateJob(jobId, JobStatus.RUNNING, cursor.progress, "진행 중");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public void mixedUpdate(Cursor cursor) {
+        String jobId = jobIds[cursor.next++ % jobCount];
+        cursor.progress = (cursor.progress + 1) % 100;
+        service.updateJob(jobId, JobStatus.RUNNING, cursor.progress, "진행 중");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public JobInfo mixedRead(Cursor cursor) {
+        return service.getJob(jobIds[cursor.next++ % jobCount]);
+    }
+}
@@ -0,0 +1,159 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.checkpoint.CheckpointLog;
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.fee.FeeRuleEngine;
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.pipeline.PipelineSettings;
+import com.test.feeextract.result.ResultFileWriter;
+import com.test.feeextract.result.ResultStore;
+import com.test.feeextract.util.ExtractionMetrics;
+import com.test.feeextract.util.MemoryMonitor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LargeDataService 전체 로딩 vs 스트리밍 처리 벤치마크
+ * - 실행: ./gradlew jmh (gc 프로파일러로 할당률 gc.alloc.rate / gc.alloc.rate.norm 함께 출력)
+ * - records 보조 지표: 초당 처리 건수 (역수가 건당 처리 시간)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LargeDataServiceBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000", "500000", "5000000"})
+    public int dataSize;
+
+    private LargeDataService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SimpleAsyncService asyncService = new SimpleAsyncService();
+        MemoryBudgetService memoryBudget = new MemoryBudgetService(asyncService, 0.6, 8, 30, 1.0);
+        service = new LargeDataService(new MemoryMonitor(), asyncService, memoryBudget, PipelineSettings.DEFAULT,
+                BatchSizingSettings.DEFAULT, new ExtractionMetrics(), new FeeRuleEngine(new ClassPathResource("fee-rules.conf"), true),
+                new ResultStore(asyncService, "", 256, 64), new CheckpointLog("", 20, true));
+    }
+
+    /**
+     * 처리 건수 카운터 (OPERATIONS 타입이라 records/s 로 정규화되어 출력됨)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RecordCounter {
+        public long records;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            records = 0;
+        }
+    }
+
+    /**
+     * 처리 단계만 측정하기 위해 미리 생성해 둔 데이터셋
+     */
+    @State(Scope.Benchmark)
+    public static class PreloadedData {
+        List<UserDataBatch> batches;
+        Path spillFile;
+
+        @Setup(Level.Trial)
+        public void load(LargeDataServiceBenchmark benchmark) throws IOException {
+            batches = benchmark.generateAll();
+            spillFile = Files.createTempFile("benchmark", ".fxr");
+        }
+
+        @TearDown(Level.Trial)
+        public void release() throws IOException {
+            batches = null;
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    // 배치 단위로 생성한 결과를 모두 보관
+    List<UserDataBatch> generateAll() {
+        List<UserDataBatch> batches = new ArrayList<>();
+        for (int i = 0; i < dataSize; i += BATCH_SIZE) {
+            batches.add(service.generateBatchData(i, Math.min(BATCH_SIZE, dataSize - i)));
+        }
+        return batches;
+    }
+
+    // ===== 전체 로딩 모드 (결과 전체 보관) =====
+
+    @Benchmark
+    public List<UserDataBatch> fullLoad(RecordCounter counter) {
+        List<UserDataBatch> batches = generateAll();
+        for (UserDataBatch batch : batches) {
+            service.processBatch(batch);
+        }
+        counter.records += dataSize;
+        return batches;
+    }
+
+    @Benchmark
+    public List<UserDataBatch> fullLoadGenerate(RecordCounter counter) {
+        List<UserDataBatch> batches = generateAll();
+        counter.records += dataSize;
+        return batches;
+    }
+
+    @Benchmark
+    public List<UserDataBatch> fullLoadProcess(PreloadedData data, RecordCounter counter) {
+        for (UserDataBatch batch : data.batches) {
+            service.processBatch(batch);
+        }
+        counter.records += dataSize;
+        return data.batches;
+    }
+
+    /**
+     * 힙 예산 초과 시 결과 파일 spill 비용 (mmap 창 64MB)
+     */
+    @Benchmark
+    public long fullLoadSpill(PreloadedData data, RecordCounter counter) throws IOException {
+        try (ResultFileWriter writer = new ResultFileWriter(data.spillFile, 64 * 1024 * 1024)) {
+            for (UserDataBatch batch : data.batches) {
+                writer.append(batch);
+            }
+            counter.records += dataSize;
+            return writer.getBytesWritten();
+        }
+    }
+
+    // ===== 스트리밍 모드 =====
+
+    @Benchmark
+    public void streaming(RecordCounter counter, Blackhole bh) {
+        for (int i = 0; i < dataSize; i += BATCH_SIZE) {
+            int currentBatchSize = Math.min(BATCH_SIZE, dataSize - i);
+            UserDataBatch batch = service.generateBatchData(i, currentBatchSize);
+            service.processBatch(batch);
+            bh.consume(batch);
+        }
+        counter.records += dataSize;
+    }
+
+    @Benchmark
+    public void streamingGenerate(RecordCounter counter, Blackhole bh) {
+        for (int i = 0; i < dataSize; i += BATCH_SIZE) {
+            int currentBatchSize = Math.min(BATCH_SIZE, dataSize - i);
+            bh.consume(service.generateBatchData(i, currentBatchSize));
+        }
+        counter.records += dataSize;
+    }
+}
@@ -0,0 +1,68 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.checkpoint.CheckpointLog;
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.fee.FeeRuleEngine;
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.pipeline.PipelineSettings;
+import com.test.feeextract.result.ResultStore;
+import com.test.feeextract.util.ExtractionMetrics;
+import com.test.feeextract.util.MemoryMonitor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레코드 단위 생성/변환 경로의 건당 할당량 벤치마크
+ * - 실행: ./gradlew jmh -Pjmh.includes=RecordTransformBenchmark (gc 프로파일러 사용)
+ * - 배치를 재사용하므로 gc.alloc.rate.norm 이 건당 할당 바이트 (목표: 0 에 가까움)
+ * - 이름에 비 ASCII 문자가 있으면 대문자 변환만 String 경로로 처리됨 (여기서는 전부 ASCII)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(RecordTransformBenchmark.BATCH_SIZE)
+public class RecordTransformBenchmark {
+
+    static final int BATCH_SIZE = 1000;
+
+    private LargeDataService service;
+    private UserDataBatch generated;
+    private UserDataBatch reused;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SimpleAsyncService asyncService = new SimpleAsyncService();
+        MemoryBudgetService memoryBudget = new MemoryBudgetService(asyncService, 0.6, 8, 30, 1.0);
+        service = new LargeDataService(new MemoryMonitor(), asyncService, memoryBudget, PipelineSettings.DEFAULT,
+                BatchSizingSettings.DEFAULT, new ExtractionMetrics(), new FeeRuleEngine(new ClassPathResource("fee-rules.conf"), true),
+                new ResultStore(asyncService, "", 256, 64), new CheckpointLog("", 20, true));
+        generated = service.generateBatchData(0, BATCH_SIZE);
+        reused = UserDataBatch.allocate(BATCH_SIZE, false);
+    }
+
+    /**
+     * 재사용 배치에 데이터 채우기 (스트리밍 source 경로)
+     */
+    @Benchmark
+    public void fill(Blackhole bh) {
+        reused.clear();
+        service.fillBatchData(reused, 0, BATCH_SIZE);
+        bh.consume(reused.size());
+    }
+
+    /**
+     * 이름 대문자 변환 (processBatch, 결과 컬럼 재사용)
+     */
+    @Benchmark
+    public void transform(Blackhole bh) {
+        service.processBatch(generated);
+        bh.consume(generated.processedNames().size());
+    }
+}
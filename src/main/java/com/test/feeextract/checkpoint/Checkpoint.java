@@ -0,0 +1,56 @@
+package com.test.feeextract.checkpoint;
+
+/**
+ * 스트리밍 작업 체크포인트 (체크포인트 로그의 한 줄)
+ * @param jobId           작업 ID
+ * @param dataSize        전체 처리 건수
+ * @param offset          처리가 끝난 연속 구간의 끝 (id 1 ~ offset 까지 처리 완료, 재개 시 여기서부터 생성)
+ * @param feeTotal        처리가 끝난 구간의 수수료 합계 (부분 집계)
+ * @param finished        작업이 끝났거나 다른 작업으로 재개됨 (더 이상 재개 대상 아님)
+ * @param updatedAtMillis 기록 시각
+ */
+public record Checkpoint(String jobId, int dataSize, int offset, long feeTotal, boolean finished,
+                         long updatedAtMillis) {
+
+    private static final char SEPARATOR = '\t';
+
+    public Checkpoint {
+        if (jobId == null || jobId.isEmpty() || jobId.indexOf(SEPARATOR) >= 0 || jobId.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("잘못된 작업 ID: " + jobId);
+        }
+        if (offset < 0 || offset > dataSize) {
+            throw new IllegalArgumentException("잘못된 체크포인트 위치: " + offset + "/" + dataSize);
+        }
+    }
+
+    /**
+     * 남은 처리 건수
+     */
+    public int remaining() {
+        return dataSize - offset;
+    }
+
+    Checkpoint finish() {
+        return new Checkpoint(jobId, dataSize, offset, feeTotal, true, System.currentTimeMillis());
+    }
+
+    /**
+     * 로그 한 줄 (줄바꿈 포함)
+     */
+    String toLine() {
+        return jobId + SEPARATOR + dataSize + SEPARATOR + offset + SEPARATOR + feeTotal + SEPARATOR
+                + (finished ? 1 : 0) + SEPARATOR + updatedAtMillis + '\n';
+    }
+
+    /**
+     * 로그 한 줄(줄바꿈 제외) 해석, 형식이 맞지 않으면 IllegalArgumentException
+     */
+    static Checkpoint parse(String line) {
+        String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("체크포인트 필드 수가 맞지 않음: " + fields.length);
+        }
+        return new Checkpoint(fields[0], Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                Long.parseLong(fields[3]), "1".equals(fields[4]), Long.parseLong(fields[5]));
+    }
+}
@@ -0,0 +1,179 @@
+package com.test.feeextract.checkpoint;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스트리밍 작업 체크포인트 로그 (로컬 append-only 파일)
+ * - 체크포인트 1개가 한 줄, 작업마다 마지막 줄이 유효 (배치 interval-batches 개마다 한 줄 추가, fsync 도 그때만)
+ * - 시작 시 파일을 읽어 끝나지 않은 작업의 마지막 체크포인트만 남기고 다시 씀 (중간에 잘린 마지막 줄은 무시)
+ * - 재개 시 다시 처리하는 양은 최대 체크포인트 간격 + 파이프라인에 떠 있던 배치 수
+ */
+@Component
+@Slf4j
+public class CheckpointLog {
+
+    static final String FILE_NAME = "checkpoints.log";
+
+    private final Path file;
+    private final int intervalBatches;
+    private final boolean fsync;
+    private final FileChannel channel;
+
+    // 끝나지 않은 작업별 마지막 체크포인트
+    private final Map<String, Checkpoint> latest = new ConcurrentHashMap<>();
+
+    public CheckpointLog(@Value("${feeextract.checkpoint.directory:}") String directory,
+                         @Value("${feeextract.checkpoint.interval-batches:20}") int intervalBatches,
+                         @Value("${feeextract.checkpoint.fsync:true}") boolean fsync) throws IOException {
+        Path dir = Files.createDirectories(directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "feeextract-checkpoints")
+                : Path.of(directory));
+        this.file = dir.resolve(FILE_NAME);
+        this.intervalBatches = Math.max(1, intervalBatches);
+        this.fsync = fsync;
+        load();
+        compact();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (!latest.isEmpty()) {
+            log.info("📌 재개 가능한 스트리밍 작업 {}건 - {}", latest.size(), latest.keySet());
+        }
+    }
+
+    /**
+     * 작업 체크포인트 기록 시작 (from 이 있으면 그 위치부터 재개하고 원래 작업은 끝난 것으로 기록)
+     * - 시작 위치를 바로 한 줄 기록해서 첫 체크포인트 전에 멈춰도 재개 가능
+     */
+    public JobCheckpointer start(String jobId, int dataSize, Checkpoint from) {
+        Checkpoint initial = from == null
+                ? new Checkpoint(jobId, dataSize, 0, 0, false, System.currentTimeMillis())
+                : new Checkpoint(jobId, from.dataSize(), from.offset(), from.feeTotal(), false,
+                        System.currentTimeMillis());
+        append(initial);
+        if (from != null && !from.jobId().equals(jobId)) {
+            append(from.finish());
+        }
+        return new JobCheckpointer(this, initial, intervalBatches);
+    }
+
+    /**
+     * 끝나지 않은 작업의 마지막 체크포인트 (없으면 null)
+     */
+    public Checkpoint latest(String jobId) {
+        return latest.get(jobId);
+    }
+
+    /**
+     * 재개 대상 작업 하나를 가져감 (동시에 같은 작업을 두 번 재개하지 않도록, 없거나 이미 가져갔으면 null)
+     * - 로그 파일은 그대로라서 재개를 시작하지 못했으면 restore 로 되돌림
+     */
+    public Checkpoint claim(String jobId) {
+        return latest.remove(jobId);
+    }
+
+    public void restore(Checkpoint checkpoint) {
+        latest.putIfAbsent(checkpoint.jobId(), checkpoint);
+    }
+
+    /**
+     * 재개 가능한 작업 목록 (최근 기록 순)
+     */
+    public List<Checkpoint> resumable() {
+        return latest.values().stream()
+                .sorted(Comparator.comparingLong(Checkpoint::updatedAtMillis).reversed())
+                .toList();
+    }
+
+    public int getIntervalBatches() {
+        return intervalBatches;
+    }
+
+    /**
+     * 체크포인트 한 줄 추가 (실패해도 작업은 계속 진행, 재개 시 더 앞에서 시작할 뿐)
+     */
+    synchronized boolean append(Checkpoint checkpoint) {
+        try {
+            ByteBuffer line = ByteBuffer.wrap(checkpoint.toLine().getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.warn("체크포인트 기록 실패 - ID: {}, 위치: {}", checkpoint.jobId(), checkpoint.offset(), e);
+            return false;
+        }
+        if (checkpoint.finished()) {
+            latest.remove(checkpoint.jobId());
+        } else {
+            latest.put(checkpoint.jobId(), checkpoint);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // 줄바꿈으로 끝난 줄만 읽고 작업별 마지막 줄만 남김
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        int skipped = 0;
+        int lineStart = 0;
+        for (int newline = content.indexOf('\n'); newline >= 0; newline = content.indexOf('\n', lineStart)) {
+            String line = content.substring(lineStart, newline);
+            lineStart = newline + 1;
+            try {
+                Checkpoint checkpoint = Checkpoint.parse(line);
+                if (checkpoint.finished()) {
+                    latest.remove(checkpoint.jobId());
+                } else {
+                    latest.put(checkpoint.jobId(), checkpoint);
+                }
+            } catch (IllegalArgumentException e) {
+                skipped++;
+            }
+        }
+        if (skipped > 0 || lineStart < content.length()) {
+            log.warn("체크포인트 로그에서 읽지 못한 줄 무시 - 잘못된 줄: {}, 잘린 마지막 줄: {}",
+                    skipped, lineStart < content.length());
+        }
+    }
+
+    // 남은 체크포인트만 임시 파일에 쓰고 원자적으로 교체
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        StringBuilder content = new StringBuilder();
+        latest.values().forEach(checkpoint -> content.append(checkpoint.toLine()));
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            out.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
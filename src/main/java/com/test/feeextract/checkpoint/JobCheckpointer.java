@@ -0,0 +1,88 @@
+package com.test.feeextract.checkpoint;
+
+import java.util.TreeMap;
+
+/**
+ * 작업 1개의 체크포인트 기록기
+ * - 배치는 변환 스레드 사이에서 순서가 바뀌어 끝나므로, 시작 위치부터 빈틈 없이 끝난 구간까지만 처리 완료로 봄
+ * - 처리 완료 위치가 앞으로 나간 배치가 interval 개 모이면 한 줄 기록 (여러 sink 스레드에서 호출 가능)
+ */
+public final class JobCheckpointer {
+
+    private final CheckpointLog checkpointLog;
+    private final String jobId;
+    private final int dataSize;
+    private final int intervalBatches;
+
+    // 앞 구간이 아직 안 끝나서 기다리는 배치 (시작 위치 → 끝 위치/수수료 합계)
+    private final TreeMap<Integer, Range> pending = new TreeMap<>();
+
+    private int offset;
+    private long feeTotal;
+    private int checkpointedOffset;
+    private int batchesSinceCheckpoint;
+    private int checkpointCount;
+
+    JobCheckpointer(CheckpointLog checkpointLog, Checkpoint initial, int intervalBatches) {
+        this.checkpointLog = checkpointLog;
+        this.jobId = initial.jobId();
+        this.dataSize = initial.dataSize();
+        this.intervalBatches = intervalBatches;
+        this.offset = initial.offset();
+        this.feeTotal = initial.feeTotal();
+        this.checkpointedOffset = initial.offset();
+    }
+
+    /**
+     * id 구간 [start, end) 배치 처리 완료
+     */
+    public synchronized void complete(int start, int end, long batchFeeTotal) {
+        if (start < offset || end <= start) {
+            throw new IllegalArgumentException("잘못된 배치 구간: [" + start + ", " + end + "), 처리 완료 위치: " + offset);
+        }
+        pending.put(start, new Range(end, batchFeeTotal));
+        batchesSinceCheckpoint++;
+        for (Range next = pending.remove(offset); next != null; next = pending.remove(offset)) {
+            offset = next.end();
+            feeTotal += next.feeTotal();
+        }
+        if (batchesSinceCheckpoint >= intervalBatches && offset > checkpointedOffset) {
+            write(false);
+        }
+    }
+
+    /**
+     * 작업 완료 기록 (이후 재개 대상에서 빠짐)
+     */
+    public synchronized void finish() {
+        write(true);
+    }
+
+    public synchronized int getOffset() {
+        return offset;
+    }
+
+    public synchronized long getFeeTotal() {
+        return feeTotal;
+    }
+
+    public synchronized int getCheckpointedOffset() {
+        return checkpointedOffset;
+    }
+
+    public synchronized int getCheckpointCount() {
+        return checkpointCount;
+    }
+
+    private void write(boolean finished) {
+        if (checkpointLog.append(new Checkpoint(jobId, dataSize, offset, feeTotal, finished,
+                System.currentTimeMillis()))) {
+            checkpointedOffset = offset;
+            checkpointCount++;
+        }
+        batchesSinceCheckpoint = 0;
+    }
+
+    private record Range(int end, long feeTotal) {
+    }
+}
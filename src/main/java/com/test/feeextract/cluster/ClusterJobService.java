@@ -0,0 +1,178 @@
+package com.test.feeextract.cluster;
+
+import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.domain.WorkItemStatus;
+import com.test.feeextract.entity.WorkItem;
+import com.test.feeextract.mapper.WorkItemMapper;
+import com.test.feeextract.service.SimpleAsyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 분산 추출 작업 등록/진행률 집계
+ * - 요청을 받은 노드가 작업을 id 범위 파티션으로 나눠 공유 작업 테이블에 등록하고, 처리는 모든 노드의 WorkItemWorker 가 나눠 가짐
+ * - 등록한 노드는 파티션 상태를 주기적으로 모아서 하나의 작업(JobInfo) 진행률로 갱신
+ *   (작업 이력 저장소를 쓰면 다른 노드에서도 같은 작업 ID 로 조회 가능)
+ * - 등록한 노드가 재시작하거나 죽으면 작업 테이블에서 집계가 멈춘 작업을 찾아 아무 노드나 이어받아 마무리
+ *   (저장된 상태가 진행 중인데 파티션도 진행 중이면 등록한 노드가 집계 중인 것으로 보고 건드리지 않음)
+ */
+@Service
+@ConditionalOnProperty(name = "feeextract.cluster.enabled", havingValue = "true")
+@Slf4j
+public class ClusterJobService {
+
+    // 파티션 크기를 맞추는 단위 (워커 배치 크기)
+    private static final int PARTITION_ALIGNMENT = 1000;
+
+    private final WorkItemMapper mapper;
+    private final SimpleAsyncService asyncService;
+    private final int defaultPartitionSize;
+    private final long rollUpWindowMillis;
+    private final long orphanGraceMillis;
+
+    // 이 노드가 등록했거나 이어받아서 집계 중인 작업
+    private final Set<String> trackedJobs = ConcurrentHashMap.newKeySet();
+
+    public ClusterJobService(WorkItemMapper mapper, SimpleAsyncService asyncService, int defaultPartitionSize) {
+        this(mapper, asyncService, defaultPartitionSize, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Autowired
+    public ClusterJobService(WorkItemMapper mapper,
+                             SimpleAsyncService asyncService,
+                             @Value("${feeextract.cluster.partition-size:100000}") int defaultPartitionSize,
+                             @Value("${feeextract.cluster.rollup-window:10m}") Duration rollUpWindow,
+                             @Value("${feeextract.cluster.orphan-grace:30s}") Duration orphanGrace) {
+        this.mapper = mapper;
+        this.asyncService = asyncService;
+        this.defaultPartitionSize = defaultPartitionSize;
+        this.rollUpWindowMillis = rollUpWindow.toMillis();
+        this.orphanGraceMillis = orphanGrace.toMillis();
+    }
+
+    /**
+     * 분산 작업 등록 (파티션 크기 0 이면 기본값)
+     * @return 작업 ID
+     */
+    public String submit(int dataSize, int partitionSize) {
+        if (dataSize <= 0) {
+            throw new IllegalArgumentException("처리 건수는 1 이상이어야 함: " + dataSize);
+        }
+        int size = align(partitionSize > 0 ? partitionSize : defaultPartitionSize);
+        String jobId = asyncService.createJob("ClusterExtraction");
+        long now = System.currentTimeMillis();
+        List<WorkItem> items = new ArrayList<>();
+        for (int start = 0, partition = 0; start < dataSize; start += size, partition++) {
+            items.add(WorkItem.builder()
+                    .id(jobId + "#" + partition)
+                    .jobId(jobId)
+                    .partitionNo(partition)
+                    .rangeStart(start)
+                    .rangeEnd((int) Math.min(dataSize, (long) start + size))
+                    .status(WorkItemStatus.PENDING)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        mapper.insertAll(items);
+        trackedJobs.add(jobId);
+        asyncService.updateJob(jobId, JobStatus.RUNNING, 0,
+                String.format("파티션 %d개 등록, 노드 점유 대기 중... (%,d건)", items.size(), dataSize));
+        log.info("🧩 분산 작업 등록 - ID: {}, {}건, 파티션 {}개 (크기 {})", jobId, dataSize, items.size(), size);
+        return jobId;
+    }
+
+    /**
+     * 작업 테이블 기준 집계 (어느 노드에서나 조회 가능, 없는 작업이면 null)
+     */
+    public ClusterJobSummary summarize(String jobId) {
+        List<WorkItem> items = mapper.findByJobId(jobId);
+        return items.isEmpty() ? null : ClusterJobSummary.of(jobId, items);
+    }
+
+    /**
+     * 등록한 작업들의 파티션 상태를 작업 진행률로 반영
+     */
+    @Scheduled(fixedDelayString = "${feeextract.cluster.poll-interval-ms:1000}")
+    public void rollUp() {
+        adoptOrphans();
+        for (String jobId : trackedJobs) {
+            ClusterJobSummary summary = summarize(jobId);
+            if (summary == null) {
+                trackedJobs.remove(jobId);
+                continue;
+            }
+            asyncService.updateDetails(jobId, summary.describe());
+            if (summary.isSucceeded()) {
+                trackedJobs.remove(jobId);
+                asyncService.completeJob(jobId, String.format("분산 처리 완료 - %,d건, 파티션 %d개, 수수료 합계: %,d",
+                        summary.processed(), summary.partitions(), summary.feeTotal()));
+            } else if (summary.isFinished()) {
+                trackedJobs.remove(jobId);
+                asyncService.failJob(jobId, String.format("분산 처리 실패 - 파티션 %d개 중 %d개가 최대 시도 횟수 초과",
+                        summary.partitions(), summary.failed()));
+            } else {
+                asyncService.updateJob(jobId, JobStatus.RUNNING, summary.progress(),
+                        String.format("분산 처리 중... (%,d/%,d, 처리 노드 %d개)", summary.processed(),
+                                summary.dataSize(), summary.ownerPartitions().size()));
+            }
+        }
+    }
+
+    /**
+     * 집계하는 노드가 없는 작업 이어받기 (등록 직후 orphan-grace 동안은 등록한 노드에 맡김)
+     * - 저장된 상태가 없거나(다른 노드가 메모리 저장소 사용), 재시작으로 중단 표시됐는데 파티션은 진행 중이거나 끝난 작업
+     * - 저장된 상태가 진행 중인 채로 파티션이 모두 끝난 작업 (등록한 노드가 재시작 없이 죽음)
+     * @return 이어받은 작업 수
+     */
+    public int adoptOrphans() {
+        long now = System.currentTimeMillis();
+        int adopted = 0;
+        for (String jobId : mapper.findRecentJobIds(now - orphanGraceMillis, now - rollUpWindowMillis)) {
+            if (trackedJobs.contains(jobId) || asyncService.getLocalJob(jobId) != null) {
+                continue;
+            }
+            JobInfo stored = asyncService.getJob(jobId);
+            if (stored != null && stored.getStatus().isCompleted()) {
+                continue;
+            }
+            ClusterJobSummary summary = summarize(jobId);
+            if (summary == null || (stored != null && settled(stored, summary))) {
+                continue;
+            }
+            LocalDateTime startTime = stored != null ? stored.getStartTime() : LocalDateTime.now();
+            if (asyncService.adoptJob(jobId, "ClusterExtraction", startTime, "집계 노드 없음 - 이 노드가 이어받음")) {
+                trackedJobs.add(jobId);
+                adopted++;
+                log.info("🧩 분산 작업 집계 이어받음 - ID: {}, 저장된 상태: {}", jobId,
+                        stored != null ? stored.getStatus() : "없음");
+            }
+        }
+        return adopted;
+    }
+
+    // 저장된 상태가 파티션 상태와 맞음 (진행 중 ↔ 진행 중이면 등록한 노드가 집계 중, 실패 ↔ 실패면 이미 마무리됨)
+    private static boolean settled(JobInfo stored, ClusterJobSummary summary) {
+        if (stored.getStatus().isActive()) {
+            return !summary.isFinished();
+        }
+        return summary.isFinished() && !summary.isSucceeded();
+    }
+
+    private static int align(int size) {
+        int batches = Math.max(1, (size + PARTITION_ALIGNMENT - 1) / PARTITION_ALIGNMENT);
+        return batches * PARTITION_ALIGNMENT;
+    }
+}
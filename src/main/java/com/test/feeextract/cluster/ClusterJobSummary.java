@@ -0,0 +1,73 @@
+package com.test.feeextract.cluster;
+
+import com.test.feeextract.domain.WorkItemStatus;
+import com.test.feeextract.entity.WorkItem;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 분산 작업 1개의 파티션 집계 (어느 노드에서나 작업 테이블만 보고 계산)
+ * @param ownerPartitions 노드별 처리 중인 파티션 수
+ */
+public record ClusterJobSummary(String jobId, int partitions, int pending, int claimed, int done, int failed,
+                                long dataSize, long processed, long feeTotal, Map<String, Integer> ownerPartitions) {
+
+    public static ClusterJobSummary of(String jobId, List<WorkItem> items) {
+        int pending = 0;
+        int claimed = 0;
+        int done = 0;
+        int failed = 0;
+        long dataSize = 0;
+        long processed = 0;
+        long feeTotal = 0;
+        Map<String, Integer> owners = new TreeMap<>();
+        for (WorkItem item : items) {
+            dataSize += item.size();
+            processed += item.getProcessed();
+            feeTotal += item.getFeeTotal();
+            switch (item.getStatus()) {
+                case PENDING -> pending++;
+                case CLAIMED -> {
+                    claimed++;
+                    owners.merge(item.getLeaseOwner(), 1, Integer::sum);
+                }
+                case DONE -> done++;
+                case FAILED -> failed++;
+            }
+        }
+        return new ClusterJobSummary(jobId, items.size(), pending, claimed, done, failed, dataSize, processed,
+                feeTotal, owners);
+    }
+
+    /**
+     * 모든 파티션이 끝났는지 (완료 또는 실패)
+     */
+    public boolean isFinished() {
+        return partitions > 0 && done + failed == partitions;
+    }
+
+    public boolean isSucceeded() {
+        return partitions > 0 && done == partitions;
+    }
+
+    public int progress() {
+        return (int) (processed * 100 / Math.max(1, dataSize));
+    }
+
+    /**
+     * 작업 details 용 요약
+     */
+    public Map<String, String> describe() {
+        Map<String, String> details = new LinkedHashMap<>();
+        details.put("cluster.partitions", String.format("%s %d / %s %d / %s %d / %s %d (전체 %d)",
+                WorkItemStatus.DONE.getDescription(), done, WorkItemStatus.CLAIMED.getDescription(), claimed,
+                WorkItemStatus.PENDING.getDescription(), pending, WorkItemStatus.FAILED.getDescription(), failed,
+                partitions));
+        details.put("cluster.processed", String.format("%,d/%,d건, 수수료 합계 %,d", processed, dataSize, feeTotal));
+        ownerPartitions.forEach((owner, count) -> details.put("cluster.node." + owner, count + "개 파티션 처리 중"));
+        return details;
+    }
+}
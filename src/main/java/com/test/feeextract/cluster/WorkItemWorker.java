@@ -0,0 +1,235 @@
+package com.test.feeextract.cluster;
+
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.entity.WorkItem;
+import com.test.feeextract.mapper.WorkItemMapper;
+import com.test.feeextract.service.LargeDataService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분산 파티션 작업 처리 노드 (feeextract.cluster.enabled=true 인 모든 인스턴스에서 실행)
+ * - poll: 빈 슬롯 수만큼 대기 중이거나 임대가 만료된 파티션을 조건부 UPDATE 로 점유 (동시에 두 노드가 점유 불가)
+ * - heartbeat: 점유 중인 파티션의 임대를 연장하면서 처리 건수/수수료 합계 기록, 연장에 실패하면 그 파티션은 포기
+ *   (다른 @Scheduled 작업이 밀려도 임대가 끊기지 않도록 전용 스레드에서 실행)
+ * - 연장하지 못한 채 임대 시간이 지나면 처리 스레드가 스스로 멈춤 (다른 노드가 가져갔을 수 있으므로)
+ * - 죽은 노드의 파티션은 임대가 끝나면 다른 노드가 가져가서 마지막 heartbeat 위치부터 이어서 처리
+ */
+@Component
+@ConditionalOnProperty(name = "feeextract.cluster.enabled", havingValue = "true")
+@Slf4j
+public class WorkItemWorker {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final WorkItemMapper mapper;
+    private final LargeDataService largeDataService;
+    private final Executor executor;
+    private final Clock clock;
+    private final String nodeId;
+    private final int maxPartitions;
+    private final long leaseMillis;
+    private final int maxAttempts;
+
+    // 이 노드가 점유 중인 파티션
+    private final Map<String, Lease> active = new ConcurrentHashMap<>();
+
+    // 임대 연장 전용 스레드 (테스트 생성자에서는 없음, heartbeat() 를 직접 호출)
+    private ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public WorkItemWorker(WorkItemMapper mapper,
+                          LargeDataService largeDataService,
+                          @Value("${feeextract.jobs.instance-id:}") String instanceId,
+                          @Value("${feeextract.cluster.max-partitions:2}") int maxPartitions,
+                          @Value("${feeextract.cluster.lease-ms:15000}") long leaseMillis,
+                          @Value("${feeextract.cluster.heartbeat-ms:5000}") long heartbeatMillis,
+                          @Value("${feeextract.cluster.max-attempts:5}") int maxAttempts) {
+        this(mapper, largeDataService, Executors.newFixedThreadPool(Math.max(1, maxPartitions),
+                        new CustomizableThreadFactory("cluster-worker-")), Clock.systemUTC(),
+                nodeId(instanceId), maxPartitions, leaseMillis, maxAttempts);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("cluster-heartbeat-"));
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    WorkItemWorker(WorkItemMapper mapper, LargeDataService largeDataService, Executor executor, Clock clock,
+                   String nodeId, int maxPartitions, long leaseMillis, int maxAttempts) {
+        this.mapper = mapper;
+        this.largeDataService = largeDataService;
+        this.executor = executor;
+        this.clock = clock;
+        this.nodeId = nodeId;
+        this.maxPartitions = Math.max(1, maxPartitions);
+        this.leaseMillis = leaseMillis;
+        this.maxAttempts = maxAttempts;
+        log.info("🛰️ 분산 작업 노드 시작 - 노드: {}, 동시 파티션: {}, 임대: {}ms", nodeId, this.maxPartitions, leaseMillis);
+    }
+
+    // 임대 소유자 이름: 같은 인스턴스 ID 로 재시작해도 이전 프로세스의 임대와 구분되도록 PID 를 붙임
+    // (호스트 이름 기본값은 한 머신의 노드들이 같은 이름을 쓰므로 인스턴스 ID 를 직접 지정해야 시작됨)
+    private static String nodeId(String instanceId) {
+        if (instanceId.isBlank()) {
+            throw new IllegalStateException("분산 추출 노드는 노드마다 다른 feeextract.jobs.instance-id 지정 필요");
+        }
+        return instanceId + "#" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * 빈 슬롯만큼 파티션 점유 후 처리 시작
+     * @return 이번에 점유한 파티션 수
+     */
+    @Scheduled(fixedDelayString = "${feeextract.cluster.poll-interval-ms:1000}")
+    public synchronized int poll() {
+        int free = maxPartitions - active.size();
+        if (free <= 0) {
+            return 0;
+        }
+        long now = clock.millis();
+        int failed = mapper.failExhausted(now, maxAttempts);
+        if (failed > 0) {
+            log.warn("최대 시도 횟수({})를 넘긴 파티션 {}개 실패 처리", maxAttempts, failed);
+        }
+
+        int claimed = 0;
+        // 다른 노드와 경합해서 일부를 놓칠 수 있으므로 넉넉히 조회
+        for (WorkItem item : mapper.findClaimable(now, maxAttempts, free * 2)) {
+            if (claimed >= free) {
+                break;
+            }
+            if (mapper.claim(item.getId(), nodeId, now, now + leaseMillis, maxAttempts) != 1) {
+                continue;
+            }
+            Lease lease = new Lease(item, now + leaseMillis);
+            active.put(item.getId(), lease);
+            claimed++;
+            if (item.getProcessed() > 0) {
+                log.info("🔁 파티션 재점유 - {}, {}건부터 이어서 처리 (시도 {}회째)", item.getId(), item.getProcessed(),
+                        item.getAttempts() + 1);
+            }
+            executor.execute(() -> run(lease));
+        }
+        return claimed;
+    }
+
+    /**
+     * 점유 중인 파티션 임대 연장 (임대 시간의 1/3 정도 간격 권장)
+     * - DB 오류로 연장하지 못하면 다음 주기에 다시 시도 (그 사이 임대가 끝나면 처리 스레드가 멈춤)
+     */
+    public void heartbeat() {
+        long now = clock.millis();
+        for (Lease lease : active.values()) {
+            long[] progress = lease.progress();
+            try {
+                if (mapper.renew(lease.item.getId(), nodeId, now, now + leaseMillis, progress[0], progress[1]) == 0) {
+                    lease.lost = true;
+                    log.warn("⚠️ 파티션 임대를 잃음, 처리 중단 - {}", lease.item.getId());
+                } else {
+                    lease.leaseUntil = now + leaseMillis;
+                }
+            } catch (RuntimeException e) {
+                log.warn("파티션 임대 연장 실패, 다음 주기에 재시도 - {}: {}", lease.item.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 노드 현황 (점유 중인 파티션별 처리 건수)
+     */
+    public Map<String, Object> describe() {
+        Map<String, Long> partitions = new LinkedHashMap<>();
+        active.forEach((id, lease) -> partitions.put(id, lease.progress()[0]));
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("nodeId", nodeId);
+        status.put("maxPartitions", maxPartitions);
+        status.put("activePartitions", partitions);
+        return status;
+    }
+
+    // 파티션 처리: 앞에서부터 배치 단위로 처리, 임대를 잃거나 임대 시간이 지나면 중단 (다른 노드가 이어서 처리)
+    private void run(Lease lease) {
+        WorkItem item = lease.item;
+        try {
+            UserDataBatch batch = UserDataBatch.allocate(BATCH_SIZE, false);
+            int from = item.getRangeStart() + (int) item.getProcessed();
+            for (int start = from; start < item.getRangeEnd(); start += BATCH_SIZE) {
+                if (lease.lost || clock.millis() >= lease.leaseUntil) {
+                    log.warn("⚠️ 파티션 임대가 끝나 처리 중단 - {} ({}건 처리)", item.getId(), lease.progress()[0]);
+                    return;
+                }
+                int count = Math.min(BATCH_SIZE, item.getRangeEnd() - start);
+                lease.add(count, largeDataService.processRange(batch, start, count));
+            }
+            long[] progress = lease.progress();
+            if (lease.lost || mapper.complete(item.getId(), nodeId, clock.millis(), progress[0], progress[1]) != 1) {
+                log.warn("⚠️ 파티션 완료 기록 실패 (다른 노드가 다시 점유함) - {}", item.getId());
+                return;
+            }
+            log.info("✅ 파티션 완료 - {}, {}건", item.getId(), progress[0]);
+        } catch (RuntimeException e) {
+            log.error("파티션 처리 중 오류, 반납 - {}", item.getId(), e);
+            mapper.release(item.getId(), nodeId, clock.millis());
+        } finally {
+            active.remove(item.getId());
+        }
+    }
+
+    /**
+     * 점유 중인 파티션 1개 (처리 건수/수수료 합계는 작업 스레드가 쓰고 heartbeat 스레드가 읽음)
+     */
+    private static final class Lease {
+        private final WorkItem item;
+        private long processed;
+        private long feeTotal;
+        private volatile boolean lost;
+        // 마지막으로 연장에 성공한 임대 만료 시각
+        private volatile long leaseUntil;
+
+        private Lease(WorkItem item, long leaseUntil) {
+            this.item = item;
+            this.leaseUntil = leaseUntil;
+            this.processed = item.getProcessed();
+            this.feeTotal = item.getFeeTotal();
+        }
+
+        private synchronized void add(int count, long fee) {
+            processed += count;
+            feeTotal += fee;
+        }
+
+        // 처리 건수와 수수료 합계를 같은 시점 값으로
+        private synchronized long[] progress() {
+            return new long[]{processed, feeTotal};
+        }
+    }
+}
@@ -1,25 +1,64 @@
 package com.test.feeextract.config;
 
+import com.test.feeextract.util.PriorityTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
 
 /**
- * 비동기 처리 설정
+ * 비동기 처리 설정 (작업 종류별로 실행기를 나눠서 한 종류가 밀려도 다른 종류는 영향 없음)
  * - @EnableAsync: 비동기 처리 활성화
- * - TaskExecutor: 스레드 풀 설정
+ * - taskExecutor: 대화형 작업용 (processUser, processData 처럼 짧고 대부분 대기하는 작업), 플랫폼/가상 스레드 선택
+ * - extractionExecutor: 대용량 추출용 (CPU 작업), 코어 수로 제한된 플랫폼 스레드 풀
+ * - maintenanceExecutor: 유지보수용 (사용자 적재 등 급하지 않은 작업), 작은 풀
+ * - 플랫폼 스레드 풀은 우선순위 대기열 사용 (TaskPriority 로 지정, 작은 작업이 큰 작업을 앞지름)
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    @Bean
-    public TaskExecutor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(1);
-        executor.setMaxPoolSize(2);
-        return executor;
+    public static final String INTERACTIVE = "taskExecutor";
+    public static final String EXTRACTION = "extractionExecutor";
+    public static final String MAINTENANCE = "maintenanceExecutor";
+
+    @Bean(INTERACTIVE)
+    public TaskExecutor taskExecutor(@Value("${feeextract.async.mode:platform}") ExecutorMode mode,
+                                     @Value("${feeextract.async.interactive-pool-size:2}") int poolSize,
+                                     @Value("${feeextract.async.interactive-priority-aging:200ms}") Duration aging) {
+        return blockingExecutor(mode, poolSize, aging);
+    }
+
+    @Bean(EXTRACTION)
+    public PriorityTaskExecutor extractionExecutor(
+            @Value("${feeextract.async.extraction-pool-size:0}") int poolSize,
+            @Value("${feeextract.async.extraction-priority-aging:10s}") Duration aging) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new PriorityTaskExecutor("extract", size, aging);
+    }
+
+    @Bean(MAINTENANCE)
+    public PriorityTaskExecutor maintenanceExecutor(
+            @Value("${feeextract.async.maintenance-pool-size:1}") int poolSize,
+            @Value("${feeextract.async.maintenance-priority-aging:10s}") Duration aging) {
+        return new PriorityTaskExecutor("maintenance", Math.max(1, poolSize), aging);
+    }
+
+    /**
+     * 블로킹 작업용 실행기 생성
+     * - VIRTUAL: 작업마다 가상 스레드, 대기 중에는 캐리어 스레드를 점유하지 않아 동시 요청이 줄 서지 않음 (대기열 없음)
+     * - PLATFORM: poolSize 개 스레드 + 우선순위 대기열
+     */
+    public static TaskExecutor blockingExecutor(ExecutorMode mode, int poolSize, Duration aging) {
+        if (mode == ExecutorMode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        return new PriorityTaskExecutor("async", Math.max(1, poolSize), aging);
     }
 }
@@ -0,0 +1,7 @@
+package com.test.feeextract.config;
+
+// 블로킹 작업 실행 모드
+public enum ExecutorMode {
+    PLATFORM,   // 플랫폼 스레드 풀
+    VIRTUAL     // 작업마다 가상 스레드 (Java 21)
+}
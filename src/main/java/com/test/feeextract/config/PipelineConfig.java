@@ -0,0 +1,43 @@
+package com.test.feeextract.config;
+
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.pipeline.PipelineSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스트리밍 파이프라인/배치 크기 설정 (LargeDataService 실행, MemoryBudgetService 메모리 추정에서 같이 사용)
+ */
+@Configuration
+public class PipelineConfig {
+
+    @Bean
+    public PipelineSettings pipelineSettings(@Value("${feeextract.pipeline.queue-capacity:8}") int queueCapacity,
+                                             @Value("${feeextract.pipeline.source-parallelism:1}") int sourceParallelism,
+                                             @Value("${feeextract.pipeline.transform-parallelism:2}") int transformParallelism,
+                                             @Value("${feeextract.pipeline.sink-parallelism:1}") int sinkParallelism) {
+        return new PipelineSettings(queueCapacity, sourceParallelism, transformParallelism, sinkParallelism);
+    }
+
+    /**
+     * 적응형 배치 크기 설정 (adaptive=false 면 initial-size 고정)
+     */
+    @Bean
+    public BatchSizingSettings batchSizingSettings(@Value("${feeextract.batch.adaptive:true}") boolean adaptive,
+                                                   @Value("${feeextract.batch.min-size:250}") int minSize,
+                                                   @Value("${feeextract.batch.max-size:20000}") int maxSize,
+                                                   @Value("${feeextract.batch.initial-size:1000}") int initialSize,
+                                                   @Value("${feeextract.batch.step:500}") int step,
+                                                   @Value("${feeextract.batch.window-batches:10}") int windowBatches,
+                                                   @Value("${feeextract.batch.gc-pause-slo-ms:50}") long gcPauseSloMillis,
+                                                   @Value("${feeextract.batch.latency-target-ms:200}") long batchLatencyMillis,
+                                                   @Value("${feeextract.batch.throughput-target:0}") long throughputTarget,
+                                                   @Value("${feeextract.batch.max-allocation-rate-mb:0}") long maxAllocationRateMb) {
+        if (!adaptive) {
+            return BatchSizingSettings.fixed(initialSize);
+        }
+        return new BatchSizingSettings(minSize, maxSize, initialSize, step, windowBatches,
+                gcPauseSloMillis, batchLatencyMillis, throughputTarget, maxAllocationRateMb);
+    }
+}
@@ -0,0 +1,13 @@
+package com.test.feeextract.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링 설정
+ * - @EnableScheduling: @Scheduled 작업(만료 작업 정리, 메모리 로깅) 활성화
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,13 +1,19 @@
 package com.test.feeextract.controller;
 
 
+import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.result.ResultCache;
 import com.test.feeextract.service.SimpleAsyncService;
+import com.test.feeextract.util.PriorityTaskExecutor;
+import com.test.feeextract.util.TaskPriority;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @RestController
@@ -15,9 +21,14 @@ import java.util.concurrent.CompletableFuture;
 public class AsyncController {
 
     private final SimpleAsyncService asyncService;
+    private final ResultCache resultCache;
+    private final Map<String, Executor> executors;
 
-    public AsyncController(SimpleAsyncService asyncService) {
+    public AsyncController(SimpleAsyncService asyncService, ResultCache resultCache,
+                           Map<String, Executor> executors) {
         this.asyncService = asyncService;
+        this.resultCache = resultCache;
+        this.executors = executors;
     }
 
 //async/single - 단일 작업 API
@@ -39,7 +50,8 @@ public class AsyncController {
     @GetMapping("/user/{name}")
     public String processUser(@PathVariable String name) {
         log.info("API 호출: [processUser] - 사용자: {}", name);
-        asyncService.processUser(name);
+        // 사용자 1명 처리는 짧은 대화형 작업이라 대기열 맨 앞으로
+        TaskPriority.with(TaskPriority.HIGHEST, () -> asyncService.processUser(name));
         String response = "✅ " + name + " 비동기 처리 시작됨!";
         log.info("API 응답: [processUser] - 결과: {}", response);
         return response;
@@ -47,12 +59,37 @@ public class AsyncController {
 
     @PostMapping("/batch")
     public String  processBatch(@RequestBody List<String> userNames) {
-        log.info("API 호출: [processUser] - 사용자: {}", userNames);
-        asyncService.processBatch(userNames);
-        String response = "✅ " + userNames + " 비동기 처리 시작됨!";
-        log.info("API 응답: [processUser] - 결과: {}", response);
+        log.info("API 호출: [processBatch] - 사용자: {}명", userNames.size());
+        // 같은 사용자 목록(순서 무관)이 진행 중이거나 최근에 끝났으면 그 작업을 그대로 돌려줌
+        ResultCache.Lookup lookup = resultCache.getOrSubmit(ResultCache.batchKey(userNames), userNames.size(), () -> {
+            String jobId = asyncService.createJob("BatchProcessing");
+            asyncService.processBatch(jobId, userNames);
+            return jobId;
+        });
+        String response = switch (lookup.outcome()) {
+            case HIT -> String.format("♻️ 같은 요청의 완료된 결과 재사용 (작업 ID: %s)", lookup.jobId());
+            case JOINED -> String.format("🔗 진행 중인 같은 작업에 합류 (작업 ID: %s)", lookup.jobId());
+            case MISS -> String.format("✅ %d명 비동기 처리 시작됨! (작업 ID: %s)", userNames.size(), lookup.jobId());
+        };
+        log.info("API 응답: [processBatch] - 결과: {}", response);
         return response;
     }
+
+    @GetMapping("/job/{jobId}")
+    public JobInfo getJobStatus(@PathVariable String jobId) {
+        return asyncService.getJob(jobId);
+    }
+
+    /**
+     * 작업 종류별 실행기 현황 (대기 시간 p50/p99, 실행 시간, 대기열 길이)
+     */
+    @GetMapping("/executors")
+    public List<PriorityTaskExecutor.Stats> getExecutorStats() {
+        return executors.values().stream()
+                .filter(PriorityTaskExecutor.class::isInstance)
+                .map(executor -> ((PriorityTaskExecutor) executor).snapshot())
+                .toList();
+    }
     
     
     
@@ -0,0 +1,54 @@
+package com.test.feeextract.controller;
+
+import com.test.feeextract.cluster.ClusterJobService;
+import com.test.feeextract.cluster.ClusterJobSummary;
+import com.test.feeextract.cluster.WorkItemWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 분산 추출 (feeextract.cluster.enabled=true, 작업 진행 상태는 /memory-test/job/{jobId} 로도 조회)
+ */
+@RestController
+@RequestMapping("/cluster")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "feeextract.cluster.enabled", havingValue = "true")
+@Slf4j
+public class ClusterController {
+
+    private final ClusterJobService clusterJobService;
+    private final WorkItemWorker worker;
+
+    /**
+     * 분산 작업 등록 (파티션은 모든 노드가 나눠서 처리)
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<String> submit(@RequestParam(defaultValue = "500000") int dataSize,
+                                         @RequestParam(defaultValue = "0") int partitionSize) {
+        String jobId = clusterJobService.submit(dataSize, partitionSize);
+        return ResponseEntity.ok(String.format("✅ 분산 작업 등록됨! (작업 ID: %s, 크기: %,d건, 등록 노드: %s)",
+                jobId, dataSize, worker.getNodeId()));
+    }
+
+    /**
+     * 파티션 집계 (어느 노드에서 조회해도 같은 결과)
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ClusterJobSummary> summary(@PathVariable String jobId) {
+        ClusterJobSummary summary = clusterJobService.summarize(jobId);
+        return summary != null ? ResponseEntity.ok(summary) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 이 노드가 처리 중인 파티션
+     */
+    @GetMapping("/node")
+    public Map<String, Object> node() {
+        return worker.describe();
+    }
+}
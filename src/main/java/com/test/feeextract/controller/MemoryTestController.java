@@ -1,12 +1,34 @@
 package com.test.feeextract.controller;
 
+import com.test.feeextract.checkpoint.Checkpoint;
+import com.test.feeextract.checkpoint.CheckpointLog;
+import com.test.feeextract.domain.ExtractionMode;
 import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.result.JobResult;
+import com.test.feeextract.result.ResultCache;
+import com.test.feeextract.result.ResultStore;
+import com.test.feeextract.service.JobStreamService;
 import com.test.feeextract.service.LargeDataService;
+import com.test.feeextract.service.MemoryBudgetService;
 import com.test.feeextract.service.SimpleAsyncService;
+import com.test.feeextract.util.ExtractionMetrics;
 import com.test.feeextract.util.MemoryMonitor;
+import com.test.feeextract.util.TaskPriority;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RestController
 @RequestMapping("/memory-test")
@@ -16,32 +38,151 @@ public class MemoryTestController {
     
     private final LargeDataService largeDataService;
     private final SimpleAsyncService asyncService;
+    private final MemoryBudgetService memoryBudget;
+    private final JobStreamService jobStreamService;
     private final MemoryMonitor memoryMonitor;
+    private final ExtractionMetrics extractionMetrics;
+    private final ResultStore resultStore;
+    private final CheckpointLog checkpointLog;
+    private final ResultCache resultCache;
     
     /**
-     * 50만건 데이터 일반 처리 (전체 메모리 로딩)
+     * 50만건 데이터 일반 처리 (전체 결과 보관)
      */
     @PostMapping("/large-data")
-    public String testLargeData(@RequestParam(defaultValue = "500000") int dataSize) {
+    public ResponseEntity<String> testLargeData(@RequestParam(defaultValue = "500000") int dataSize) {
         log.info("🚀 대용량 데이터 테스트 시작 - 크기: {}", dataSize);
-        
-        String jobId = asyncService.createJob("LargeDataProcessing");
-        largeDataService.processLargeData(jobId, dataSize);
-        
-        return String.format("✅ 대용량 데이터 처리 시작됨! (작업 ID: %s, 크기: %,d건)", jobId, dataSize);
+        return submitLargeDataJob("LargeDataProcessing", ExtractionMode.FULL_LOAD, dataSize);
     }
     
     /**
      * 50만건 데이터 스트리밍 처리 (메모리 효율적)
      */
     @PostMapping("/large-data-streaming")
-    public String testLargeDataStreaming(@RequestParam(defaultValue = "500000") int dataSize) {
+    public ResponseEntity<String> testLargeDataStreaming(@RequestParam(defaultValue = "500000") int dataSize) {
         log.info("🚀 대용량 데이터 스트리밍 테스트 시작 - 크기: {}", dataSize);
+        return submitLargeDataJob("LargeDataStreamingProcessing", ExtractionMode.STREAMING, dataSize);
+    }
+    
+    /**
+     * 50만건 데이터 병렬 스트리밍 처리 (파티션 + fork-join)
+     */
+    @PostMapping("/large-data-streaming-parallel")
+    public ResponseEntity<String> testLargeDataParallelStreaming(@RequestParam(defaultValue = "500000") int dataSize) {
+        log.info("🚀 대용량 데이터 병렬 스트리밍 테스트 시작 - 크기: {}", dataSize);
+        return submitLargeDataJob("LargeDataParallelStreamingProcessing", ExtractionMode.PARALLEL_STREAMING, dataSize);
+    }
+    
+    /**
+     * 멈춘 스트리밍 작업을 마지막 체크포인트부터 새 작업으로 재개 (남은 건수로 메모리 예산 입장 제어)
+     */
+    @PostMapping("/job/{jobId}/resume")
+    public ResponseEntity<String> resumeStreamingJob(@PathVariable String jobId) {
+        JobInfo job = asyncService.getJob(jobId);
+        if (job != null && job.getStatus().isActive()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(String.format("❌ 아직 실행 중인 작업은 재개할 수 없음 (작업 ID: %s)", jobId));
+        }
+        Checkpoint checkpoint = checkpointLog.claim(jobId);
+        if (checkpoint == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(String.format("❌ 재개할 체크포인트 없음 (작업 ID: %s)", jobId));
+        }
+        
+        String resumedJobId = asyncService.createJob("LargeDataStreamingProcessing");
+        log.info("🔁 스트리밍 작업 재개 - 원래 ID: {}, 새 ID: {}, 위치: {}/{}",
+                jobId, resumedJobId, checkpoint.offset(), checkpoint.dataSize());
+        MemoryBudgetService.Admission admission = memoryBudget.submit(resumedJobId, ExtractionMode.STREAMING,
+                checkpoint.remaining(), mode -> TaskPriority.with(TaskPriority.forRecords(checkpoint.remaining()),
+                        () -> largeDataService.resumeStreaming(resumedJobId, checkpoint)));
         
-        String jobId = asyncService.createJob("LargeDataStreamingProcessing");
-        largeDataService.processLargeDataStreaming(jobId, dataSize);
+        return switch (admission.decision()) {
+            case ADMITTED, DOWNGRADED -> ResponseEntity.ok(String.format(
+                    "✅ 스트리밍 작업 재개됨! (작업 ID: %s, 원래 작업: %s, 시작 위치: %,d/%,d건)",
+                    resumedJobId, jobId, checkpoint.offset(), checkpoint.dataSize()));
+            case QUEUED -> ResponseEntity.accepted().body(String.format(
+                    "⏳ 메모리 예산 대기열에 등록됨 (작업 ID: %s, 원래 작업: %s, 남은 건수: %,d, 대기 순번: %d)",
+                    resumedJobId, jobId, checkpoint.remaining(), admission.queuePosition()));
+            case REJECTED -> {
+                // 시작하지 못했으니 다시 재개할 수 있게 되돌림
+                checkpointLog.restore(checkpoint);
+                yield ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                        .body(String.format("❌ 메모리 예산 초과로 거절됨 (남은 건수: %,d건) - %d초 후 다시 시도하세요",
+                                checkpoint.remaining(), admission.retryAfterSeconds()));
+            }
+        };
+    }
+    
+    /**
+     * 결과 캐시 현황 (적중/합류/미스/제거 건수)
+     */
+    @GetMapping("/result-cache")
+    public ResultCache.Stats getResultCacheStats() {
+        return resultCache.stats();
+    }
+    
+    /**
+     * 재개 가능한 스트리밍 작업 체크포인트 목록 (재시작 전 작업 포함)
+     */
+    @GetMapping("/checkpoints")
+    public List<Checkpoint> getResumableCheckpoints() {
+        return checkpointLog.resumable();
+    }
+    
+    /**
+     * 메모리 예산 입장 제어를 거쳐 작업 시작
+     * - 예산 초과 시 대기열(WAITING) / 스트리밍 전환 / 429 거절 중 하나
+     */
+    private ResponseEntity<String> submitLargeDataJob(String taskName, ExtractionMode mode, int dataSize) {
+        String key = ResultCache.extractionKey(mode.name(), dataSize);
+        AtomicReference<MemoryBudgetService.Admission> admitted = new AtomicReference<>();
+        ResultCache.Lookup lookup = resultCache.getOrSubmit(key, dataSize, () -> {
+            String newJobId = asyncService.createJob(taskName);
+            MemoryBudgetService.Admission admission = memoryBudget.submit(newJobId, mode, dataSize,
+                    actualMode -> launch(newJobId, actualMode, dataSize));
+            if (admission.mode() != mode) {
+                // 다른 방식으로 전환된 작업은 요청한 방식의 결과가 아니므로 재사용하지 않음 (예: 스트리밍은 결과 미보관)
+                resultCache.discard(key);
+            }
+            admitted.set(admission);
+            return newJobId;
+        });
+        String jobId = lookup.jobId();
+        // 같은 요청이 이미 있으면 새 작업을 만들지 않음
+        if (lookup.outcome() == ResultCache.Outcome.HIT) {
+            return ResponseEntity.ok(String.format("♻️ 같은 요청의 완료된 결과 재사용 (작업 ID: %s, 크기: %,d건)",
+                    jobId, dataSize));
+        }
+        if (lookup.outcome() == ResultCache.Outcome.JOINED) {
+            return ResponseEntity.ok(String.format("🔗 진행 중인 같은 작업에 합류 (작업 ID: %s, 크기: %,d건)",
+                    jobId, dataSize));
+        }
+        MemoryBudgetService.Admission admission = admitted.get();
         
-        return String.format("✅ 스트리밍 데이터 처리 시작됨! (작업 ID: %s, 크기: %,d건)", jobId, dataSize);
+        return switch (admission.decision()) {
+            case ADMITTED -> ResponseEntity.ok(String.format("✅ %s 시작됨! (작업 ID: %s, 크기: %,d건)",
+                    mode.getDescription(), jobId, dataSize));
+            case DOWNGRADED -> ResponseEntity.ok(String.format(
+                    "⚠️ 메모리 예산 부족으로 %s로 전환됨! (작업 ID: %s, 크기: %,d건)",
+                    admission.mode().getDescription(), jobId, dataSize));
+            case QUEUED -> ResponseEntity.accepted().body(String.format(
+                    "⏳ 메모리 예산 대기열에 등록됨 (작업 ID: %s, 크기: %,d건, 대기 순번: %d)",
+                    jobId, dataSize, admission.queuePosition()));
+            case REJECTED -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                    .body(String.format("❌ 메모리 예산 초과로 거절됨 (크기: %,d건) - %d초 후 다시 시도하세요",
+                            dataSize, admission.retryAfterSeconds()));
+        };
+    }
+    
+    // 건수가 적은 작업일수록 추출 실행기 대기열에서 먼저 실행
+    private CompletableFuture<String> launch(String jobId, ExtractionMode mode, int dataSize) {
+        return TaskPriority.with(TaskPriority.forRecords(dataSize), () -> switch (mode) {
+            case FULL_LOAD -> largeDataService.processLargeData(jobId, dataSize);
+            case STREAMING -> largeDataService.processLargeDataStreaming(jobId, dataSize);
+            case PARALLEL_STREAMING -> largeDataService.processLargeDataParallelStreaming(jobId, dataSize);
+        });
     }
     
     /**
@@ -52,6 +193,40 @@ public class MemoryTestController {
         return asyncService.getJob(jobId);
     }
     
+    /**
+     * 작업 상태 스트림 (SSE, 상태가 바뀔 때마다 최신 JobInfo 전송)
+     */
+    @GetMapping(value = "/job/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobStatus(@PathVariable String jobId) {
+        return jobStreamService.subscribe(jobId);
+    }
+    
+    /**
+     * 전체 결과 보관 작업의 처리 결과 다운로드 (결과 파일 이진 형식, spill 된 작업은 파일을 transferTo 로 바로 전송)
+     * - 전송이 끝날 때까지 결과를 사용 중으로 잡아둠 (그 사이 보관 기간이 끝나도 파일이 닫히거나 삭제되지 않음)
+     */
+    @GetMapping("/job/{jobId}/result")
+    public ResponseEntity<StreamingResponseBody> downloadJobResult(@PathVariable String jobId) {
+        JobResult result = resultStore.get(jobId);
+        if (result == null || !result.acquire()) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + ".fxr\"")
+                .header("X-Result-Rows", String.valueOf(result.getRows()));
+        if (result.isSpilled()) {
+            response.contentLength(result.getFileBytes());
+        }
+        return response.body(out -> {
+            try {
+                result.transferTo(Channels.newChannel(out));
+            } finally {
+                result.release();
+            }
+        });
+    }
+    
     /**
      * 현재 메모리 상태 확인
      */
@@ -60,6 +235,14 @@ public class MemoryTestController {
         return memoryMonitor.measureMemory("현재 상태");
     }
     
+    /**
+     * 추출 단계별 지연 분위수/처리량 (누적값, 지연 단위는 마이크로초)
+     */
+    @GetMapping("/metrics")
+    public Map<String, ExtractionMetrics.PhaseMetrics> getExtractionMetrics() {
+        return extractionMetrics.snapshot();
+    }
+    
     /**
      * 메모리 정리 강제 실행
      */
@@ -94,8 +277,9 @@ public class MemoryTestController {
         int[] testSizes = {10000, 50000, 100000, 500000};
         
         for (int size : testSizes) {
+            // 측정용이므로 결과 캐시를 거치지 않고 매번 새로 실행
             String jobId = asyncService.createJob("MemoryComparison_" + size);
-            largeDataService.processLargeData(jobId, size);
+            memoryBudget.submit(jobId, ExtractionMode.FULL_LOAD, size, actualMode -> launch(jobId, actualMode, size));
             
             // 각 테스트 간 잠시 대기
             try {
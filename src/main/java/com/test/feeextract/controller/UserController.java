@@ -0,0 +1,68 @@
+package com.test.feeextract.controller;
+
+import com.test.feeextract.repository.UserRepository;
+import com.test.feeextract.service.SimpleAsyncService;
+import com.test.feeextract.service.UserExtractionService;
+import com.test.feeextract.service.UserIngestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@Slf4j
+public class UserController {
+    
+    private final UserIngestionService userIngestionService;
+    private final UserExtractionService userExtractionService;
+    private final UserRepository userRepository;
+    private final SimpleAsyncService asyncService;
+    
+    /**
+     * User 대량 적재 (JDBC 배치 insert)
+     */
+    @PostMapping("/ingest")
+    public String ingestUsers(@RequestParam(defaultValue = "500000") int count) {
+        log.info("🚀 User 대량 적재 요청 - 건수: {}", count);
+        
+        String jobId = asyncService.createJob("UserIngestion");
+        userIngestionService.ingestUsers(jobId, count);
+        
+        return String.format("✅ User 적재 시작됨! (작업 ID: %s, 건수: %,d건)", jobId, count);
+    }
+    
+    /**
+     * User 테이블 커서 스트리밍 추출 (MyBatis Cursor, 고정 크기 청크)
+     */
+    @PostMapping("/extract-streaming")
+    public String extractUsersStreaming() {
+        log.info("🚀 User 커서 추출 요청");
+        
+        String jobId = asyncService.createJob("UserCursorExtraction");
+        userExtractionService.extractUsersStreaming(jobId);
+        
+        return String.format("✅ User 커서 추출 시작됨! (작업 ID: %s)", jobId);
+    }
+    
+    /**
+     * User 테이블 키셋 파티션 병렬 추출 (파티션별 처리량은 작업 details 에 표시)
+     */
+    @PostMapping("/extract-parallel")
+    public String extractUsersParallel() {
+        log.info("🚀 User 병렬 추출 요청");
+        
+        String jobId = asyncService.createJob("UserParallelExtraction");
+        userExtractionService.extractUsersParallel(jobId);
+        
+        return String.format("✅ User 병렬 추출 시작됨! (작업 ID: %s)", jobId);
+    }
+    
+    /**
+     * User 테이블 건수
+     */
+    @GetMapping("/count")
+    public long countUsers() {
+        return userRepository.count();
+    }
+}
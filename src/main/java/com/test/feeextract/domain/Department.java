@@ -0,0 +1,17 @@
+package com.test.feeextract.domain;
+
+// 사용자 부서 (적재/생성 데이터 공통)
+public enum Department {
+    SALES,
+    FINANCE,
+    ENGINEERING,
+    HR,
+    MARKETING;
+
+    private static final Department[] VALUES = values();
+
+    // 순번으로 부서 배정 (테스트 데이터용)
+    public static Department of(int index) {
+        return VALUES[Math.floorMod(index, VALUES.length)];
+    }
+}
@@ -0,0 +1,23 @@
+package com.test.feeextract.domain;
+
+// 대용량 데이터 처리 방식
+public enum ExtractionMode {
+    FULL_LOAD("일반 처리"),
+    STREAMING("스트리밍 처리"),
+    PARALLEL_STREAMING("병렬 스트리밍 처리");
+
+    private final String description;
+
+    ExtractionMode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    // 전체 데이터를 메모리에 올리는 방식인지?
+    public boolean isFullLoad() {
+        return this == FULL_LOAD;
+    }
+}
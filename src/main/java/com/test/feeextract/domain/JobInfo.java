@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -15,5 +16,6 @@ public class JobInfo {
     private String message;      // 상태 메시지
     private LocalDateTime startTime;  // 시작 시간
     private LocalDateTime endTime;    // 종료 시간
+    private Map<String, String> details;  // 작업별 부가 정보 (파티션별 처리량 등)
 
 }
@@ -0,0 +1,141 @@
+package com.test.feeextract.domain;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 작업 레지스트리 항목 (상태/진행률/메시지를 제자리에서 갱신)
+ * - 갱신마다 JobInfo 를 새로 만들지 않고 필드만 바꿈
+ * - 시퀀스 락(seqlock): 쓰기 중에는 version 이 홀수, 읽기는 락 없이 읽고 version 이 그대로면 일관된 스냅샷
+ */
+public class JobRecord {
+
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(JobRecord.class, "version", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String jobId;
+    private final String taskName;
+    private final LocalDateTime startTime;
+
+    private volatile int version;
+    private JobStatus status;
+    private int progress;
+    private String message;
+    private LocalDateTime endTime;
+    private Map<String, String> details = Map.of();
+
+    public JobRecord(String jobId, String taskName, JobStatus status, int progress, String message) {
+        this(jobId, taskName, status, progress, message, LocalDateTime.now());
+    }
+
+    public JobRecord(String jobId, String taskName, JobStatus status, int progress, String message,
+                     LocalDateTime startTime) {
+        this.jobId = jobId;
+        this.taskName = taskName;
+        this.startTime = startTime;
+        this.status = status;
+        this.progress = progress;
+        this.message = message;
+    }
+
+    /**
+     * 상태 갱신
+     * - 종료 시간은 종료 상태(COMPLETED/FAILED)로 바뀔 때만 기록
+     * @return 이번 갱신으로 진행 상태에서 종료 상태로 바뀌었으면 true
+     */
+    public boolean update(JobStatus newStatus, int newProgress, String newMessage) {
+        lockForWrite();
+        try {
+            boolean finished = status.isActive() && !newStatus.isActive();
+            status = newStatus;
+            progress = newProgress;
+            message = newMessage;
+            if (finished) {
+                endTime = LocalDateTime.now();
+            }
+            return finished;
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * 부가 정보 교체 (순서를 유지한 불변 복사본으로 보관하므로 스냅샷끼리 공유해도 안전)
+     */
+    public void updateDetails(Map<String, String> newDetails) {
+        Map<String, String> copy = Collections.unmodifiableMap(new LinkedHashMap<>(newDetails));
+        lockForWrite();
+        try {
+            details = copy;
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * 일관된 시점의 JobInfo 스냅샷 (쓰기와 겹치면 재시도)
+     */
+    public JobInfo snapshot() {
+        while (true) {
+            int before = version;
+            if ((before & 1) == 0) {
+                JobStatus currentStatus = status;
+                int currentProgress = progress;
+                String currentMessage = message;
+                LocalDateTime currentEndTime = endTime;
+                Map<String, String> currentDetails = details;
+                VarHandle.acquireFence();
+                if (version == before) {
+                    return JobInfo.builder()
+                            .jobId(jobId)
+                            .taskName(taskName)
+                            .status(currentStatus)
+                            .progress(currentProgress)
+                            .message(currentMessage)
+                            .startTime(startTime)
+                            .endTime(currentEndTime)
+                            .details(currentDetails)
+                            .build();
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    private void lockForWrite() {
+        while (true) {
+            int current = version;
+            if ((current & 1) == 0 && VERSION.compareAndSet(this, current, current + 1)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void unlockWrite() {
+        version = version + 1;
+    }
+}
@@ -0,0 +1,571 @@
+package com.test.feeextract.domain;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * 컬럼 기반 사용자 데이터 배치
+ * - id / 금액 / 수수료 / 생성시각은 int/long 배열, 문자열 필드는 컬럼별 공유 버퍼 + 오프셋 배열로 저장
+ * - 레코드당 객체(UserData, String, LocalDateTime)를 만들지 않아 힙 사용량과 GC 부담이 레코드 수에 비례해 늘지 않음
+ * - offHeap=true 이면 문자열 버퍼를 direct ByteBuffer 로 할당 (힙 밖)
+ * - encode/decode: 행 구간을 컬럼 그대로 이어 붙인 이진 블록으로 변환 (결과 파일 저장용)
+ */
+public class UserDataBatch {
+
+    // 컬럼별 레코드당 초기 버퍼 크기 추정치 (부족하면 두 배씩 증가)
+    private static final int NAME_BYTES = 12;
+    private static final int EMAIL_BYTES = 22;
+    private static final int DEPARTMENT_BYTES = 12;
+    private static final int DESCRIPTION_BYTES = 88;
+    private static final int PROCESSED_NAME_BYTES = 24;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int capacity;
+    private final boolean offHeap;
+    private int size;
+
+    private final int[] ids;
+    private final long[] createdAt;   // epoch millis
+    private final long[] amounts;     // 거래 금액 (원)
+    private final long[] fees;        // 수수료 (원, 수수료 계산 단계에서 채움)
+    private final StringColumn names;
+    private final StringColumn emails;
+    private final StringColumn departments;
+    private final StringColumn descriptions;
+    private final StringColumn processedNames;
+
+    private UserDataBatch(int capacity, boolean offHeap) {
+        this.capacity = capacity;
+        this.offHeap = offHeap;
+        this.ids = new int[capacity];
+        this.createdAt = new long[capacity];
+        this.amounts = new long[capacity];
+        this.fees = new long[capacity];
+        this.names = new StringColumn(capacity, NAME_BYTES, offHeap);
+        this.emails = new StringColumn(capacity, EMAIL_BYTES, offHeap);
+        this.departments = new StringColumn(capacity, DEPARTMENT_BYTES, offHeap);
+        this.descriptions = new StringColumn(capacity, DESCRIPTION_BYTES, offHeap);
+        this.processedNames = new StringColumn(capacity, PROCESSED_NAME_BYTES, offHeap);
+    }
+
+    public static UserDataBatch allocate(int capacity, boolean offHeap) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        return new UserDataBatch(capacity, offHeap);
+    }
+
+    /**
+     * 레코드 추가 (금액 0, processedName 은 처리 단계에서 채움)
+     */
+    public void add(int id, CharSequence name, CharSequence email, CharSequence department,
+                    CharSequence description, long createdAtMillis) {
+        add(id, name, email, department, description, 0L, createdAtMillis);
+    }
+
+    /**
+     * 레코드 추가 (processedName / fee 는 처리 단계에서 채움)
+     */
+    public void add(int id, CharSequence name, CharSequence email, CharSequence department,
+                    CharSequence description, long amount, long createdAtMillis) {
+        if (size == capacity) {
+            throw new IllegalStateException("batch is full: " + capacity);
+        }
+        ids[size] = id;
+        createdAt[size] = createdAtMillis;
+        amounts[size] = amount;
+        fees[size] = 0L;
+        names.append(name);
+        emails.append(email);
+        departments.append(department);
+        descriptions.append(description);
+        size++;
+    }
+
+    /**
+     * 레코드 추가 (생성 데이터용, 문자열을 만들지 않고 템플릿과 id 를 바로 바이트로 기록)
+     * @param department ASCII 바이트 (복사해서 기록하므로 공유 배열을 넘겨도 됨)
+     */
+    public void add(int id, NumberedText name, NumberedText email, byte[] department,
+                    NumberedText description, long amount, long createdAtMillis) {
+        if (size == capacity) {
+            throw new IllegalStateException("batch is full: " + capacity);
+        }
+        ids[size] = id;
+        createdAt[size] = createdAtMillis;
+        amounts[size] = amount;
+        fees[size] = 0L;
+        names.appendNumbered(name.prefix(), id, name.suffix());
+        emails.appendNumbered(email.prefix(), id, email.suffix());
+        departments.appendAscii(department);
+        descriptions.appendNumbered(description.prefix(), id, description.suffix());
+        size++;
+    }
+
+    /**
+     * 처리 결과 컬럼 초기화 (처리 단계 시작 시 호출)
+     */
+    public void resetProcessedNames() {
+        processedNames.clear();
+    }
+
+    /**
+     * 처리 결과를 다음 행에 기록 (행 순서대로 호출)
+     */
+    public void appendProcessedName(CharSequence processedName) {
+        processedNames.append(processedName);
+    }
+
+    /**
+     * row 의 이름을 대문자로 바꾸고 suffix 를 붙여 다음 처리 결과로 기록
+     * - ASCII 이름은 바이트 단위로 바로 변환 (중간 String/StringBuilder 없음)
+     */
+    public void appendUpperCasedName(int row, byte[] suffix) {
+        checkRow(row);
+        processedNames.appendUpperCase(names, row, suffix);
+    }
+
+    /**
+     * 수수료 계산 결과 기록
+     */
+    public void setFee(int row, long fee) {
+        checkRow(row);
+        fees[row] = fee;
+    }
+
+    /**
+     * 배치 재사용을 위한 초기화 (버퍼는 유지)
+     */
+    public void clear() {
+        size = 0;
+        names.clear();
+        emails.clear();
+        departments.clear();
+        descriptions.clear();
+        processedNames.clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public int getId(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    public long getCreatedAtMillis(int row) {
+        checkRow(row);
+        return createdAt[row];
+    }
+
+    public long getAmount(int row) {
+        checkRow(row);
+        return amounts[row];
+    }
+
+    public long getFee(int row) {
+        checkRow(row);
+        return fees[row];
+    }
+
+    public LocalDateTime getCreatedAt(int row) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(getCreatedAtMillis(row)), ZoneId.systemDefault());
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return names.get(row);
+    }
+
+    public String getEmail(int row) {
+        checkRow(row);
+        return emails.get(row);
+    }
+
+    public String getDepartment(int row) {
+        checkRow(row);
+        return departments.get(row);
+    }
+
+    public String getDescription(int row) {
+        checkRow(row);
+        return descriptions.get(row);
+    }
+
+    public String getProcessedName(int row) {
+        checkRow(row);
+        return row < processedNames.size() ? processedNames.get(row) : null;
+    }
+
+    public StringColumn names() {
+        return names;
+    }
+
+    public StringColumn emails() {
+        return emails;
+    }
+
+    public StringColumn departments() {
+        return departments;
+    }
+
+    public StringColumn descriptions() {
+        return descriptions;
+    }
+
+    public StringColumn processedNames() {
+        return processedNames;
+    }
+
+    /**
+     * 배치가 차지하는 대략적인 메모리 (바이트, 할당된 버퍼 기준)
+     */
+    public long getApproximateMemorySize() {
+        long bytes = (long) ids.length * Integer.BYTES
+                + (long) (createdAt.length + amounts.length + fees.length) * Long.BYTES;
+        bytes += names.allocatedBytes();
+        bytes += emails.allocatedBytes();
+        bytes += departments.allocatedBytes();
+        bytes += descriptions.allocatedBytes();
+        bytes += processedNames.allocatedBytes();
+        return bytes;
+    }
+
+    /**
+     * 행 구간 [fromRow, toRow) 를 블록으로 인코딩했을 때 바이트 수
+     */
+    public int encodedSize(int fromRow, int toRow) {
+        checkRange(fromRow, toRow);
+        int rows = toRow - fromRow;
+        long bytes = Integer.BYTES + (long) rows * (Integer.BYTES + 3L * Long.BYTES)
+                + names.encodedSize(fromRow, toRow)
+                + emails.encodedSize(fromRow, toRow)
+                + departments.encodedSize(fromRow, toRow)
+                + descriptions.encodedSize(fromRow, toRow)
+                + processedNames.encodedSize(fromRow, toRow);
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("block exceeds 2GB: " + rows + " rows");
+        }
+        return (int) bytes;
+    }
+
+    /**
+     * 행 구간을 dst 현재 위치부터 블록으로 기록
+     * - 행 수, id[], amount[], fee[], createdAt[], 문자열 컬럼 5개 (name, email, department, description, processedName)
+     * - 처리 결과가 없는 행의 processedName 은 빈 값
+     */
+    public void encode(ByteBuffer dst, int fromRow, int toRow) {
+        checkRange(fromRow, toRow);
+        int rows = toRow - fromRow;
+        dst.putInt(rows);
+        dst.asIntBuffer().put(ids, fromRow, rows);
+        dst.position(dst.position() + rows * Integer.BYTES);
+        for (long[] column : new long[][]{amounts, fees, createdAt}) {
+            dst.asLongBuffer().put(column, fromRow, rows);
+            dst.position(dst.position() + rows * Long.BYTES);
+        }
+        names.encode(dst, fromRow, toRow);
+        emails.encode(dst, fromRow, toRow);
+        departments.encode(dst, fromRow, toRow);
+        descriptions.encode(dst, fromRow, toRow);
+        processedNames.encode(dst, fromRow, toRow);
+    }
+
+    /**
+     * encode 로 기록한 블록 1개를 src 현재 위치에서 읽어 뒤에 추가
+     */
+    public void decode(ByteBuffer src) {
+        int rows = src.getInt();
+        if (rows < 0 || rows > capacity - size) {
+            throw new IllegalStateException("block of " + rows + " rows does not fit: " + size + "/" + capacity);
+        }
+        // 처리 결과 컬럼이 앞 행까지 채워져 있지 않으면 빈 값으로 맞춤
+        while (processedNames.size() < size) {
+            processedNames.appendAscii(EMPTY);
+        }
+        src.asIntBuffer().get(ids, size, rows);
+        src.position(src.position() + rows * Integer.BYTES);
+        for (long[] column : new long[][]{amounts, fees, createdAt}) {
+            src.asLongBuffer().get(column, size, rows);
+            src.position(src.position() + rows * Long.BYTES);
+        }
+        names.decode(src, rows);
+        emails.decode(src, rows);
+        departments.decode(src, rows);
+        descriptions.decode(src, rows);
+        processedNames.decode(src, rows);
+        size += rows;
+    }
+
+    private void checkRange(int fromRow, int toRow) {
+        if (fromRow < 0 || toRow > size || fromRow > toRow) {
+            throw new IndexOutOfBoundsException("rows [" + fromRow + ", " + toRow + ") out of [0, " + size + ")");
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " out of [0, " + size + ")");
+        }
+    }
+
+    /**
+     * "접두어 + 숫자 + 접미어" 형태의 ASCII 문자열 템플릿
+     */
+    public record NumberedText(byte[] prefix, byte[] suffix) {
+
+        public static NumberedText of(String prefix, String suffix) {
+            return new NumberedText(ascii(prefix), ascii(suffix));
+        }
+
+        private static byte[] ascii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) >= 0x80) {
+                    throw new IllegalArgumentException("not ASCII: " + value);
+                }
+            }
+            return value.getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * 가변 길이 문자열 컬럼
+     * - 모든 행의 바이트를 하나의 버퍼에 이어 붙이고 offsets[row] ~ offsets[row + 1] 구간으로 구분
+     * - ASCII 는 문자당 1바이트로 바로 기록, 그 외는 UTF-8 인코딩
+     */
+    public static final class StringColumn {
+        private final boolean direct;
+        private final int[] offsets;
+        private ByteBuffer data;
+        private int size;
+
+        StringColumn(int rows, int bytesPerRow, boolean direct) {
+            this.direct = direct;
+            this.offsets = new int[rows + 1];
+            this.data = allocate((int) Math.min(Integer.MAX_VALUE - 8, Math.max(16L, (long) rows * bytesPerRow)));
+        }
+
+        public void append(CharSequence value) {
+            if (size == offsets.length - 1) {
+                throw new IllegalStateException("column is full: " + size);
+            }
+            int position = offsets[size];
+            int length = value.length();
+            ensureCapacity(position, length);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    // 비 ASCII 포함 시 UTF-8 인코딩으로 다시 기록
+                    byte[] encoded = value.toString().getBytes(StandardCharsets.UTF_8);
+                    ensureCapacity(offsets[size], encoded.length);
+                    data.put(offsets[size], encoded);
+                    position = offsets[size] + encoded.length;
+                    offsets[++size] = position;
+                    return;
+                }
+                data.put(position++, (byte) c);
+            }
+            offsets[++size] = position;
+        }
+
+        /**
+         * prefix + 10진수 number + suffix 를 한 행으로 기록 (모두 ASCII)
+         */
+        public void appendNumbered(byte[] prefix, long number, byte[] suffix) {
+            checkNotFull();
+            int position = offsets[size];
+            int digits = digitCount(number);
+            ensureCapacity(position, prefix.length + digits + suffix.length);
+            data.put(position, prefix);
+            position += prefix.length;
+            writeDigits(position, number, digits);
+            position += digits;
+            data.put(position, suffix);
+            offsets[++size] = position + suffix.length;
+        }
+
+        /**
+         * ASCII 바이트를 한 행으로 기록
+         */
+        public void appendAscii(byte[] value) {
+            checkNotFull();
+            int position = offsets[size];
+            ensureCapacity(position, value.length);
+            data.put(position, value);
+            offsets[++size] = position + value.length;
+        }
+
+        /**
+         * source 의 row 를 대문자로 바꾸고 suffix 를 붙여 한 행으로 기록
+         * - ASCII 는 바이트 단위 변환, 비 ASCII 가 섞여 있으면 String 으로 변환 (Locale.ROOT 기준)
+         */
+        public void appendUpperCase(StringColumn source, int row, byte[] suffix) {
+            checkNotFull();
+            int from = source.offsets[row];
+            int length = source.offsets[row + 1] - from;
+            int position = offsets[size];
+            ensureCapacity(position, length + suffix.length);
+            for (int i = 0; i < length; i++) {
+                byte b = source.data.get(from + i);
+                if (b < 0) {
+                    append(source.get(row).toUpperCase(Locale.ROOT) + new String(suffix, StandardCharsets.US_ASCII));
+                    return;
+                }
+                data.put(position + i, b >= 'a' && b <= 'z' ? (byte) (b - ('a' - 'A')) : b);
+            }
+            data.put(position + length, suffix);
+            offsets[++size] = position + length + suffix.length;
+        }
+
+        public String get(int row) {
+            int start = offsets[row];
+            byte[] bytes = new byte[offsets[row + 1] - start];
+            data.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * row 값이 ASCII 바이트 value 와 같은지 (String 을 만들지 않고 비교)
+         */
+        public boolean equalsAscii(int row, byte[] value) {
+            int start = offsets[row];
+            if (offsets[row + 1] - start != value.length) {
+                return false;
+            }
+            for (int i = 0; i < value.length; i++) {
+                if (data.get(start + i) != value[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * row 의 UTF-8 바이트를 dst[offset] 부터 복사하고 길이 반환 (dst 는 length(row) 이상 남아 있어야 함)
+         */
+        public int copyTo(int row, byte[] dst, int offset) {
+            int start = offsets[row];
+            int length = offsets[row + 1] - start;
+            data.get(start, dst, offset, length);
+            return length;
+        }
+
+        /**
+         * 행 구간 인코딩 크기: 총 바이트 수(int) + 행별 길이(int[]) + 바이트
+         */
+        int encodedSize(int fromRow, int toRow) {
+            return Integer.BYTES * (1 + toRow - fromRow) + offsets[Math.min(toRow, size)] - offsets[Math.min(fromRow, size)];
+        }
+
+        // 아직 채워지지 않은 행(처리 전 processedName)은 길이 0 으로 기록
+        void encode(ByteBuffer dst, int fromRow, int toRow) {
+            int begin = offsets[Math.min(fromRow, size)];
+            int end = offsets[Math.min(toRow, size)];
+            dst.putInt(end - begin);
+            for (int row = fromRow; row < toRow; row++) {
+                dst.putInt(row < size ? offsets[row + 1] - offsets[row] : 0);
+            }
+            dst.put(dst.position(), data, begin, end - begin);
+            dst.position(dst.position() + end - begin);
+        }
+
+        void decode(ByteBuffer src, int rows) {
+            if (rows > offsets.length - 1 - size) {
+                throw new IllegalStateException("column is full: " + size);
+            }
+            int total = src.getInt();
+            int position = offsets[size];
+            ensureCapacity(position, total);
+            for (int i = 0; i < rows; i++) {
+                offsets[size + i + 1] = offsets[size + i] + src.getInt();
+            }
+            if (offsets[size + rows] - position != total) {
+                throw new IllegalStateException("corrupt column block: " + total + " bytes expected");
+            }
+            data.put(position, src, src.position(), total);
+            src.position(src.position() + total);
+            size += rows;
+        }
+
+        public int length(int row) {
+            return offsets[row + 1] - offsets[row];
+        }
+
+        public byte byteAt(int row, int index) {
+            return data.get(offsets[row] + index);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        long allocatedBytes() {
+            return (long) offsets.length * Integer.BYTES + data.capacity();
+        }
+
+        private void checkNotFull() {
+            if (size == offsets.length - 1) {
+                throw new IllegalStateException("column is full: " + size);
+            }
+        }
+
+        // 뒤에서부터 한 자리씩 기록 (음수는 '-' 포함)
+        private void writeDigits(int position, long number, int digits) {
+            int end = position + digits;
+            long remaining = number;
+            if (number < 0) {
+                data.put(position, (byte) '-');
+            }
+            do {
+                int digit = (int) Math.abs(remaining % 10);
+                data.put(--end, (byte) ('0' + digit));
+                remaining /= 10;
+            } while (remaining != 0);
+        }
+
+        private static int digitCount(long number) {
+            int digits = number < 0 ? 2 : 1;
+            long remaining = number / 10;
+            while (remaining != 0) {
+                digits++;
+                remaining /= 10;
+            }
+            return digits;
+        }
+
+        private void ensureCapacity(int position, int additional) {
+            long required = (long) position + additional;
+            if (required <= data.capacity()) {
+                return;
+            }
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("column buffer exceeds 2GB");
+            }
+            int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, (long) data.capacity() * 2));
+            ByteBuffer grown = allocate(newCapacity);
+            grown.put(0, data, 0, position);
+            data = grown;
+        }
+
+        private ByteBuffer allocate(int bytes) {
+            return direct ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+        }
+    }
+}
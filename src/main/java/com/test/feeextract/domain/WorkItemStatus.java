@@ -0,0 +1,24 @@
+package com.test.feeextract.domain;
+
+// 분산 파티션 작업 상태
+public enum WorkItemStatus {
+    PENDING("대기"),
+    CLAIMED("처리중"),
+    DONE("완료"),
+    FAILED("실패");
+
+    private final String description;
+
+    WorkItemStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    // 더 이상 처리하지 않는 상태인지?
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
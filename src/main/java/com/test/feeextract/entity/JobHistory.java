@@ -0,0 +1,48 @@
+package com.test.feeextract.entity;
+
+import com.test.feeextract.domain.JobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 작업 이력 (작업 레지스트리 스냅샷, 쓰기는 JobHistoryMapper 의 MERGE 배치로만 함)
+ * - 종료 후 history-retention 이 지난 행은 JpaJobStore 가 주기적으로 삭제 (종료 시각 인덱스)
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "job_history", indexes = @Index(name = "idx_job_history_end", columnList = "endTime"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobHistory {
+
+    @Id
+    @Column(length = 36)
+    private String jobId;
+    private String taskName;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private JobStatus status;
+    private int progress;
+    @Column(length = 4000)
+    private String message;
+    // 부가 정보 (JSON 객체)
+    @Lob
+    private String details;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    // 작업을 실행한 프로세스 (인스턴스 ID#PID, 갱신이 끊긴 진행 중 작업 판별용)
+    @Column(length = 128)
+    private String instanceId;
+    private LocalDateTime updatedAt;
+}
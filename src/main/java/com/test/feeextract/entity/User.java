@@ -2,7 +2,10 @@ package com.test.feeextract.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -11,15 +14,20 @@ import java.time.LocalDateTime;
 @Setter
 @Builder
 @Entity
+@Table(name = "users")  // USER 는 H2 예약어
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    // 시퀀스를 1000개 단위로 미리 할당 (pooled) → 행마다 ID 조회하지 않고 JDBC 배치 insert 가능
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 1000)
     private Long id;
     private String name;
     private String email;
     private String department;
+    // 거래 금액 (원, 수수료 계산 입력) - 이 컬럼이 생기기 전에 적재된 행은 null
+    private Long amount;
     private LocalDateTime createdAt;
 }
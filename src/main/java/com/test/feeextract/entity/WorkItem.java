@@ -0,0 +1,57 @@
+package com.test.feeextract.entity;
+
+import com.test.feeextract.domain.WorkItemStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+/**
+ * 분산 추출 작업의 파티션 1개 (여러 인스턴스가 공유하는 작업 테이블의 한 행)
+ * - 스키마만 JPA 로 만들고, 점유/갱신은 조건부 UPDATE 로만 함 (WorkItemMapper)
+ * - 시각은 epoch 밀리초 (인스턴스 간 시계 차이는 임대 시간보다 충분히 작아야 함)
+ */
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Entity
+@Table(name = "work_item", indexes = {
+        @Index(name = "idx_work_item_claimable", columnList = "status, leaseUntil"),
+        @Index(name = "idx_work_item_job", columnList = "jobId")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkItem {
+
+    // 작업 ID + "#" + 파티션 번호
+    @Id
+    @Column(length = 64)
+    private String id;
+    @Column(length = 36)
+    private String jobId;
+    private int partitionNo;
+    // 처리할 id 범위 [rangeStart, rangeEnd)
+    private int rangeStart;
+    private int rangeEnd;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private WorkItemStatus status;
+    // 점유한 노드와 임대 만료 시각 (만료되면 다른 노드가 다시 점유)
+    @Column(length = 160)
+    private String leaseOwner;
+    private Long leaseUntil;
+    private int attempts;
+    // 앞에서부터 처리한 건수와 수수료 합계 (heartbeat 마다 기록, 다시 점유한 노드는 여기서부터 이어서 처리)
+    private long processed;
+    private long feeTotal;
+    private long createdAt;
+    private long updatedAt;
+
+    public int size() {
+        return rangeEnd - rangeStart;
+    }
+}
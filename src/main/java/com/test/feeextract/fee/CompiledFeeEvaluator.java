@@ -0,0 +1,191 @@
+package com.test.feeextract.fee;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 규칙을 한 번 컴파일한 람다로 평가하는 계산기
+ * - 조건은 (필드, 연산자) 조합마다 상수를 캡처한 전용 람다 (행마다 분기/해석 없음)
+ * - 부서 비교는 미리 인코딩한 바이트와 컬럼 버퍼를 직접 비교, 구간 요율은 구간 시작까지의 누적 수수료를 미리 계산
+ * - 조건 없는 규칙(*) 뒤의 규칙은 도달할 수 없으므로 버림
+ * - 결과는 InterpretedFeeEvaluator 와 항상 같아야 함
+ */
+public final class CompiledFeeEvaluator implements FeeEvaluator {
+
+    @FunctionalInterface
+    private interface RowPredicate {
+        boolean test(UserDataBatch batch, int row);
+    }
+
+    // 인덱스별 규칙 조건 (null 이면 항상 일치) / 계산식
+    private final RowPredicate[] predicates;
+    private final LongUnaryOperator[] formulas;
+
+    public CompiledFeeEvaluator(List<FeeRule> rules) {
+        List<RowPredicate> compiledPredicates = new ArrayList<>();
+        List<LongUnaryOperator> compiledFormulas = new ArrayList<>();
+        for (FeeRule rule : rules) {
+            RowPredicate predicate = compileConditions(rule.conditions());
+            compiledPredicates.add(predicate);
+            compiledFormulas.add(compileFormula(rule.formula()));
+            if (predicate == null) {
+                break;
+            }
+        }
+        this.predicates = compiledPredicates.toArray(RowPredicate[]::new);
+        this.formulas = compiledFormulas.toArray(LongUnaryOperator[]::new);
+    }
+
+    /**
+     * 컴파일 후 남은 규칙 수 (도달할 수 없는 규칙 제외)
+     */
+    public int ruleCount() {
+        return predicates.length;
+    }
+
+    @Override
+    public long fee(UserDataBatch batch, int row) {
+        for (int i = 0; i < predicates.length; i++) {
+            RowPredicate predicate = predicates[i];
+            if (predicate == null || predicate.test(batch, row)) {
+                return formulas[i].applyAsLong(batch.getAmount(row));
+            }
+        }
+        return 0;
+    }
+
+    private static RowPredicate compileConditions(List<FeeRule.Condition> conditions) {
+        RowPredicate[] compiled = conditions.stream()
+                .map(CompiledFeeEvaluator::compileCondition)
+                .toArray(RowPredicate[]::new);
+        return switch (compiled.length) {
+            case 0 -> null;
+            case 1 -> compiled[0];
+            case 2 -> {
+                RowPredicate first = compiled[0];
+                RowPredicate second = compiled[1];
+                yield (batch, row) -> first.test(batch, row) && second.test(batch, row);
+            }
+            default -> (batch, row) -> {
+                for (RowPredicate predicate : compiled) {
+                    if (!predicate.test(batch, row)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        };
+    }
+
+    private static RowPredicate compileCondition(FeeRule.Condition condition) {
+        return switch (condition.field()) {
+            case DEPARTMENT -> compileDepartment(condition);
+            case AMOUNT -> compileAmount(condition.operator(), condition.numbers());
+            case CREATED_AT -> compileCreatedAt(condition.operator(), condition.numbers());
+        };
+    }
+
+    private static RowPredicate compileDepartment(FeeRule.Condition condition) {
+        byte[][] values = condition.texts().stream()
+                .map(text -> text.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        RowPredicate any;
+        if (values.length == 1) {
+            byte[] value = values[0];
+            any = (batch, row) -> batch.departments().equalsAscii(row, value);
+        } else {
+            any = (batch, row) -> {
+                UserDataBatch.StringColumn departments = batch.departments();
+                for (byte[] value : values) {
+                    if (departments.equalsAscii(row, value)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        if (condition.operator() == FeeRule.Operator.NE) {
+            RowPredicate equal = any;
+            return (batch, row) -> !equal.test(batch, row);
+        }
+        return any;
+    }
+
+    private static RowPredicate compileAmount(FeeRule.Operator operator, long[] numbers) {
+        long v = numbers[0];
+        return switch (operator) {
+            case EQ -> (batch, row) -> batch.getAmount(row) == v;
+            case NE -> (batch, row) -> batch.getAmount(row) != v;
+            case LT -> (batch, row) -> batch.getAmount(row) < v;
+            case LE -> (batch, row) -> batch.getAmount(row) <= v;
+            case GT -> (batch, row) -> batch.getAmount(row) > v;
+            case GE -> (batch, row) -> batch.getAmount(row) >= v;
+            case IN -> (batch, row) -> contains(numbers, batch.getAmount(row));
+        };
+    }
+
+    private static RowPredicate compileCreatedAt(FeeRule.Operator operator, long[] numbers) {
+        long v = numbers[0];
+        return switch (operator) {
+            case EQ -> (batch, row) -> batch.getCreatedAtMillis(row) == v;
+            case NE -> (batch, row) -> batch.getCreatedAtMillis(row) != v;
+            case LT -> (batch, row) -> batch.getCreatedAtMillis(row) < v;
+            case LE -> (batch, row) -> batch.getCreatedAtMillis(row) <= v;
+            case GT -> (batch, row) -> batch.getCreatedAtMillis(row) > v;
+            case GE -> (batch, row) -> batch.getCreatedAtMillis(row) >= v;
+            case IN -> (batch, row) -> contains(numbers, batch.getCreatedAtMillis(row));
+        };
+    }
+
+    private static boolean contains(long[] numbers, long value) {
+        for (long number : numbers) {
+            if (number == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LongUnaryOperator compileFormula(FeeRule.Formula formula) {
+        LongUnaryOperator fee = switch (formula.kind()) {
+            case RATE -> {
+                long bps = formula.rateBps()[0];
+                yield amount -> amount * bps / 10000;
+            }
+            case FIXED -> {
+                long fixed = formula.fixedFee();
+                yield amount -> fixed;
+            }
+            case TIERED -> compileTiers(formula.tierFloors(), formula.rateBps());
+        };
+        long minFee = formula.minFee();
+        long maxFee = formula.maxFee();
+        if (minFee <= 0 && maxFee < 0 && formula.kind() != FeeRule.Kind.RATE) {
+            // 고정/구간 수수료는 음수가 나오지 않으므로 하한 0 확인 생략
+            return fee;
+        }
+        return amount -> InterpretedFeeEvaluator.clamp(fee.applyAsLong(amount), minFee, maxFee);
+    }
+
+    // 구간 i 시작 금액까지의 누적 수수료를 미리 계산 (구간마다 원 미만 절사는 해석기와 동일)
+    private static LongUnaryOperator compileTiers(long[] floors, long[] rates) {
+        long[] base = new long[floors.length];
+        for (int i = 1; i < floors.length; i++) {
+            base[i] = base[i - 1] + (floors[i] - floors[i - 1]) * rates[i - 1] / 10000;
+        }
+        return amount -> {
+            if (amount <= 0) {
+                return 0;
+            }
+            int tier = floors.length - 1;
+            while (floors[tier] >= amount) {
+                tier--;
+            }
+            return base[tier] + (amount - floors[tier]) * rates[tier] / 10000;
+        };
+    }
+}
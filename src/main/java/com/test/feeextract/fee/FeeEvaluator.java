@@ -0,0 +1,14 @@
+package com.test.feeextract.fee;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+/**
+ * 행 단위 수수료 계산기
+ */
+public interface FeeEvaluator {
+
+    /**
+     * row 에 처음 일치하는 규칙으로 계산한 수수료 (일치하는 규칙이 없으면 0)
+     */
+    long fee(UserDataBatch batch, int row);
+}
@@ -0,0 +1,83 @@
+package com.test.feeextract.fee;
+
+import java.util.List;
+
+/**
+ * 수수료 규칙 1개 (설정 파일 한 줄을 파싱한 결과)
+ * - conditions 가 모두 참이면 formula 로 수수료 계산 (조건이 없으면 항상 일치)
+ * - 규칙은 위에서부터 처음 일치하는 것 하나만 적용
+ */
+public record FeeRule(String name, List<Condition> conditions, Formula formula) {
+
+    public FeeRule {
+        conditions = List.copyOf(conditions);
+    }
+
+    public enum Field {
+        DEPARTMENT,
+        AMOUNT,
+        CREATED_AT
+    }
+
+    public enum Operator {
+        EQ, NE, LT, LE, GT, GE, IN
+    }
+
+    /**
+     * 필드 조건
+     * - DEPARTMENT: texts 와 비교 (EQ, NE, IN)
+     * - AMOUNT / CREATED_AT: numbers[0] 과 비교 (CREATED_AT 은 epoch millis), IN 은 numbers 전체
+     */
+    public record Condition(Field field, Operator operator, List<String> texts, long[] numbers) {
+
+        public Condition {
+            texts = List.copyOf(texts);
+            numbers = numbers.clone();
+        }
+
+        public static Condition text(Field field, Operator operator, List<String> values) {
+            return new Condition(field, operator, values, new long[0]);
+        }
+
+        public static Condition number(Field field, Operator operator, long... values) {
+            return new Condition(field, operator, List.of(), values);
+        }
+    }
+
+    public enum Kind {
+        RATE,
+        FIXED,
+        TIERED
+    }
+
+    /**
+     * 수수료 계산식 (금액, 수수료 모두 원 단위, 요율은 0.01% 단위 bp)
+     * - RATE: amount × rateBps[0] / 10000
+     * - FIXED: fixedFee
+     * - TIERED: 구간별 누진 (tierFloors[i] 이상 금액분에 rateBps[i] 적용)
+     * - 계산 결과를 [minFee, maxFee] 로 제한 (maxFee < 0 이면 상한 없음)
+     */
+    public record Formula(Kind kind, long fixedFee, long[] tierFloors, long[] rateBps, long minFee, long maxFee) {
+
+        public Formula {
+            tierFloors = tierFloors.clone();
+            rateBps = rateBps.clone();
+        }
+
+        public static Formula rate(long rateBps) {
+            return new Formula(Kind.RATE, 0, new long[]{0}, new long[]{rateBps}, 0, -1);
+        }
+
+        public static Formula fixed(long fee) {
+            return new Formula(Kind.FIXED, fee, new long[0], new long[0], 0, -1);
+        }
+
+        public static Formula tiered(long[] tierFloors, long[] rateBps) {
+            return new Formula(Kind.TIERED, 0, tierFloors, rateBps, 0, -1);
+        }
+
+        public Formula withBounds(long minFee, long maxFee) {
+            return new Formula(kind, fixedFee, tierFloors, rateBps, minFee, maxFee);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.test.feeextract.fee;
+
+import com.test.feeextract.domain.UserDataBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 수수료 계산 단계 (전체 로딩 / 스트리밍 / 커서 추출의 처리 단계에서 배치마다 호출)
+ * - 기동 시 feeextract.fee.rules-location 규칙 파일을 한 번 읽어 계산기로 만듦
+ * - feeextract.fee.compiled=false 면 규칙을 행마다 해석하는 계산기 사용 (비교/검증용)
+ */
+@Component
+@Slf4j
+public class FeeRuleEngine {
+
+    private final FeeEvaluator evaluator;
+    private final int ruleCount;
+
+    public FeeRuleEngine(List<FeeRule> rules, boolean compiled) {
+        this.evaluator = evaluator(rules, compiled);
+        this.ruleCount = rules.size();
+    }
+
+    @Autowired
+    public FeeRuleEngine(@Value("${feeextract.fee.rules-location:classpath:fee-rules.conf}") Resource rulesLocation,
+                         @Value("${feeextract.fee.compiled:true}") boolean compiled) throws IOException {
+        this(load(rulesLocation), compiled);
+        log.info("💰 수수료 규칙 {}개 로드 - {} ({})", ruleCount, rulesLocation.getDescription(),
+                compiled ? "컴파일" : "해석");
+    }
+
+    public static FeeEvaluator evaluator(List<FeeRule> rules, boolean compiled) {
+        return compiled ? new CompiledFeeEvaluator(rules) : new InterpretedFeeEvaluator(rules);
+    }
+
+    /**
+     * 배치 전체 행의 수수료 계산 (fee 컬럼에 기록)
+     */
+    public void apply(UserDataBatch batch) {
+        apply(batch, 0, batch.size());
+    }
+
+    /**
+     * 행 구간 [fromRow, toRow) 의 수수료 계산
+     */
+    public void apply(UserDataBatch batch, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            batch.setFee(row, evaluator.fee(batch, row));
+        }
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private static List<FeeRule> load(Resource rulesLocation) throws IOException {
+        try (Reader reader = new InputStreamReader(rulesLocation.getInputStream(), StandardCharsets.UTF_8)) {
+            return new FeeRuleParser(ZoneId.systemDefault()).parse(reader);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.test.feeextract.fee;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 수수료 규칙 파일 파서
+ * - 한 줄에 규칙 하나: 이름 | 조건 | 계산식 [min N] [max N]  (# 이후는 주석)
+ * - 조건: field op value 를 && 로 연결, * 는 항상 일치
+ *   department == SALES, department in (HR, FINANCE), amount >= 1000000, createdAt < 2025-01-01
+ * - 계산식: rate 1.5% | fixed 500 | tiered 0:2%, 1000000:1.5%
+ * - 한도는 min / max 만 가능, 요율/수수료는 음수 불가, 잘못된 줄은 줄 번호와 함께 IllegalArgumentException
+ */
+public final class FeeRuleParser {
+
+    private final ZoneId zone;
+
+    public FeeRuleParser(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public List<FeeRule> parse(Reader reader) throws IOException {
+        List<FeeRule> rules = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String text = (comment >= 0 ? line.substring(0, comment) : line).strip();
+            if (text.isEmpty()) {
+                continue;
+            }
+            try {
+                rules.add(parseRule(text));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("수수료 규칙 " + lineNumber + "번째 줄: " + e.getMessage(), e);
+            }
+        }
+        return rules;
+    }
+
+    public FeeRule parseRule(String text) {
+        String[] parts = text.split("\\|");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("'이름 | 조건 | 계산식' 형식이 아님: " + text);
+        }
+        String name = parts[0].strip();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("규칙 이름이 비어 있음");
+        }
+        return new FeeRule(name, parseConditions(parts[1].strip()), parseFormula(parts[2].strip()));
+    }
+
+    private List<FeeRule.Condition> parseConditions(String text) {
+        if (text.equals("*")) {
+            return List.of();
+        }
+        List<FeeRule.Condition> conditions = new ArrayList<>();
+        for (String term : text.split("&&")) {
+            conditions.add(parseCondition(term.strip()));
+        }
+        return conditions;
+    }
+
+    private FeeRule.Condition parseCondition(String term) {
+        String[] tokens = term.split("\\s+", 3);
+        if (tokens.length != 3) {
+            throw new IllegalArgumentException("'필드 연산자 값' 형식이 아님: " + term);
+        }
+        FeeRule.Field field = field(tokens[0]);
+        FeeRule.Operator operator = operator(tokens[1]);
+        List<String> values = operator == FeeRule.Operator.IN ? list(tokens[2]) : List.of(tokens[2].strip());
+
+        if (field == FeeRule.Field.DEPARTMENT) {
+            if (operator != FeeRule.Operator.EQ && operator != FeeRule.Operator.NE && operator != FeeRule.Operator.IN) {
+                throw new IllegalArgumentException("department 는 ==, !=, in 만 가능: " + term);
+            }
+            return FeeRule.Condition.text(field, operator, values);
+        }
+        long[] numbers = new long[values.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = field == FeeRule.Field.AMOUNT
+                    ? Long.parseLong(values.get(i))
+                    : LocalDate.parse(values.get(i)).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        return FeeRule.Condition.number(field, operator, numbers);
+    }
+
+    private FeeRule.Formula parseFormula(String text) {
+        // 계산식 뒤의 "단어 숫자" 쌍은 모두 한도로 보고 min/max 외에는 실패 (cap 100, mim 500 같은 오타가 조용히 무시되지 않도록)
+        String[] tokens = text.split("\\s+(?=\\p{Alpha}+\\s+-?\\d+(\\s|$))");
+        String[] head = tokens[0].strip().split("\\s+", 2);
+        if (head.length != 2) {
+            throw new IllegalArgumentException("'rate|fixed|tiered 값' 형식이 아님: " + text);
+        }
+        FeeRule.Formula formula = switch (head[0]) {
+            case "rate" -> FeeRule.Formula.rate(bps(head[1]));
+            case "fixed" -> FeeRule.Formula.fixed(nonNegative(Long.parseLong(head[1].strip())));
+            case "tiered" -> tiered(head[1]);
+            default -> throw new IllegalArgumentException("알 수 없는 계산식: " + head[0]);
+        };
+
+        long minFee = 0;
+        long maxFee = -1;
+        for (int i = 1; i < tokens.length; i++) {
+            String[] bound = tokens[i].strip().split("\\s+");
+            if (bound.length != 2) {
+                throw new IllegalArgumentException("'min N' 또는 'max N' 형식이 아님: " + tokens[i]);
+            }
+            switch (bound[0]) {
+                case "min" -> minFee = nonNegative(Long.parseLong(bound[1]));
+                case "max" -> maxFee = nonNegative(Long.parseLong(bound[1]));
+                default -> throw new IllegalArgumentException("알 수 없는 한도 (min, max 만 가능): " + bound[0]);
+            }
+        }
+        if (maxFee >= 0 && maxFee < minFee) {
+            throw new IllegalArgumentException("max 가 min 보다 작음: " + text);
+        }
+        return formula.withBounds(minFee, maxFee);
+    }
+
+    private FeeRule.Formula tiered(String text) {
+        String[] tiers = text.split(",");
+        long[] floors = new long[tiers.length];
+        long[] rates = new long[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            String[] tier = tiers[i].strip().split(":");
+            if (tier.length != 2) {
+                throw new IllegalArgumentException("'구간시작:요율%' 형식이 아님: " + tiers[i]);
+            }
+            floors[i] = Long.parseLong(tier[0].strip());
+            rates[i] = bps(tier[1]);
+            if (i == 0 ? floors[i] != 0 : floors[i] <= floors[i - 1]) {
+                throw new IllegalArgumentException("구간은 0 부터 시작해서 커져야 함: " + text);
+            }
+        }
+        return FeeRule.Formula.tiered(floors, rates);
+    }
+
+    // "1.25%" → 125 bp (0.01% 단위까지만 허용)
+    private static long bps(String text) {
+        String value = text.strip();
+        if (!value.endsWith("%")) {
+            throw new IllegalArgumentException("요율은 % 로 끝나야 함: " + value);
+        }
+        return nonNegative(new BigDecimal(value.substring(0, value.length() - 1).strip())
+                .movePointRight(2)
+                .longValueExact());
+    }
+
+    private static long nonNegative(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("음수 불가: " + value);
+        }
+        return value;
+    }
+
+    private static FeeRule.Field field(String token) {
+        return switch (token) {
+            case "department" -> FeeRule.Field.DEPARTMENT;
+            case "amount" -> FeeRule.Field.AMOUNT;
+            case "createdAt" -> FeeRule.Field.CREATED_AT;
+            default -> throw new IllegalArgumentException("알 수 없는 필드: " + token);
+        };
+    }
+
+    private static FeeRule.Operator operator(String token) {
+        return switch (token.toLowerCase(Locale.ROOT)) {
+            case "==" -> FeeRule.Operator.EQ;
+            case "!=" -> FeeRule.Operator.NE;
+            case "<" -> FeeRule.Operator.LT;
+            case "<=" -> FeeRule.Operator.LE;
+            case ">" -> FeeRule.Operator.GT;
+            case ">=" -> FeeRule.Operator.GE;
+            case "in" -> FeeRule.Operator.IN;
+            default -> throw new IllegalArgumentException("알 수 없는 연산자: " + token);
+        };
+    }
+
+    // "(HR, FINANCE)" → [HR, FINANCE]
+    private static List<String> list(String text) {
+        String value = text.strip();
+        if (!value.startsWith("(") || !value.endsWith(")")) {
+            throw new IllegalArgumentException("in 은 (a, b, ...) 형식: " + value);
+        }
+        return Arrays.stream(value.substring(1, value.length() - 1).split(","))
+                .map(String::strip)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
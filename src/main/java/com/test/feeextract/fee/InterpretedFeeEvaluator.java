@@ -0,0 +1,107 @@
+package com.test.feeextract.fee;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+import java.util.List;
+
+/**
+ * 규칙 트리를 행마다 해석하는 계산기 (비교 기준, 규칙 검증용)
+ * - 행마다 규칙/조건/계산식 종류를 분기하고 구간 요율도 매번 누적 계산
+ */
+public final class InterpretedFeeEvaluator implements FeeEvaluator {
+
+    private final List<FeeRule> rules;
+
+    public InterpretedFeeEvaluator(List<FeeRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    @Override
+    public long fee(UserDataBatch batch, int row) {
+        for (FeeRule rule : rules) {
+            if (matches(rule, batch, row)) {
+                return calculate(rule.formula(), batch.getAmount(row));
+            }
+        }
+        return 0;
+    }
+
+    private static boolean matches(FeeRule rule, UserDataBatch batch, int row) {
+        for (FeeRule.Condition condition : rule.conditions()) {
+            boolean matched = switch (condition.field()) {
+                case DEPARTMENT -> matchesText(condition, batch.departments(), row);
+                case AMOUNT -> matchesNumber(condition, batch.getAmount(row));
+                case CREATED_AT -> matchesNumber(condition, batch.getCreatedAtMillis(row));
+            };
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesText(FeeRule.Condition condition, UserDataBatch.StringColumn column, int row) {
+        boolean any = false;
+        for (String text : condition.texts()) {
+            if (sameText(column, row, text)) {
+                any = true;
+                break;
+            }
+        }
+        return condition.operator() == FeeRule.Operator.NE ? !any : any;
+    }
+
+    private static boolean sameText(UserDataBatch.StringColumn column, int row, String text) {
+        if (column.length(row) != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (column.byteAt(row, i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesNumber(FeeRule.Condition condition, long value) {
+        long[] numbers = condition.numbers();
+        return switch (condition.operator()) {
+            case EQ -> value == numbers[0];
+            case NE -> value != numbers[0];
+            case LT -> value < numbers[0];
+            case LE -> value <= numbers[0];
+            case GT -> value > numbers[0];
+            case GE -> value >= numbers[0];
+            case IN -> {
+                for (long number : numbers) {
+                    if (value == number) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+        };
+    }
+
+    static long calculate(FeeRule.Formula formula, long amount) {
+        long fee = switch (formula.kind()) {
+            case RATE -> amount * formula.rateBps()[0] / 10000;
+            case FIXED -> formula.fixedFee();
+            case TIERED -> {
+                long[] floors = formula.tierFloors();
+                long total = 0;
+                for (int i = 0; i < floors.length && amount > floors[i]; i++) {
+                    long upper = i + 1 < floors.length ? Math.min(amount, floors[i + 1]) : amount;
+                    total += (upper - floors[i]) * formula.rateBps()[i] / 10000;
+                }
+                yield total;
+            }
+        };
+        return clamp(fee, formula.minFee(), formula.maxFee());
+    }
+
+    static long clamp(long fee, long minFee, long maxFee) {
+        long bounded = maxFee >= 0 ? Math.min(fee, maxFee) : fee;
+        return Math.max(bounded, minFee);
+    }
+}
@@ -0,0 +1,22 @@
+package com.test.feeextract.jobstore;
+
+import com.test.feeextract.domain.JobInfo;
+
+import java.util.List;
+
+/**
+ * 작업 이력 저장소 (재시작 후나 다른 인스턴스에서도 작업 조회 가능)
+ * - 쓰기는 JobStoreWriter 가 모아서 배치로만 호출하므로 작업 스레드가 저장소를 기다리지 않음
+ */
+public interface JobStore {
+
+    /**
+     * 작업 스냅샷 일괄 저장 (있으면 덮어씀)
+     */
+    void saveAll(List<JobInfo> jobs);
+
+    /**
+     * 저장된 작업 (없으면 null)
+     */
+    JobInfo find(String jobId);
+}
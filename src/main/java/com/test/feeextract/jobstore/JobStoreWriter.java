@@ -0,0 +1,104 @@
+package com.test.feeextract.jobstore;
+
+import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.service.JobUpdateListener;
+import com.test.feeextract.service.SimpleAsyncService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업 상태 write-behind 기록기
+ * - 작업 스레드는 "변경됨" 표시만 하고 (집합에 ID 추가), 스케줄러가 flush-interval 마다 최신 스냅샷을 한 번에 저장
+ * - 같은 작업의 갱신이 여러 번 와도 flush 한 번에 한 행만 씀 (진행률 갱신이 잦아도 DB 쓰기는 작업 수 × flush 횟수 이하)
+ * - 저장 실패 시 다음 flush 에 다시 시도
+ */
+@Component
+@ConditionalOnProperty(name = "feeextract.jobs.store", havingValue = "jpa")
+@Slf4j
+public class JobStoreWriter implements JobUpdateListener {
+
+    private final SimpleAsyncService asyncService;
+    private final JobStore jobStore;
+
+    // 마지막 flush 이후 바뀐 작업
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder updates = new LongAdder();
+    private final AtomicLong writtenJobs = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    public JobStoreWriter(SimpleAsyncService asyncService, JobStore jobStore) {
+        this.asyncService = asyncService;
+        this.jobStore = jobStore;
+        asyncService.addListener(this);
+    }
+
+    @Override
+    public void onJobUpdated(String jobId) {
+        updates.increment();
+        dirty.add(jobId);
+    }
+
+    /**
+     * 바뀐 작업의 최신 스냅샷 저장 (ID 를 먼저 빼고 스냅샷을 읽으므로 그 사이 갱신은 다음 flush 에 다시 기록됨)
+     * @return 저장한 작업 수
+     */
+    @Scheduled(fixedDelayString = "${feeextract.jobs.flush-interval-ms:500}")
+    public synchronized int flush() {
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+        List<JobInfo> snapshots = new ArrayList<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String jobId = it.next();
+            it.remove();
+            JobInfo job = asyncService.getLocalJob(jobId);
+            if (job != null) {
+                snapshots.add(job);
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            jobStore.saveAll(snapshots);
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+            snapshots.forEach(job -> dirty.add(job.getJobId()));
+            log.warn("작업 이력 저장 실패, 다음 주기에 재시도 - {}건: {}", snapshots.size(), e.getMessage());
+            return 0;
+        }
+        writtenJobs.addAndGet(snapshots.size());
+        if (log.isDebugEnabled()) {
+            log.debug("작업 이력 저장 - {}건, {}ms (누적 갱신 {}회 → 저장 {}건)", snapshots.size(),
+                    (System.nanoTime() - start) / 1_000_000, updates.sum(), writtenJobs.get());
+        }
+        return snapshots.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    public long getWrittenCount() {
+        return writtenJobs.get();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushes.get();
+    }
+}
@@ -0,0 +1,187 @@
+package com.test.feeextract.jobstore;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.entity.JobHistory;
+import com.test.feeextract.mapper.JobHistoryMapper;
+import com.test.feeextract.repository.JobHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * H2 작업 이력 저장소 (feeextract.jobs.store=jpa)
+ * - 쓰기: 스냅샷 묶음을 한 트랜잭션에서 MERGE 문 몇 개로 upsert (MyBatis)
+ * - 읽기/스키마: JPA 엔티티 JobHistory
+ * - 행마다 소유 프로세스(인스턴스 ID + PID)를 기록하고, 진행 중인 작업은 heartbeat 로 갱신 시각을 계속 연장
+ * - owner-timeout 동안 갱신이 없는 진행 중 작업만 (소유 프로세스가 죽은 것) 실패로 표시 (시작 시 + 주기적으로)
+ *   → 같은 DB 를 쓰는 다른 인스턴스가 시작돼도 살아 있는 인스턴스의 작업은 건드리지 않음 (스트리밍 작업은 체크포인트로 재개 가능)
+ * - 인스턴스 ID(feeextract.jobs.instance-id)는 인스턴스마다 직접 지정해야 시작됨 (호스트 이름 기본값 없음)
+ * - 종료 후 history-retention 이 지난 이력은 주기적으로 삭제 (파일 DB 가 끝없이 커지지 않도록)
+ */
+@Component
+@ConditionalOnProperty(name = "feeextract.jobs.store", havingValue = "jpa")
+@Slf4j
+public class JpaJobStore implements JobStore {
+
+    // MERGE 문 하나에 넣는 최대 행 수
+    private static final int UPSERT_CHUNK = 500;
+    private static final List<JobStatus> ACTIVE = List.of(JobStatus.WAITING, JobStatus.RUNNING);
+    private static final TypeReference<LinkedHashMap<String, String>> DETAILS_TYPE = new TypeReference<>() {
+    };
+
+    private final JobHistoryRepository repository;
+    private final JobHistoryMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String owner;
+    private final Duration ownerTimeout;
+    private final Duration historyRetention;
+
+    public JpaJobStore(JobHistoryRepository repository,
+                       JobHistoryMapper mapper,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${feeextract.jobs.instance-id:}") String instanceId,
+                       @Value("${feeextract.jobs.owner-timeout:30s}") Duration ownerTimeout,
+                       @Value("${feeextract.jobs.history-retention:7d}") Duration historyRetention) {
+        if (instanceId.isBlank()) {
+            // 호스트 이름을 기본값으로 쓰면 한 머신의 인스턴스들이 같은 ID 를 씀
+            throw new IllegalStateException(
+                    "feeextract.jobs.store=jpa 는 인스턴스마다 다른 feeextract.jobs.instance-id 지정 필요");
+        }
+        this.repository = repository;
+        this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.owner = instanceId + "#" + ProcessHandle.current().pid();
+        this.ownerTimeout = ownerTimeout;
+        this.historyRetention = historyRetention;
+    }
+
+    /**
+     * 이 프로세스가 진행 중인 작업의 갱신 시각 연장 (owner-timeout 보다 충분히 짧은 주기)
+     */
+    @Scheduled(fixedDelayString = "${feeextract.jobs.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        transactionTemplate.executeWithoutResult(status ->
+                repository.touchActive(owner, ACTIVE, LocalDateTime.now()));
+    }
+
+    /**
+     * 소유 프로세스가 owner-timeout 동안 갱신하지 않은 진행 중 작업을 실패로 표시
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${feeextract.jobs.interrupted-check-interval-ms:30000}")
+    public void markInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer interrupted = transactionTemplate.execute(status -> repository.markInterrupted(owner, ACTIVE,
+                now.minus(ownerTimeout), JobStatus.FAILED,
+                "실행하던 인스턴스가 중단됨 (스트리밍 작업은 체크포인트에서 재개 가능)", now));
+        if (interrupted != null && interrupted > 0) {
+            log.warn("⚠️ {} 넘게 갱신이 없는 진행 중 작업 {}건을 중단됨으로 표시", ownerTimeout, interrupted);
+        }
+    }
+
+    /**
+     * 보존 기간이 지난 종료 작업 이력 삭제 (여러 인스턴스가 같이 실행해도 무방)
+     * @return 삭제한 행 수
+     */
+    @Scheduled(fixedDelayString = "${feeextract.jobs.history-cleanup-interval-ms:600000}")
+    public int deleteExpiredHistory() {
+        LocalDateTime before = LocalDateTime.now().minus(historyRetention);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteFinishedBefore(
+                List.of(JobStatus.COMPLETED, JobStatus.FAILED), before));
+        if (deleted != null && deleted > 0) {
+            log.info("🧹 보존 기간이 지난 작업 이력 삭제 - {}건 ({} 이전 종료)", deleted, before);
+        }
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public void saveAll(List<JobInfo> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<JobHistory> rows = new ArrayList<>(jobs.size());
+        for (JobInfo job : jobs) {
+            rows.add(toHistory(job, now));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += UPSERT_CHUNK) {
+                mapper.upsertAll(rows.subList(from, Math.min(rows.size(), from + UPSERT_CHUNK)));
+            }
+        });
+    }
+
+    @Override
+    public JobInfo find(String jobId) {
+        return repository.findById(jobId).map(this::toJobInfo).orElse(null);
+    }
+
+    private JobHistory toHistory(JobInfo job, LocalDateTime now) {
+        return JobHistory.builder()
+                .jobId(job.getJobId())
+                .taskName(job.getTaskName())
+                .status(job.getStatus())
+                .progress(job.getProgress())
+                .message(job.getMessage())
+                .details(writeDetails(job.getDetails()))
+                .startTime(job.getStartTime())
+                .endTime(job.getEndTime())
+                .instanceId(owner)
+                .updatedAt(now)
+                .build();
+    }
+
+    private JobInfo toJobInfo(JobHistory history) {
+        return JobInfo.builder()
+                .jobId(history.getJobId())
+                .taskName(history.getTaskName())
+                .status(history.getStatus())
+                .progress(history.getProgress())
+                .message(history.getMessage())
+                .startTime(history.getStartTime())
+                .endTime(history.getEndTime())
+                .details(readDetails(history.getDetails()))
+                .build();
+    }
+
+    private String writeDetails(Map<String, String> details) {
+        if (details == null || details.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("작업 부가 정보 직렬화 실패", e);
+        }
+    }
+
+    private Map<String, String> readDetails(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, DETAILS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("작업 부가 정보 해석 실패 - {}", e.getMessage());
+            return Map.of();
+        }
+    }
+}
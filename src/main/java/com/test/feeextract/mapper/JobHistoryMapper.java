@@ -0,0 +1,26 @@
+package com.test.feeextract.mapper;
+
+import com.test.feeextract.entity.JobHistory;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 작업 이력 쓰기용 MyBatis 매퍼
+ * - JPA save 는 id 를 직접 지정한 엔티티마다 SELECT 후 merge 하므로, 여러 행을 MERGE 문 하나로 upsert
+ */
+@Mapper
+public interface JobHistoryMapper {
+
+    @Insert("<script>"
+            + "MERGE INTO job_history (job_id, task_name, status, progress, message, details, start_time, end_time, "
+            + "instance_id, updated_at) KEY (job_id) VALUES "
+            + "<foreach collection='jobs' item='job' separator=','>"
+            + "(#{job.jobId}, #{job.taskName}, #{job.status}, #{job.progress}, #{job.message}, #{job.details}, "
+            + "#{job.startTime}, #{job.endTime}, #{job.instanceId}, #{job.updatedAt})"
+            + "</foreach>"
+            + "</script>")
+    int upsertAll(@Param("jobs") List<JobHistory> jobs);
+}
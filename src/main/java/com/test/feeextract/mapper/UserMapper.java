@@ -0,0 +1,44 @@
+package com.test.feeextract.mapper;
+
+import com.test.feeextract.entity.User;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+/**
+ * User 조회용 MyBatis 매퍼 (대량 추출 전용, 엔티티를 영속성 컨텍스트에 올리지 않음)
+ */
+@Mapper
+public interface UserMapper {
+
+    /**
+     * 전체 User 를 id 순서로 커서 조회
+     * - forward-only 결과셋, fetch size 는 mybatis.configuration.default-fetch-size
+     * - 트랜잭션(열린 SqlSession) 안에서만 순회 가능
+     */
+    @Select("SELECT id, name, email, department, amount, created_at FROM users ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<User> streamAll();
+
+    /**
+     * id 범위 [lower, upper) 커서 조회 (키셋 파티션 병렬 추출용, id 인덱스 범위 스캔)
+     */
+    @Select("SELECT id, name, email, department, amount, created_at FROM users WHERE id >= #{lower} AND id < #{upper} ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<User> streamRange(@Param("lower") long lower, @Param("upper") long upper);
+
+    @Select("SELECT MIN(id) FROM users")
+    Long selectMinId();
+
+    @Select("SELECT MAX(id) FROM users")
+    Long selectMaxId();
+
+    /**
+     * id 순서로 offset 번째 행의 id (분위수 경계 계산용)
+     */
+    @Select("SELECT id FROM users ORDER BY id LIMIT 1 OFFSET #{offset}")
+    Long selectIdAtOffset(@Param("offset") long offset);
+}
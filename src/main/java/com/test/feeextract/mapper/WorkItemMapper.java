@@ -0,0 +1,89 @@
+package com.test.feeextract.mapper;
+
+import com.test.feeextract.entity.WorkItem;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 분산 파티션 작업 테이블 매퍼
+ * - 점유/갱신/완료는 모두 조건부 UPDATE 한 문장 (영향 행 수 1 이면 성공, 0 이면 다른 노드가 먼저 가져갔거나 임대를 잃음)
+ * - 각 문장은 트랜잭션 없이 바로 커밋됨
+ */
+@Mapper
+public interface WorkItemMapper {
+
+    @Insert("<script>"
+            + "INSERT INTO work_item (id, job_id, partition_no, range_start, range_end, status, lease_owner, lease_until, "
+            + "attempts, processed, fee_total, created_at, updated_at) VALUES "
+            + "<foreach collection='items' item='item' separator=','>"
+            + "(#{item.id}, #{item.jobId}, #{item.partitionNo}, #{item.rangeStart}, #{item.rangeEnd}, #{item.status}, "
+            + "NULL, NULL, 0, 0, 0, #{item.createdAt}, #{item.updatedAt})"
+            + "</foreach>"
+            + "</script>")
+    int insertAll(@Param("items") List<WorkItem> items);
+
+    /**
+     * 점유 가능한 파티션 (대기 중이거나 임대가 만료된 것, 먼저 등록된 작업부터)
+     */
+    @Select("SELECT * FROM work_item WHERE attempts < #{maxAttempts} "
+            + "AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < #{now})) "
+            + "ORDER BY created_at, partition_no LIMIT #{limit}")
+    List<WorkItem> findClaimable(@Param("now") long now, @Param("maxAttempts") int maxAttempts,
+                                 @Param("limit") int limit);
+
+    /**
+     * 파티션 점유 (조회 후 다른 노드가 먼저 점유했으면 0)
+     */
+    @Update("UPDATE work_item SET status = 'CLAIMED', lease_owner = #{owner}, lease_until = #{leaseUntil}, "
+            + "attempts = attempts + 1, updated_at = #{now} "
+            + "WHERE id = #{id} AND attempts < #{maxAttempts} "
+            + "AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < #{now}))")
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("now") long now,
+              @Param("leaseUntil") long leaseUntil, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 임대 연장 + 진행 상황 기록 (임대를 잃었으면 0)
+     */
+    @Update("UPDATE work_item SET lease_until = #{leaseUntil}, processed = #{processed}, fee_total = #{feeTotal}, "
+            + "updated_at = #{now} WHERE id = #{id} AND lease_owner = #{owner} AND status = 'CLAIMED'")
+    int renew(@Param("id") String id, @Param("owner") String owner, @Param("now") long now,
+              @Param("leaseUntil") long leaseUntil, @Param("processed") long processed,
+              @Param("feeTotal") long feeTotal);
+
+    @Update("UPDATE work_item SET status = 'DONE', lease_until = NULL, processed = #{processed}, "
+            + "fee_total = #{feeTotal}, updated_at = #{now} "
+            + "WHERE id = #{id} AND lease_owner = #{owner} AND status = 'CLAIMED'")
+    int complete(@Param("id") String id, @Param("owner") String owner, @Param("now") long now,
+                 @Param("processed") long processed, @Param("feeTotal") long feeTotal);
+
+    /**
+     * 처리 중 오류로 반납 (다른 노드가 다시 점유, 시도 횟수는 그대로 누적)
+     */
+    @Update("UPDATE work_item SET status = 'PENDING', lease_owner = NULL, lease_until = NULL, updated_at = #{now} "
+            + "WHERE id = #{id} AND lease_owner = #{owner} AND status = 'CLAIMED'")
+    int release(@Param("id") String id, @Param("owner") String owner, @Param("now") long now);
+
+    /**
+     * 최대 시도 횟수를 다 쓴 파티션 실패 처리
+     */
+    @Update("UPDATE work_item SET status = 'FAILED', lease_owner = NULL, lease_until = NULL, updated_at = #{now} "
+            + "WHERE attempts >= #{maxAttempts} "
+            + "AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < #{now}))")
+    int failExhausted(@Param("now") long now, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 집계 대상 후보 작업 ID (처리 중인 파티션이 있거나 updatedSince 이후 갱신된 작업, createdBefore 이전에 등록된 것만)
+     */
+    @Select("SELECT DISTINCT job_id FROM work_item WHERE created_at <= #{createdBefore} "
+            + "AND (status IN ('PENDING', 'CLAIMED') OR updated_at >= #{updatedSince})")
+    List<String> findRecentJobIds(@Param("createdBefore") long createdBefore,
+                                  @Param("updatedSince") long updatedSince);
+
+    @Select("SELECT * FROM work_item WHERE job_id = #{jobId} ORDER BY partition_no")
+    List<WorkItem> findByJobId(@Param("jobId") String jobId);
+}
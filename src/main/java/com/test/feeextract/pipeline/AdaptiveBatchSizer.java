@@ -0,0 +1,189 @@
+package com.test.feeextract.pipeline;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GC/지연 피드백으로 배치 크기를 조절하는 컨트롤러 (AIMD)
+ * - windowBatches 배치마다 구간 동안의 GC 일시정지, 할당률, 배치 지연, 처리량을 보고 다음 크기를 정함
+ * - 일시정지가 SLO 를 넘으면 절반, 배치 지연이 목표를 넘으면 3/4 로 줄임 (곱셈 감소)
+ * - 그 외에는 step 씩 늘리되, 늘렸더니 처리량이 떨어지면 되돌리고 그 크기를 상한으로 기억 (덧셈 증가)
+ * - GC 지표는 JVM 전체 값이라 동시에 도는 다른 작업의 영향도 포함됨
+ */
+public class AdaptiveBatchSizer {
+
+    // 최근 결정 기록 개수 (수렴 과정 확인용)
+    private static final int HISTORY_SIZE = 10;
+    // 늘린 뒤 처리량이 이 비율 아래로 떨어지면 되돌림 (측정 잡음 여유)
+    private static final double DEGRADE_RATIO = 0.95;
+
+    /**
+     * GC/할당 누적값 (allocatedBytes 는 측정 불가면 -1)
+     */
+    public record GcSample(long collections, long collectionMillis, long allocatedBytes) {
+    }
+
+    /**
+     * GC/할당 누적값 조회 (테스트에서 대체)
+     */
+    public interface GcProbe {
+        GcSample sample();
+    }
+
+    private final BatchSizingSettings settings;
+    private final GcProbe probe;
+
+    private volatile int currentSize;
+    private volatile String lastDecision = "초기값";
+
+    // 아래 구간 상태는 this 로 보호
+    private GcSample windowStart;
+    private long windowStartNanos;
+    private int windowBatches;
+    private long windowRows;
+    private long windowLatencyNanos;
+    private int previousSize;
+    private double previousThroughput;
+    private boolean grewLastWindow;
+    private int ceiling;
+    private final Deque<Integer> history = new ArrayDeque<>();
+
+    public AdaptiveBatchSizer(BatchSizingSettings settings) {
+        this(settings, mxBeanProbe());
+    }
+
+    public AdaptiveBatchSizer(BatchSizingSettings settings, GcProbe probe) {
+        this.settings = settings;
+        this.probe = probe;
+        this.currentSize = settings.initialSize();
+        this.ceiling = settings.maxSize();
+        this.history.add(currentSize);
+        startWindow();
+    }
+
+    /**
+     * 다음 배치에 쓸 크기
+     */
+    public int currentSize() {
+        return currentSize;
+    }
+
+    /**
+     * 배치 1개 처리 결과 기록, 구간이 차면 크기 재조정
+     */
+    public synchronized void recordBatch(int rows, long latencyNanos) {
+        windowBatches++;
+        windowRows += rows;
+        windowLatencyNanos += latencyNanos;
+        if (windowBatches >= settings.windowBatches()) {
+            adjust();
+            startWindow();
+        }
+    }
+
+    /**
+     * 현재 크기, 최근 결정 이유와 크기 변화 (JobInfo details 용)
+     */
+    public synchronized Map<String, String> describe() {
+        Map<String, String> details = new LinkedHashMap<>();
+        details.put("batch.size", String.format("%,d", currentSize));
+        details.put("batch.decision", lastDecision);
+        details.put("batch.history", history.stream().map(String::valueOf).reduce((a, b) -> a + " → " + b).orElse(""));
+        return details;
+    }
+
+    private void adjust() {
+        GcSample now = probe.sample();
+        long elapsedNanos = Math.max(1, System.nanoTime() - windowStartNanos);
+        long collections = now.collections() - windowStart.collections();
+        long collectionMillis = now.collectionMillis() - windowStart.collectionMillis();
+        double avgPauseMillis = collections > 0 ? (double) collectionMillis / collections : 0;
+        double allocationMbPerSec = now.allocatedBytes() >= 0 && windowStart.allocatedBytes() >= 0
+                ? (now.allocatedBytes() - windowStart.allocatedBytes()) / 1024.0 / 1024.0 * 1e9 / elapsedNanos
+                : -1;
+        double throughput = windowRows * 1e9 / elapsedNanos;
+        double avgLatencyMillis = windowLatencyNanos / 1e6 / windowBatches;
+
+        int size = currentSize;
+        int next;
+        String reason;
+        if (avgPauseMillis > settings.gcPauseSloMillis()) {
+            next = size / 2;
+            ceiling = Math.max(settings.minSize(), next);
+            reason = String.format("GC 일시정지 %.1fms > SLO %dms → 절반", avgPauseMillis, settings.gcPauseSloMillis());
+        } else if (settings.batchLatencyMillis() > 0 && avgLatencyMillis > settings.batchLatencyMillis()) {
+            next = size * 3 / 4;
+            ceiling = Math.max(settings.minSize(), next);
+            reason = String.format("배치 지연 %.1fms > 목표 %dms → 축소", avgLatencyMillis, settings.batchLatencyMillis());
+        } else if (grewLastWindow && throughput < previousThroughput * DEGRADE_RATIO) {
+            next = previousSize;
+            ceiling = previousSize;
+            reason = String.format("증가 후 처리량 감소 (%,.0f → %,.0f건/초) → 되돌림", previousThroughput, throughput);
+        } else if (settings.throughputTarget() > 0 && throughput >= settings.throughputTarget()) {
+            next = size;
+            reason = String.format("처리량 목표 달성 (%,.0f건/초) → 유지", throughput);
+        } else if (settings.maxAllocationRateMb() > 0 && allocationMbPerSec > settings.maxAllocationRateMb()) {
+            next = size;
+            reason = String.format("할당률 %,.0fMB/초 > 상한 → 유지", allocationMbPerSec);
+        } else if (size + settings.step() > ceiling) {
+            next = size;
+            // 상한에 머무는 동안 조금씩 상한을 풀어서 부하가 바뀌면 다시 탐색
+            ceiling = Math.min(settings.maxSize(), ceiling + settings.step() / 2);
+            reason = String.format("처리량 정점 부근 (%,.0f건/초) → 유지", throughput);
+        } else {
+            next = size + settings.step();
+            reason = String.format("처리량 %,.0f건/초 → 증가", throughput);
+        }
+        next = Math.min(settings.maxSize(), Math.max(settings.minSize(), next));
+
+        grewLastWindow = next > size;
+        previousSize = size;
+        previousThroughput = throughput;
+        currentSize = next;
+        lastDecision = String.format("%s (GC %d회 평균 %.1fms, 할당 %s, 배치 지연 %.1fms)", reason, collections,
+                avgPauseMillis, allocationMbPerSec >= 0 ? String.format("%,.0fMB/초", allocationMbPerSec) : "측정 불가",
+                avgLatencyMillis);
+        if (next != size) {
+            history.addLast(next);
+            if (history.size() > HISTORY_SIZE) {
+                history.removeFirst();
+            }
+        }
+    }
+
+    private void startWindow() {
+        windowStart = probe.sample();
+        windowStartNanos = System.nanoTime();
+        windowBatches = 0;
+        windowRows = 0;
+        windowLatencyNanos = 0;
+    }
+
+    /**
+     * GarbageCollectorMXBean 누적 수집 횟수/시간 + 전체 스레드 할당 바이트
+     * - 동시 수집 단계를 따로 보고하는 빈(G1 Concurrent GC, ZGC ... Cycles)은 일시정지가 아니므로 제외
+     */
+    public static GcProbe mxBeanProbe() {
+        List<GarbageCollectorMXBean> pauseBeans = ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .filter(bean -> !bean.getName().contains("Concurrent") && !bean.getName().contains("Cycles"))
+                .toList();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = threads instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+        return () -> {
+            long collections = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean bean : pauseBeans) {
+                collections += Math.max(0, bean.getCollectionCount());
+                millis += Math.max(0, bean.getCollectionTime());
+            }
+            return new GcSample(collections, millis, allocation != null ? allocation.getTotalThreadAllocatedBytes() : -1);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.test.feeextract.pipeline;
+
+/**
+ * 적응형 배치 크기 설정
+ * @param minSize              최소 배치 크기
+ * @param maxSize              최대 배치 크기 (메모리 예산 추정에도 사용)
+ * @param initialSize          시작 배치 크기
+ * @param step                 한 번에 늘리는 양 (줄일 때는 배율로 줄임)
+ * @param windowBatches        몇 배치마다 크기를 다시 정할지
+ * @param gcPauseSloMillis     평균 GC 일시정지 허용치, 넘으면 절반으로 줄임
+ * @param batchLatencyMillis   배치 1개 처리 지연 허용치, 넘으면 3/4 로 줄임 (0 이면 사용 안 함)
+ * @param throughputTarget     목표 처리량(건/초), 달성하면 더 키우지 않음 (0 이면 처리량이 더 오르지 않을 때까지 키움)
+ * @param maxAllocationRateMb  할당률 상한(MB/초), 넘으면 더 키우지 않음 (0 이면 사용 안 함)
+ */
+public record BatchSizingSettings(int minSize, int maxSize, int initialSize, int step, int windowBatches,
+                                  long gcPauseSloMillis, long batchLatencyMillis, long throughputTarget,
+                                  long maxAllocationRateMb) {
+
+    public static final BatchSizingSettings DEFAULT =
+            new BatchSizingSettings(250, 20000, 1000, 500, 10, 50, 200, 0, 0);
+
+    public BatchSizingSettings {
+        minSize = Math.max(1, minSize);
+        maxSize = Math.max(minSize, maxSize);
+        initialSize = Math.min(maxSize, Math.max(minSize, initialSize));
+        step = Math.max(1, step);
+        windowBatches = Math.max(1, windowBatches);
+    }
+
+    /**
+     * 크기 고정 (적응 없이 항상 size)
+     */
+    public static BatchSizingSettings fixed(int size) {
+        return new BatchSizingSettings(size, size, size, 1, Integer.MAX_VALUE, Long.MAX_VALUE, 0, 0, 0);
+    }
+}
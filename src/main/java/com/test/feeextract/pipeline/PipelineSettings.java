@@ -0,0 +1,30 @@
+package com.test.feeextract.pipeline;
+
+/**
+ * 단계별 파이프라인 설정
+ * @param queueCapacity         단계 사이 링 버퍼 용량 (항목 수, 2의 거듭제곱으로 올림)
+ * @param sourceParallelism     생성(source) 스레드 수
+ * @param transformParallelism  변환(transform) 스레드 수
+ * @param sinkParallelism       적재(sink) 스레드 수
+ */
+public record PipelineSettings(int queueCapacity, int sourceParallelism, int transformParallelism,
+                               int sinkParallelism) {
+
+    public static final PipelineSettings DEFAULT = new PipelineSettings(8, 1, 2, 1);
+
+    public PipelineSettings {
+        queueCapacity = Math.max(1, queueCapacity);
+        sourceParallelism = Math.max(1, sourceParallelism);
+        transformParallelism = Math.max(1, transformParallelism);
+        sinkParallelism = Math.max(1, sinkParallelism);
+    }
+
+    /**
+     * 동시에 살아 있을 수 있는 최대 항목 수 (두 큐가 가득 차고 모든 스레드가 하나씩 들고 있는 경우)
+     * - 메모리 예산 추정에 사용
+     */
+    public int maxInFlight() {
+        int roundedCapacity = new RingBuffer<>(queueCapacity).capacity();
+        return 2 * roundedCapacity + sourceParallelism + transformParallelism + sinkParallelism;
+    }
+}
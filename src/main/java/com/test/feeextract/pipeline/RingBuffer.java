@@ -0,0 +1,93 @@
+package com.test.feeextract.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 락 없는 고정 크기 MPMC 링 버퍼 (Vyukov bounded queue)
+ * - 슬롯마다 시퀀스 번호를 두고, 생산자/소비자는 head/tail 을 CAS 로 하나씩 차지
+ * - 가득 차면 offer 가 false, 비어 있으면 poll 이 null (대기는 호출하는 쪽에서 결정 → 백프레셔)
+ * - 용량은 2의 거듭제곱으로 올림
+ */
+public class RingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();   // 다음에 넣을 위치
+    private final AtomicLong head = new AtomicLong();   // 다음에 꺼낼 위치
+
+    public RingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + requestedCapacity);
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 넣기 (가득 차 있으면 false)
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);   // 소비자에게 공개
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;   // 한 바퀴 전 항목이 아직 안 빠짐 = 가득 참
+            } else {
+                Thread.onSpinWait();   // 다른 생산자가 먼저 차지함, 다시 읽기
+            }
+        }
+    }
+
+    /**
+     * 꺼내기 (비어 있으면 null)
+     */
+    public E poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = slots.get(index);
+                    slots.lazySet(index, null);
+                    sequences.set(index, position + mask + 1);   // 다음 바퀴 생산자에게 반납
+                    return element;
+                }
+            } else if (diff < 0) {
+                return null;   // 아직 채워지지 않음 = 비어 있음
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * 현재 항목 수 (동시 수정 중에는 근사값)
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
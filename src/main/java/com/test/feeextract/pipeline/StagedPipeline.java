@@ -0,0 +1,239 @@
+package com.test.feeextract.pipeline;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * source → transform → sink 3단계 파이프라인
+ * - 단계 사이는 고정 크기 RingBuffer, 단계마다 스레드 수를 따로 지정
+ * - 다음 큐가 가득 차면 앞 단계가 기다림 (sink 가 느리면 transform, source 순으로 멈춤) → 메모리 사용량 상한 = maxInFlight 항목
+ * - 단계별 처리량/대기 시간과 큐 깊이를 details 맵으로 제공
+ * - 항목은 변환 단계에서 제자리 수정 (배치 객체가 그대로 다음 단계로 넘어감)
+ */
+public class StagedPipeline<T> {
+
+    // 빈 큐/가득 찬 큐에서 바로 잠들지 않고 돌아볼 횟수
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final PipelineSettings settings;
+    private final Supplier<T> source;
+    private final Consumer<T> transform;
+    private final Consumer<T> sink;
+    private final ToIntFunction<T> weight;
+
+    private final RingBuffer<T> transformQueue;
+    private final RingBuffer<T> sinkQueue;
+    private final StageStats sourceStats = new StageStats();
+    private final StageStats transformStats = new StageStats();
+    private final StageStats sinkStats = new StageStats();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean sourceDone;
+    private volatile boolean transformDone;
+    private volatile long startNanos;
+
+    /**
+     * @param source    다음 항목 생성 (여러 스레드가 동시에 호출, 끝나면 null)
+     * @param transform 항목 변환
+     * @param sink      항목 적재/소비
+     * @param weight    처리량 집계 단위 (배치 항목이면 배치 건수)
+     */
+    public StagedPipeline(PipelineSettings settings, Supplier<T> source, Consumer<T> transform,
+                          Consumer<T> sink, ToIntFunction<T> weight) {
+        this.settings = settings;
+        this.source = source;
+        this.transform = transform;
+        this.sink = sink;
+        this.weight = weight;
+        this.transformQueue = new RingBuffer<>(settings.queueCapacity());
+        this.sinkQueue = new RingBuffer<>(settings.queueCapacity());
+    }
+
+    /**
+     * 파이프라인 실행 (모든 단계가 끝날 때까지 대기)
+     * - 대기하는 동안 reportInterval 마다 reporter 호출 (진행률/details 갱신용)
+     * - 한 단계라도 실패하면 나머지 단계를 멈추고 예외 전달
+     * @param executor 단계 스레드 실행기 (항목을 기다리며 스레드를 점유하므로 제한 없는 풀이어야 함)
+     */
+    public void run(Executor executor, Duration reportInterval, Runnable reporter) throws InterruptedException {
+        int workers = settings.sourceParallelism() + settings.transformParallelism() + settings.sinkParallelism();
+        CountDownLatch finished = new CountDownLatch(workers);
+        AtomicInteger sourcesLeft = new AtomicInteger(settings.sourceParallelism());
+        AtomicInteger transformsLeft = new AtomicInteger(settings.transformParallelism());
+        startNanos = System.nanoTime();
+
+        for (int i = 0; i < settings.sourceParallelism(); i++) {
+            executor.execute(worker(finished, this::runSource, () -> {
+                if (sourcesLeft.decrementAndGet() == 0) {
+                    sourceDone = true;
+                }
+            }));
+        }
+        for (int i = 0; i < settings.transformParallelism(); i++) {
+            executor.execute(worker(finished, this::runTransform, () -> {
+                if (transformsLeft.decrementAndGet() == 0) {
+                    transformDone = true;
+                }
+            }));
+        }
+        for (int i = 0; i < settings.sinkParallelism(); i++) {
+            executor.execute(worker(finished, this::runSink, () -> { }));
+        }
+
+        try {
+            while (!finished.await(reportInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                reporter.run();
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);   // 단계 스레드도 멈추게 함
+            throw e;
+        }
+        reporter.run();
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("파이프라인 단계 실패: " + error.getMessage(), error);
+        }
+    }
+
+    /**
+     * 단계별 처리 건수/처리량/대기 시간, 큐 깊이
+     */
+    public Map<String, String> describe() {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        Map<String, String> details = new LinkedHashMap<>();
+        details.put("source", sourceStats.describe(elapsed, settings.sourceParallelism()));
+        details.put("queue.transform", transformQueue.size() + "/" + transformQueue.capacity());
+        details.put("transform", transformStats.describe(elapsed, settings.transformParallelism()));
+        details.put("queue.sink", sinkQueue.size() + "/" + sinkQueue.capacity());
+        details.put("sink", sinkStats.describe(elapsed, settings.sinkParallelism()));
+        return details;
+    }
+
+    /**
+     * sink 까지 끝난 건수
+     */
+    public long completed() {
+        return sinkStats.records.sum();
+    }
+
+    private Runnable worker(CountDownLatch finished, Runnable body, Runnable onExit) {
+        return () -> {
+            try {
+                body.run();
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                onExit.run();
+                finished.countDown();
+            }
+        };
+    }
+
+    private void runSource() {
+        while (failure.get() == null) {
+            T item = source.get();
+            if (item == null) {
+                return;
+            }
+            sourceStats.records.add(weight.applyAsInt(item));
+            put(transformQueue, item, sourceStats);
+        }
+    }
+
+    private void runTransform() {
+        T item;
+        while ((item = take(transformQueue, () -> sourceDone, transformStats)) != null) {
+            transform.accept(item);
+            transformStats.records.add(weight.applyAsInt(item));
+            put(sinkQueue, item, transformStats);
+        }
+    }
+
+    private void runSink() {
+        T item;
+        while ((item = take(sinkQueue, () -> transformDone, sinkStats)) != null) {
+            int count = weight.applyAsInt(item);
+            sink.accept(item);
+            sinkStats.records.add(count);
+        }
+    }
+
+    // 큐에 자리가 날 때까지 대기 (백프레셔), 대기 시간은 넣는 단계의 blocked 로 집계
+    private void put(RingBuffer<T> queue, T item, StageStats stats) {
+        if (queue.offer(item)) {
+            return;
+        }
+        long waitStart = System.nanoTime();
+        int tries = 0;
+        while (!queue.offer(item)) {
+            checkFailure();
+            backoff(tries++);
+        }
+        stats.blockedNanos.add(System.nanoTime() - waitStart);
+    }
+
+    // 항목이 올 때까지 대기, 앞 단계가 끝났고 큐도 비었으면 null
+    private T take(RingBuffer<T> queue, BooleanSupplier upstreamDone, StageStats stats) {
+        T item = queue.poll();
+        if (item != null) {
+            return item;
+        }
+        long waitStart = System.nanoTime();
+        int tries = 0;
+        while ((item = queue.poll()) == null) {
+            // 완료 표시는 앞 단계가 마지막 항목을 넣은 뒤에 켜지므로, 표시를 본 뒤 한 번 더 비어 있으면 끝
+            if (upstreamDone.getAsBoolean()) {
+                item = queue.poll();
+                break;
+            }
+            checkFailure();
+            backoff(tries++);
+        }
+        stats.idleNanos.add(System.nanoTime() - waitStart);
+        return item;
+    }
+
+    private void checkFailure() {
+        if (failure.get() != null) {
+            throw new IllegalStateException("다른 단계 실패로 중단");
+        }
+    }
+
+    private static void backoff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * 단계별 집계 (여러 스레드가 동시에 더하므로 LongAdder)
+     */
+    private static class StageStats {
+        private final LongAdder records = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();   // 다음 큐가 가득 차서 기다린 시간
+        private final LongAdder idleNanos = new LongAdder();      // 앞 큐가 비어서 기다린 시간
+
+        String describe(long elapsedNanos, int threads) {
+            long count = records.sum();
+            return String.format("%,d건, %,d건/초, 스레드 %d, 대기(출력 막힘) %,dms, 대기(입력 없음) %,dms",
+                    count, count * 1_000_000_000L / elapsedNanos, threads,
+                    blockedNanos.sum() / 1_000_000, idleNanos.sum() / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.test.feeextract.pipeline;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+/**
+ * 스트리밍용 UserDataBatch 재사용 풀
+ * - sink 를 지난 배치를 비워서 돌려두고 source 가 다시 꺼내 씀 → 정상 상태에서는 배치/컬럼 버퍼 할당 없음
+ * - 빈 배치 보관은 RingBuffer (여러 스레드가 동시에 꺼내고 반납)
+ * - 요청 크기보다 작은 배치(적응형 크기가 커진 경우)는 버리고 새로 할당
+ */
+public class UserDataBatchPool {
+
+    private final RingBuffer<UserDataBatch> free;
+    private final boolean offHeap;
+
+    public UserDataBatchPool(int maxPooled, boolean offHeap) {
+        this.free = new RingBuffer<>(Math.max(1, maxPooled));
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * 최소 capacity 행을 담을 수 있는 빈 배치
+     */
+    public UserDataBatch acquire(int capacity) {
+        UserDataBatch batch = free.poll();
+        if (batch != null && batch.capacity() >= capacity) {
+            return batch;
+        }
+        return UserDataBatch.allocate(capacity, offHeap);
+    }
+
+    /**
+     * 다 쓴 배치 반납 (풀이 가득 차 있으면 버림)
+     */
+    public void release(UserDataBatch batch) {
+        batch.clear();
+        free.offer(batch);
+    }
+}
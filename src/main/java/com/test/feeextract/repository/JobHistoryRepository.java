@@ -0,0 +1,46 @@
+package com.test.feeextract.repository;
+
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.entity.JobHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface JobHistoryRepository extends JpaRepository<JobHistory, String> {
+
+    /**
+     * 소유 프로세스가 살아 있다는 표시 (진행 중 작업의 갱신 시각만 연장)
+     */
+    @Modifying
+    @Query("UPDATE JobHistory j SET j.updatedAt = :now WHERE j.instanceId = :owner AND j.status IN :active")
+    int touchActive(@Param("owner") String owner,
+                    @Param("active") Collection<JobStatus> active,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * 소유 프로세스가 staleBefore 이후로 한 번도 갱신하지 않은 (죽은) 진행 중 작업을 실패로 표시
+     * - 자기 작업과 아직 갱신 중인 다른 인스턴스의 작업은 건드리지 않음
+     */
+    @Modifying
+    @Query("UPDATE JobHistory j SET j.status = :status, j.message = :message, j.endTime = :now, j.updatedAt = :now "
+            + "WHERE (j.instanceId IS NULL OR j.instanceId <> :owner) AND j.status IN :active "
+            + "AND j.updatedAt < :staleBefore")
+    int markInterrupted(@Param("owner") String owner,
+                        @Param("active") Collection<JobStatus> active,
+                        @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("status") JobStatus status,
+                        @Param("message") String message,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * before 이전에 종료된 작업 이력 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM JobHistory j WHERE j.status IN :finished AND j.endTime < :before")
+    int deleteFinishedBefore(@Param("finished") Collection<JobStatus> finished,
+                             @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,7 @@
+package com.test.feeextract.repository;
+
+import com.test.feeextract.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserRepository extends JpaRepository<User, Long> {
+}
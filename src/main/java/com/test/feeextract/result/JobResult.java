@@ -0,0 +1,166 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * 끝난 작업의 처리 결과 (힙 배치 목록 또는 결과 파일)
+ * - 어느 쪽이든 transferTo 는 같은 이진 형식(ResultFile)으로 보냄
+ * - 다운로드 중에는 acquire/release 로 사용 중 표시, 보관 기간이 끝나도 마지막 사용자가 반납할 때 해제
+ */
+public final class JobResult {
+
+    private final String jobId;
+    private final List<UserDataBatch> batches;   // 힙 보관 (파일이면 null)
+    private final ResultFile file;               // 파일 보관 (힙이면 null)
+    private final long rows;
+    private final long heapBytes;
+
+    // 사용 중(다운로드 중)인 수, 만료 후 마지막 반납 때 실행할 해제 작업 (null 이면 아직 보관 중)
+    private int users;
+    private Runnable dispose;
+
+    private JobResult(String jobId, List<UserDataBatch> batches, ResultFile file, long rows, long heapBytes) {
+        this.jobId = jobId;
+        this.batches = batches;
+        this.file = file;
+        this.rows = rows;
+        this.heapBytes = heapBytes;
+    }
+
+    static JobResult inHeap(String jobId, List<UserDataBatch> batches, long heapBytes) {
+        long rows = batches.stream().mapToLong(UserDataBatch::size).sum();
+        return new JobResult(jobId, List.copyOf(batches), null, rows, heapBytes);
+    }
+
+    static JobResult inFile(String jobId, ResultFile file) {
+        return new JobResult(jobId, null, file, file.getRows(), 0);
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * 힙에 잡고 있는 바이트 (파일이면 0)
+     */
+    public long getHeapBytes() {
+        return heapBytes;
+    }
+
+    /**
+     * 파일 크기 (힙이면 0)
+     */
+    public long getFileBytes() {
+        return file != null ? file.getSizeBytes() : 0;
+    }
+
+    /**
+     * 사용 시작 (이미 만료됐으면 false), 사용이 끝나면 반드시 release
+     */
+    public synchronized boolean acquire() {
+        if (dispose != null) {
+            return false;
+        }
+        users++;
+        return true;
+    }
+
+    /**
+     * 사용 끝, 만료된 결과의 마지막 사용자면 해제
+     */
+    public void release() {
+        Runnable pending;
+        synchronized (this) {
+            if (--users > 0 || dispose == null) {
+                return;
+            }
+            pending = dispose;
+        }
+        pending.run();
+    }
+
+    /**
+     * 결과 파일 형식으로 target 에 전송, 보낸 바이트 수 반환
+     * - 파일: FileChannel.transferTo (zero-copy)
+     * - 힙: 배치마다 블록으로 인코딩해서 전송 (전송 버퍼는 배치 1개 크기)
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        if (file != null) {
+            return file.transferTo(target);
+        }
+        long written = write(target, ByteBuffer.allocate(ResultFile.HEADER_BYTES)
+                .putInt(ResultFile.MAGIC).putInt(ResultFile.VERSION).flip());
+        ByteBuffer index = ByteBuffer.allocate(batches.size() * ResultFile.INDEX_ENTRY_BYTES);
+        int blocks = 0;
+        ByteBuffer block = ByteBuffer.allocate(0);
+        for (UserDataBatch batch : batches) {
+            if (batch.size() == 0) {
+                continue;
+            }
+            int length = batch.encodedSize(0, batch.size());
+            if (block.capacity() < length) {
+                block = ByteBuffer.allocate(length);
+            }
+            block.clear().limit(length);
+            batch.encode(block, 0, batch.size());
+            index.putLong(written).putInt(length).putInt(batch.size());
+            blocks++;
+            written += write(target, block.flip());
+        }
+        long indexOffset = written;
+        written += write(target, index.flip());
+        written += write(target, ByteBuffer.allocate(ResultFile.TRAILER_BYTES)
+                .putLong(indexOffset).putInt(blocks).putLong(rows).putInt(ResultFile.MAGIC).flip());
+        return written;
+    }
+
+    /**
+     * 보관 만료, 사용 중이 아니면 바로, 사용 중이면 마지막 사용자가 반납할 때 dispose 실행 (한 번만)
+     */
+    void expire(Runnable dispose) {
+        synchronized (this) {
+            if (this.dispose != null) {
+                return;
+            }
+            this.dispose = dispose;
+            if (users > 0) {
+                return;
+            }
+        }
+        dispose.run();
+    }
+
+    /**
+     * 보관 중인 결과 해제 (파일은 닫고 삭제는 ResultStore 가 함)
+     */
+    void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    ResultFile file() {
+        return file;
+    }
+
+    private static long write(WritableByteChannel target, ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        return length;
+    }
+}
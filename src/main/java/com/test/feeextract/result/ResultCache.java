@@ -0,0 +1,301 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.service.JobUpdateListener;
+import com.test.feeextract.service.SimpleAsyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 같은 요청(정규화한 요청 파라미터) → 작업 ID 캐시
+ * - 진행 중인 같은 요청은 새 작업을 만들지 않고 그 작업에 합류 (single-flight)
+ * - 완료된 작업은 완료 후 ttl 동안 결과 재사용, 실패한 작업은 바로 제외
+ * - 크기 제한: 항목 수(max-entries, 0 이면 캐시 끔) + 처리 건수 합계(max-records), 넘치면 가장 오래 안 쓴 항목부터 제거 (LRU)
+ * - 결과 데이터는 ResultStore 보존 기간을 따름 (ttl 은 작업 보존 기간보다 짧게)
+ */
+@Component
+@Slf4j
+public class ResultCache implements JobUpdateListener {
+
+    /**
+     * 조회 결과 종류
+     */
+    public enum Outcome {
+        HIT,      // 완료된 같은 작업 재사용
+        JOINED,   // 진행 중인 같은 작업에 합류
+        MISS      // 새 작업 시작
+    }
+
+    public record Lookup(String jobId, Outcome outcome) {
+    }
+
+    /**
+     * 캐시 지표 (/memory-test/result-cache)
+     */
+    public record Stats(long hits, long joins, long misses, long evictions, long expirations, long invalidations,
+                        int entries, long records, int maxEntries, long maxRecords, double hitRatio) {
+    }
+
+    private static final long NOT_EXPIRING = Long.MAX_VALUE;
+
+    private final SimpleAsyncService asyncService;
+    private final int maxEntries;
+    private final long maxRecords;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    // 요청 키 → 항목 (접근 순서, 가장 오래 안 쓴 항목이 앞)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 작업 ID → 항목 (작업 상태 변경 시 찾기용)
+    private final Map<String, Entry> byJobId = new ConcurrentHashMap<>();
+    private long records;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public ResultCache(SimpleAsyncService asyncService,
+                       @Value("${feeextract.result-cache.max-entries:256}") int maxEntries,
+                       @Value("${feeextract.result-cache.max-records:20000000}") long maxRecords,
+                       @Value("${feeextract.result-cache.ttl:5m}") Duration ttl) {
+        this(asyncService, maxEntries, maxRecords, ttl, System::nanoTime);
+    }
+
+    ResultCache(SimpleAsyncService asyncService, int maxEntries, long maxRecords, Duration ttl,
+                LongSupplier nanoClock) {
+        this.asyncService = asyncService;
+        this.maxEntries = maxEntries;
+        this.maxRecords = maxRecords;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        asyncService.addListener(this);
+        log.info("🗂️ 결과 캐시 - 최대 {}개 / {}건, 완료 후 {}초 보관", maxEntries, maxRecords, ttl.toSeconds());
+    }
+
+    /**
+     * 대용량 추출 요청 키 (방식 + 건수)
+     */
+    public static String extractionKey(String mode, int dataSize) {
+        return "extract:" + mode + ":" + dataSize;
+    }
+
+    /**
+     * 배치 요청 키 (사용자 목록 순서와 무관, 긴 목록은 해시로 줄임)
+     */
+    public static String batchKey(List<String> userNames) {
+        List<String> sorted = new ArrayList<>(userNames);
+        sorted.sort(null);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String name : sorted) {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return "batch:" + sorted.size() + ":" + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 같은 요청의 작업이 있으면 그 작업 ID, 없으면 submit 으로 새 작업을 시작하고 캐시에 등록
+     * - 같은 키로 동시에 들어온 요청은 처음 요청이 작업을 만들 때까지 기다렸다가 그 작업에 합류
+     * @param records 처리 건수 (크기 제한 계산용)
+     * @param submit  새 작업 시작, 작업 ID 반환
+     */
+    public Lookup getOrSubmit(String key, long records, Supplier<String> submit) {
+        while (true) {
+            Entry entry;
+            boolean leader = false;
+            synchronized (this) {
+                entry = live(key);
+                if (entry == null && cacheable(records)) {
+                    entry = new Entry(key, records);
+                    entries.put(key, entry);
+                    this.records += records;
+                    evictOverflow();
+                    leader = true;
+                }
+            }
+            if (entry == null) {
+                misses.increment();
+                return new Lookup(submit.get(), Outcome.MISS);
+            }
+            if (leader) {
+                return new Lookup(lead(entry, submit), Outcome.MISS);
+            }
+
+            String jobId = entry.jobId.join();
+            JobInfo job = jobId != null ? asyncService.getJob(jobId) : null;
+            if (job == null || job.getStatus() == JobStatus.FAILED) {
+                // 처음 요청이 실패했거나 작업이 정리됨 → 항목을 지우고 다시 시도
+                remove(entry, invalidations);
+                continue;
+            }
+            if (job.getStatus().isCompleted()) {
+                hits.increment();
+                return new Lookup(jobId, Outcome.HIT);
+            }
+            joins.increment();
+            return new Lookup(jobId, Outcome.JOINED);
+        }
+    }
+
+    // 처음 요청: 작업을 시작하고 기다리는 요청에 작업 ID 전달
+    private String lead(Entry entry, Supplier<String> submit) {
+        misses.increment();
+        String jobId;
+        try {
+            jobId = submit.get();
+        } catch (RuntimeException e) {
+            remove(entry, invalidations);
+            entry.jobId.complete(null);
+            throw e;
+        }
+        synchronized (this) {
+            if (entry.discarded) {
+                // 재사용하면 안 되는 작업 → 기다리던 요청은 null 을 받고 다시 시도 (새 작업 시작)
+                remove(entry, invalidations);
+                entry.jobId.complete(null);
+                return jobId;
+            }
+            // 작업을 시작하는 사이 밀려난 항목은 등록하지 않음
+            if (entries.get(entry.key) == entry) {
+                byJobId.put(jobId, entry);
+            }
+        }
+        entry.jobId.complete(jobId);
+        // 작업 ID 를 등록하기 전에 끝났거나 실패했을 수 있음 (입장 거절 등)
+        onJobUpdated(jobId);
+        return jobId;
+    }
+
+    /**
+     * 키의 항목을 재사용 대상에서 제외
+     * - submit 안에서 호출하면 시작한 작업을 캐시에 남기지 않음 (요청과 다른 방식으로 전환된 작업 등)
+     */
+    public synchronized void discard(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (entry.jobId.isDone()) {
+            remove(entry, invalidations);
+        } else {
+            entry.discarded = true;
+        }
+    }
+
+    @Override
+    public void onJobUpdated(String jobId) {
+        Entry entry = byJobId.get(jobId);
+        if (entry == null) {
+            return;
+        }
+        JobInfo job = asyncService.getLocalJob(jobId);
+        if (job == null || job.getStatus() == JobStatus.FAILED) {
+            remove(entry, invalidations);
+        } else if (job.getStatus().isCompleted()) {
+            synchronized (this) {
+                if (entry.expireAtNanos == NOT_EXPIRING) {
+                    entry.expireAtNanos = nanoClock.getAsLong() + ttlNanos;
+                }
+            }
+        }
+    }
+
+    public synchronized Stats stats() {
+        long hitCount = hits.sum();
+        long joinCount = joins.sum();
+        long missCount = misses.sum();
+        long total = hitCount + joinCount + missCount;
+        return new Stats(hitCount, joinCount, missCount, evictions.sum(), expirations.sum(), invalidations.sum(),
+                entries.size(), records, maxEntries, maxRecords,
+                total > 0 ? (double) (hitCount + joinCount) / total : 0);
+    }
+
+    // 만료되지 않은 항목 (만료됐으면 제거)
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expireAtNanos != NOT_EXPIRING
+                && nanoClock.getAsLong() - entry.expireAtNanos >= 0) {
+            remove(entry, expirations);
+            return null;
+        }
+        return entry;
+    }
+
+    // 혼자서 한도를 넘는 요청은 캐시하지 않음 (다른 항목을 전부 밀어내지 않도록)
+    private boolean cacheable(long requestRecords) {
+        return maxEntries > 0 && requestRecords <= maxRecords;
+    }
+
+    // 한도를 넘으면 가장 오래 안 쓴 항목부터 제거
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || records > maxRecords) && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            detach(entry);
+            evictions.increment();
+        }
+    }
+
+    private synchronized boolean remove(Entry entry, LongAdder counter) {
+        if (!entries.remove(entry.key, entry)) {
+            return false;
+        }
+        detach(entry);
+        counter.increment();
+        return true;
+    }
+
+    private void detach(Entry entry) {
+        records -= entry.records;
+        String jobId = entry.jobId.getNow(null);
+        if (jobId != null) {
+            byJobId.remove(jobId, entry);
+        }
+    }
+
+    /**
+     * 캐시 항목 1개 (작업 ID 는 처음 요청이 작업을 시작한 뒤 채워짐)
+     */
+    private static final class Entry {
+        private final String key;
+        private final long records;
+        private final CompletableFuture<String> jobId = new CompletableFuture<>();
+        // 완료 전에는 만료 없음
+        private long expireAtNanos = NOT_EXPIRING;
+        // 처음 요청이 캐시에 남기지 않기로 함 (discard)
+        private boolean discarded;
+
+        private Entry(String key, long records) {
+            this.key = key;
+            this.records = records;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 처리 결과 이진 파일 (읽기)
+ * <pre>
+ * [header]  magic(int) version(int)
+ * [block]*  UserDataBatch.encode 블록 (행 수 + 컬럼들)
+ * [index]   블록마다 offset(long) length(int) rows(int)
+ * [trailer] indexOffset(long) blockCount(int) totalRows(long) magic(int)
+ * </pre>
+ * - 트레일러 → 인덱스 순으로 읽으므로 블록 하나만 골라 읽을 수 있음 (블록은 필요할 때 mmap)
+ * - 파일 전체 전송은 FileChannel.transferTo (소켓/파일 채널이면 커널 안에서 복사, 힙을 거치지 않음)
+ */
+public final class ResultFile implements Closeable {
+
+    static final int MAGIC = 0x46585231;   // "FXR1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    static final int INDEX_ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+    static final int TRAILER_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockRows;
+    private final long rows;
+
+    private ResultFile(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.size = channel.size();
+        if (size < HEADER_BYTES + TRAILER_BYTES) {
+            throw new IOException("not a result file (too short): " + path);
+        }
+        ByteBuffer header = read(0, HEADER_BYTES);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("not a result file (bad header): " + path);
+        }
+        ByteBuffer trailer = read(size - TRAILER_BYTES, TRAILER_BYTES);
+        long indexOffset = trailer.getLong();
+        int blockCount = trailer.getInt();
+        this.rows = trailer.getLong();
+        if (trailer.getInt() != MAGIC || indexOffset + (long) blockCount * INDEX_ENTRY_BYTES != size - TRAILER_BYTES) {
+            throw new IOException("not a result file (bad trailer): " + path);
+        }
+
+        this.blockOffsets = new long[blockCount];
+        this.blockLengths = new int[blockCount];
+        this.blockRows = new int[blockCount];
+        MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) blockCount * INDEX_ENTRY_BYTES);
+        for (int i = 0; i < blockCount; i++) {
+            blockOffsets[i] = index.getLong();
+            blockLengths[i] = index.getInt();
+            blockRows[i] = index.getInt();
+        }
+    }
+
+    public static ResultFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new ResultFile(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getSizeBytes() {
+        return size;
+    }
+
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    public int getBlockRows(int block) {
+        return blockRows[block];
+    }
+
+    /**
+     * 블록 1개를 target 뒤에 추가 (target 에 블록 행 수만큼 빈 자리가 있어야 함)
+     */
+    public void readBlock(int block, UserDataBatch target) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, blockOffsets[block], blockLengths[block]);
+        target.decode(buffer);
+    }
+
+    /**
+     * 파일 전체를 target 으로 전송, 보낸 바이트 수 반환
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        long position = 0;
+        while (position < size) {
+            position += channel.transferTo(position, size - position, target);
+        }
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file: " + path);
+            }
+        }
+        return buffer.flip();
+    }
+}
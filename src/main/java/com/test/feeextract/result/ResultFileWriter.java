@@ -0,0 +1,143 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 처리 결과 이진 파일 쓰기 (형식은 ResultFile 참고)
+ * - 블록은 파일 끝에 블록 길이만큼만 mmap 해서 바로 인코딩 (중간 힙 버퍼 없음), 헤더/인덱스/트레일러는 channel.write
+ * - 매핑이 쓴 길이를 넘지 않으므로 닫을 때 파일을 자르지 않음 (매핑이 살아 있는 파일은 자를 수 없는 OS 도 있음)
+ * - 매핑으로 쓴 데이터가 forceIntervalBytes 만큼 쌓일 때마다, 그리고 close 때 force 로 디스크에 내림
+ * - close 전에는 읽을 수 없는 파일, 한 스레드에서만 사용
+ */
+public final class ResultFileWriter implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int forceIntervalBytes;
+
+    // 다음 블록을 쓸 위치 (= 지금까지 쓴 바이트)
+    private long position;
+    // 아직 force 하지 않은 블록 매핑
+    private final List<MappedByteBuffer> unforced = new ArrayList<>();
+    private long unforcedBytes;
+
+    private long[] blockOffsets = new long[64];
+    private int[] blockLengths = new int[64];
+    private int[] blockRows = new int[64];
+    private int blockCount;
+    private long rows;
+    private boolean closed;
+
+    public ResultFileWriter(Path path, int forceIntervalBytes) throws IOException {
+        this.path = path;
+        this.forceIntervalBytes = Math.max(forceIntervalBytes, 4096);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        position = write(ByteBuffer.allocate(ResultFile.HEADER_BYTES)
+                .putInt(ResultFile.MAGIC).putInt(ResultFile.VERSION).flip(), 0);
+    }
+
+    /**
+     * 배치 전체를 블록 1개로 추가
+     */
+    public void append(UserDataBatch batch) throws IOException {
+        append(batch, 0, batch.size());
+    }
+
+    /**
+     * 행 구간 [fromRow, toRow) 를 블록 1개로 추가
+     */
+    public void append(UserDataBatch batch, int fromRow, int toRow) throws IOException {
+        if (toRow == fromRow) {
+            return;
+        }
+        int length = batch.encodedSize(fromRow, toRow);
+        long offset = position;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, length);
+        batch.encode(buffer, fromRow, toRow);
+        position += length;
+        unforced.add(buffer);
+        unforcedBytes += length;
+        if (unforcedBytes >= forceIntervalBytes) {
+            forceMapped();
+        }
+
+        if (blockCount == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+            blockLengths = Arrays.copyOf(blockLengths, blockCount * 2);
+            blockRows = Arrays.copyOf(blockRows, blockCount * 2);
+        }
+        blockOffsets[blockCount] = offset;
+        blockLengths[blockCount] = length;
+        blockRows[blockCount] = toRow - fromRow;
+        blockCount++;
+        rows += toRow - fromRow;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * 지금까지 쓴 바이트 수 (인덱스/트레일러 제외)
+     */
+    public long getBytesWritten() {
+        return position;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 블록 매핑을 force 하고 인덱스/트레일러를 쓴 뒤 닫음 (이후 ResultFile.open 으로 읽을 수 있음)
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            forceMapped();
+            long indexOffset = position;
+            ByteBuffer footer = ByteBuffer.allocate(blockCount * ResultFile.INDEX_ENTRY_BYTES + ResultFile.TRAILER_BYTES);
+            for (int i = 0; i < blockCount; i++) {
+                footer.putLong(blockOffsets[i]).putInt(blockLengths[i]).putInt(blockRows[i]);
+            }
+            footer.putLong(indexOffset).putInt(blockCount).putLong(rows).putInt(ResultFile.MAGIC);
+            position += write(footer.flip(), indexOffset);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // 쌓인 블록 매핑을 디스크로 내리고 참조를 놓음 (매핑 해제는 GC 때)
+    private void forceMapped() {
+        for (MappedByteBuffer buffer : unforced) {
+            buffer.force();
+        }
+        unforced.clear();
+        unforcedBytes = 0;
+    }
+
+    private int write(ByteBuffer buffer, long at) throws IOException {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, at + length - buffer.remaining());
+        }
+        return length;
+    }
+}
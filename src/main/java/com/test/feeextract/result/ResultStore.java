@@ -0,0 +1,138 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.service.SimpleAsyncService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 끝난 작업의 처리 결과 보관소
+ * - 모든 작업이 힙에 보관하는 결과의 합계를 heap-budget-mb 이하로 유지, 넘치는 작업은 결과 파일로 spill
+ * - 결과 파일은 directory 아래 작업 ID 이름으로 생성, 작업이 레지스트리에서 정리되면 결과도 같이 삭제
+ *   (다운로드 중인 결과는 목록에서만 빼고 실제 삭제는 마지막 다운로드가 끝날 때)
+ */
+@Component
+@Slf4j
+public class ResultStore {
+
+    private final SimpleAsyncService asyncService;
+    private final Path directory;
+    private final long heapBudgetBytes;
+    // 결과 파일에 매핑으로 쓴 데이터를 이만큼마다 디스크로 내림
+    private final int forceIntervalBytes;
+
+    private final AtomicLong heapBytes = new AtomicLong();
+    private final Map<String, JobResult> results = new ConcurrentHashMap<>();
+
+    public ResultStore(SimpleAsyncService asyncService,
+                       @Value("${feeextract.result.directory:}") String directory,
+                       @Value("${feeextract.result.heap-budget-mb:256}") long heapBudgetMb,
+                       @Value("${feeextract.result.map-window-mb:64}") int mapWindowMb) throws IOException {
+        this.asyncService = asyncService;
+        this.directory = Files.createDirectories(directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "feeextract-results")
+                : Path.of(directory));
+        this.heapBudgetBytes = heapBudgetMb * 1024 * 1024;
+        this.forceIntervalBytes = Math.multiplyExact(mapWindowMb, 1024 * 1024);
+    }
+
+    /**
+     * 작업 결과 모으기 시작
+     */
+    public SpillableResult open(String jobId) {
+        return new SpillableResult(this, jobId);
+    }
+
+    public JobResult get(String jobId) {
+        return results.get(jobId);
+    }
+
+    /**
+     * 모든 작업이 힙에 보관 중인 결과 바이트
+     */
+    public long getHeapBytes() {
+        return heapBytes.get();
+    }
+
+    public long getHeapBudgetBytes() {
+        return heapBudgetBytes;
+    }
+
+    int getForceIntervalBytes() {
+        return forceIntervalBytes;
+    }
+
+    Path pathFor(String jobId) {
+        return directory.resolve(jobId + ".fxr");
+    }
+
+    boolean tryReserve(long bytes) {
+        long current;
+        do {
+            current = heapBytes.get();
+            if (current + bytes > heapBudgetBytes) {
+                return false;
+            }
+        } while (!heapBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    void release(long bytes) {
+        heapBytes.addAndGet(-bytes);
+    }
+
+    void register(JobResult result) {
+        JobResult previous = results.put(result.getJobId(), result);
+        if (previous != null) {
+            discard(previous);
+        }
+        log.info("💾 작업 결과 보관 - ID: {}, {}건, {}", result.getJobId(), result.getRows(),
+                result.isSpilled() ? String.format("파일 %,dKB", result.getFileBytes() / 1024)
+                        : String.format("힙 %,dKB", result.getHeapBytes() / 1024));
+    }
+
+    /**
+     * 레지스트리에서 정리된 작업의 결과 삭제
+     */
+    @Scheduled(fixedDelayString = "${feeextract.jobs.cleanup-interval-ms:10000}")
+    public void cleanupExpiredResults() {
+        results.values().removeIf(result -> {
+            if (asyncService.getLocalJob(result.getJobId()) != null) {
+                return false;
+            }
+            discard(result);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        results.values().forEach(this::discard);
+        results.clear();
+    }
+
+    private void discard(JobResult result) {
+        result.expire(() -> dispose(result));
+    }
+
+    private void dispose(JobResult result) {
+        release(result.getHeapBytes());
+        try {
+            result.close();
+            if (result.isSpilled()) {
+                Files.deleteIfExists(result.file().getPath());
+            }
+        } catch (IOException e) {
+            log.warn("결과 파일 삭제 실패 - ID: {}", result.getJobId(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.domain.UserDataBatch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 작업 1개의 처리 결과 모음
+ * - 처리된 배치를 힙에 보관하다가 ResultStore 힙 예산을 넘으면 보관 중인 배치를 모두 결과 파일로 쓰고 이후 배치는 파일로만 씀
+ * - 추가한 배치는 넘긴 뒤 다시 쓰면 안 됨 (힙에 보관될 수 있음)
+ * - finish 로 JobResult 를 등록, finish 없이 close 하면 (실패) 예산 반납 후 파일 삭제
+ * - 한 스레드에서만 사용
+ */
+public final class SpillableResult implements AutoCloseable {
+
+    private final ResultStore store;
+    private final String jobId;
+    private final List<UserDataBatch> batches = new ArrayList<>();
+    private long heapBytes;
+    private ResultFileWriter writer;
+    private boolean finished;
+
+    SpillableResult(ResultStore store, String jobId) {
+        this.store = store;
+        this.jobId = jobId;
+    }
+
+    public void add(UserDataBatch batch) throws IOException {
+        if (writer != null) {
+            writer.append(batch);
+            return;
+        }
+        long bytes = batch.getApproximateMemorySize();
+        if (store.tryReserve(bytes)) {
+            batches.add(batch);
+            heapBytes += bytes;
+            return;
+        }
+        spill();
+        writer.append(batch);
+    }
+
+    public boolean isSpilled() {
+        return writer != null;
+    }
+
+    /**
+     * 힙에 보관 중인 바이트 (파일로 넘어가면 0)
+     */
+    public long getHeapBytes() {
+        return heapBytes;
+    }
+
+    /**
+     * 결과 확정 및 등록
+     */
+    public JobResult finish() throws IOException {
+        JobResult result;
+        if (writer != null) {
+            writer.close();
+            result = JobResult.inFile(jobId, ResultFile.open(writer.getPath()));
+        } else {
+            result = JobResult.inHeap(jobId, batches, heapBytes);
+        }
+        finished = true;
+        store.register(result);
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        store.release(heapBytes);
+        heapBytes = 0;
+        batches.clear();
+        if (writer != null) {
+            writer.close();
+            Files.deleteIfExists(writer.getPath());
+        }
+    }
+
+    // 보관 중인 배치를 파일로 옮기고 힙 예산 반납
+    private void spill() throws IOException {
+        Path path = store.pathFor(jobId);
+        writer = new ResultFileWriter(path, store.getForceIntervalBytes());
+        for (UserDataBatch batch : batches) {
+            writer.append(batch);
+        }
+        batches.clear();
+        store.release(heapBytes);
+        heapBytes = 0;
+    }
+}
@@ -0,0 +1,235 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.domain.JobInfo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 작업 진행 상황 SSE 스트림
+ * - 작업 스레드는 구독자에게 "변경됨" 표시만 하고, 실제 전송은 공용 전송 스레드 몇 개가 담당 (클라이언트별 스레드 없음)
+ * - 구독자별로 변경을 합쳐서(coalesce) 보내므로 느린 클라이언트는 중간 상태를 건너뛰고 최신 상태만 받음
+ * - 한 번의 전송이 write-timeout 을 넘기면 그 구독자는 끊음 (클라이언트가 다시 연결하면 최신 상태부터 받음)
+ *   막힌 전송이 끝날 때까지는 전송 스레드를 하나 더 둬서 다른 구독자 전송이 밀리지 않게 함
+ */
+@Service
+@Slf4j
+public class JobStreamService implements JobUpdateListener {
+
+    // SSE 연결 유지 시간 (30분)
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int SENDER_THREADS = 2;
+
+    private final SimpleAsyncService asyncService;
+    private final long writeTimeoutMs;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sender = new ThreadPoolExecutor(SENDER_THREADS, SENDER_THREADS,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory("job-sse-"));
+    // 전송 시간 초과 감시
+    private final ScheduledExecutorService watchdog =
+            Executors.newSingleThreadScheduledExecutor(threadFactory("job-sse-watchdog-"));
+    // 시간 초과로 끊었지만 아직 전송 중인 스레드 수 (그만큼 전송 스레드를 더 둠)
+    private int stalledWriters;
+
+    public JobStreamService(SimpleAsyncService asyncService) {
+        this(asyncService, Duration.ofSeconds(10));
+    }
+
+    @Autowired
+    public JobStreamService(SimpleAsyncService asyncService,
+                            @Value("${feeextract.stream.write-timeout:10s}") Duration writeTimeout) {
+        this.asyncService = asyncService;
+        this.writeTimeoutMs = writeTimeout.toMillis();
+        asyncService.addListener(this);
+    }
+
+    /**
+     * 작업 구독 (현재 상태를 바로 한 번 보내고, 이후 변경될 때마다 최신 상태 전송)
+     */
+    public SseEmitter subscribe(String jobId) {
+        return subscribe(jobId, new SseEmitter(EMITTER_TIMEOUT_MS));
+    }
+
+    SseEmitter subscribe(String jobId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(jobId, emitter);
+
+        subscribers.computeIfAbsent(jobId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscriber.markDirty();
+        return emitter;
+    }
+
+    @Override
+    public void onJobUpdated(String jobId) {
+        Set<Subscriber> jobSubscribers = subscribers.get(jobId);
+        if (jobSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : jobSubscribers) {
+            subscriber.markDirty();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.jobId, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // 막힌 전송 스레드만큼 전송 스레드 추가/반납 (core <= max 유지 순서 주의)
+    private synchronized void adjustStalledWriters(int delta) {
+        stalledWriters += delta;
+        int size = SENDER_THREADS + stalledWriters;
+        if (delta > 0) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private static CustomizableThreadFactory threadFactory(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * 구독자 1명
+     * - dirty: 마지막 전송 이후 변경 여부
+     * - scheduled: 전송 작업이 이미 예약되어 있는지 (구독자당 최대 1개만 대기)
+     * - writer: 지금 전송 중인 스레드, stalled: 시간 초과로 끊김
+     */
+    private class Subscriber {
+        private final String jobId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private Thread writer;
+        private volatile boolean stalled;
+
+        Subscriber(String jobId, SseEmitter emitter) {
+            this.jobId = jobId;
+            this.emitter = emitter;
+        }
+
+        void markDirty() {
+            dirty.set(true);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                dirty.set(false);
+                if (!send()) {
+                    unsubscribe(this);
+                    return;
+                }
+                scheduled.set(false);
+                // 전송 중 들어온 변경이 있으면 이어서 처리
+                if (!dirty.get() || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        // write-timeout 안에 전송, 더 보낼 필요가 없거나 시간 초과면 false
+        private boolean send() {
+            JobInfo job = asyncService.getJob(jobId);
+            synchronized (this) {
+                writer = Thread.currentThread();
+            }
+            ScheduledFuture<?> deadline;
+            try {
+                deadline = watchdog.schedule(this::abortStalledWrite, writeTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+            boolean more;
+            try {
+                more = write(job);
+            } finally {
+                deadline.cancel(false);
+                synchronized (this) {
+                    writer = null;
+                }
+            }
+            if (!stalled) {
+                return more;
+            }
+            // 감시 스레드가 끊은 전송 → 인터럽트 표시를 지우고 늘렸던 전송 스레드 반납
+            Thread.interrupted();
+            adjustStalledWriters(-1);
+            emitter.completeWithError(new TimeoutException("SSE 전송 시간 초과 (" + writeTimeoutMs + "ms)"));
+            return false;
+        }
+
+        // 최신 스냅샷 전송, 더 보낼 필요가 없으면 false
+        private boolean write(JobInfo job) {
+            try {
+                if (job == null) {
+                    emitter.send(SseEmitter.event().name("missing").data(jobId));
+                    emitter.complete();
+                    return false;
+                }
+                emitter.send(SseEmitter.event().name("job").data(job));
+                if (!job.getStatus().isActive()) {
+                    emitter.complete();
+                    return false;
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("SSE 전송 실패 - 작업 ID: {}, 원인: {}", jobId, e.getMessage());
+                return false;
+            }
+        }
+
+        // 감시 스레드: 느린 구독자를 끊고, 막힌 스레드 대신 전송 스레드를 하나 더 둠
+        private synchronized void abortStalledWrite() {
+            if (writer == null) {
+                return;
+            }
+            stalled = true;
+            unsubscribe(this);
+            adjustStalledWriters(1);
+            log.warn("SSE 전송 {}ms 초과 - 작업 ID: {}, 구독 해제", writeTimeoutMs, jobId);
+            writer.interrupt();
+        }
+    }
+}
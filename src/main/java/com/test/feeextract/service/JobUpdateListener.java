@@ -0,0 +1,10 @@
+package com.test.feeextract.service;
+
+/**
+ * 작업 상태 변경 리스너
+ * - 작업 스레드에서 바로 호출되므로 구현은 가볍게 (무거운 일은 다른 스레드로 넘길 것)
+ */
+public interface JobUpdateListener {
+
+    void onJobUpdated(String jobId);
+}
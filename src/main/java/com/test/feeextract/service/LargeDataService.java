@@ -1,17 +1,42 @@
 package com.test.feeextract.service;
 
+import com.test.feeextract.checkpoint.Checkpoint;
+import com.test.feeextract.checkpoint.CheckpointLog;
+import com.test.feeextract.checkpoint.JobCheckpointer;
+import com.test.feeextract.domain.Department;
+import com.test.feeextract.domain.ExtractionMode;
 import com.test.feeextract.domain.JobInfo;
 import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.fee.FeeRuleEngine;
+import com.test.feeextract.pipeline.AdaptiveBatchSizer;
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.pipeline.PipelineSettings;
+import com.test.feeextract.pipeline.StagedPipeline;
+import com.test.feeextract.pipeline.UserDataBatchPool;
+import com.test.feeextract.result.JobResult;
+import com.test.feeextract.result.ResultStore;
+import com.test.feeextract.result.SpillableResult;
+import com.test.feeextract.util.ExtractionMetrics;
 import com.test.feeextract.util.MemoryMonitor;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -20,55 +45,123 @@ public class LargeDataService {
     
     private final MemoryMonitor memoryMonitor;
     private final SimpleAsyncService asyncService;
+    private final MemoryBudgetService memoryBudget;
+    private final PipelineSettings pipelineSettings;
+    private final BatchSizingSettings batchSizing;
+    private final ExtractionMetrics metrics;
+    private final FeeRuleEngine feeEngine;
+    private final ResultStore resultStore;
+    private final CheckpointLog checkpointLog;
+    
+    // 전체 결과 보관 / 병렬 스트리밍 배치 크기 (스트리밍 파이프라인은 AdaptiveBatchSizer 로 조절)
+    private static final int BATCH_SIZE = 1000;
+    // 진행률 업데이트 간격 (건)
+    private static final int PROGRESS_INTERVAL = 10000;
+    // 워커당 파티션 수 (작업 훔치기 여유분)
+    private static final int PARTITIONS_PER_WORKER = 4;
+    // 생성 데이터 템플릿 (문자열 연결 없이 id 를 바로 바이트로 기록)
+    private static final UserDataBatch.NumberedText NAME = UserDataBatch.NumberedText.of("User_", "");
+    private static final UserDataBatch.NumberedText EMAIL = UserDataBatch.NumberedText.of("user", "@test.com");
+    private static final UserDataBatch.NumberedText DESCRIPTION = UserDataBatch.NumberedText.of(
+        "This is user number ", " with some additional data for memory testing purposes.");
+    private static final byte[][] DEPARTMENTS = departmentBytes();
+    private static final byte[] PROCESSED_SUFFIX = "_PROCESSED".getBytes(StandardCharsets.US_ASCII);
+    // 파이프라인 진행률/단계 현황 보고 간격
+    private static final Duration PIPELINE_REPORT_INTERVAL = Duration.ofMillis(500);
+    
+    // 문자열 컬럼을 direct ByteBuffer(힙 밖)에 둘지 여부
+    @Value("${feeextract.large-data.off-heap:false}")
+    private boolean offHeap;
+    
+    // 병렬 스트리밍용 fork-join 풀 (코어 수만큼 워커)
+    private final ForkJoinPool extractionPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    
+    // 스트리밍 파이프라인 단계 스레드 (단계 스레드는 작업이 끝날 때까지 점유되므로 크기 제한 없는 풀)
+    private final ExecutorService pipelinePool = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "pipeline-stage");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     /**
-     * 50만건 데이터 일반 처리 (전체 메모리 로딩)
+     * 50만건 데이터 일반 처리 (전체 결과 보관)
+     * - 배치 단위로 생성/처리한 결과를 작업이 끝난 뒤에도 모두 보관 (GET /memory-test/job/{jobId}/result 로 다운로드)
+     * - 보관 결과가 ResultStore 힙 예산을 넘으면 그때부터 결과 파일(mmap)로 spill → 데이터 크기가 커도 힙 사용량은 예산 이내
      */
-    @Async
+    @Async("extractionExecutor")
     public CompletableFuture<String> processLargeData(String jobId, int dataSize) {
-        try {
+        try (MemoryMonitor.JobMemory jobMemory = memoryMonitor.startJob(jobId);
+             SpillableResult results = resultStore.open(jobId)) {
             log.info("🚀 50만건 데이터 처리 시작 - 크기: {}", dataSize);
+            long jobStart = System.nanoTime();
             
             // 시작 전 메모리 측정
-            MemoryMonitor.MemoryInfo startMemory = memoryMonitor.measureMemory("작업 시작 전");
-            
-            // 1단계: 데이터 생성 (메모리에 모든 데이터 로딩)
-            asyncService.updateJob(jobId, JobStatus.RUNNING, 10, "대용량 데이터 생성 중...");
-            List<UserData> dataList = generateLargeDataset(dataSize);
-            
-            MemoryMonitor.MemoryInfo afterGeneration = memoryMonitor.measureMemory("데이터 생성 후");
-            long generationMemory = memoryMonitor.calculateMemoryDiff(startMemory, afterGeneration);
+            memoryMonitor.measureMemory("작업 시작 전");
             
-            // 2단계: 데이터 처리
-            asyncService.updateJob(jobId, JobStatus.RUNNING, 50, "데이터 처리 중...");
-            String result = processDataList(dataList);
+            // 배치마다 생성 → 처리 → 결과 보관 (할당량은 단계별로 나눠 집계)
+            asyncService.updateJob(jobId, JobStatus.RUNNING, 0, "대용량 데이터 생성/처리 중...");
+            long generationAllocated = 0;
+            long processingAllocated = 0;
+            int nextReport = PROGRESS_INTERVAL;
+            for (int start = 0; start < dataSize; start += BATCH_SIZE) {
+                int count = Math.min(BATCH_SIZE, dataSize - start);
+                long mark = jobMemory.mark();
+                UserDataBatch batch = generateBatchData(start, count);
+                generationAllocated += jobMemory.record(mark);
+                
+                mark = jobMemory.mark();
+                processBatch(batch);
+                processingAllocated += jobMemory.record(mark);
+                results.add(batch);
+                
+                int processed = start + count;
+                if (processed >= nextReport || processed == dataSize) {
+                    nextReport += PROGRESS_INTERVAL;
+                    asyncService.updateJob(jobId, JobStatus.RUNNING, (int) ((long) processed * 99 / dataSize),
+                        String.format("데이터 처리 중... (%,d/%,d, 결과 %s)", processed, dataSize,
+                            results.isSpilled() ? "파일" : "힙"));
+                }
+            }
             
+            // 보정은 GC 에 좌우되는 힙 사용량 차이 대신 배치가 실제로 잡고 있는 버퍼 크기로 (spill 되면 힙 보관량이 데이터 크기와 무관하므로 제외)
+            long retainedBytes = results.getHeapBytes();
+            if (!results.isSpilled()) {
+                memoryBudget.recordMeasurement(ExtractionMode.FULL_LOAD, dataSize, retainedBytes);
+            }
             MemoryMonitor.MemoryInfo afterProcessing = memoryMonitor.measureMemory("데이터 처리 후");
-            long processingMemory = memoryMonitor.calculateMemoryDiff(afterGeneration, afterProcessing);
-            
-            // 3단계: 결과 정리
-            dataList.clear(); // 명시적으로 메모리 해제
-            dataList = null;
-            
-            MemoryMonitor.MemoryInfo afterCleanup = memoryMonitor.measureMemory("메모리 정리 후");
+            JobResult result = results.finish();
             
             // 결과 리포트
             String memoryReport = String.format(
                 "📊 메모리 사용량 리포트\n" +
-                "- 데이터 생성: %dMB\n" +
-                "- 데이터 처리: %dMB\n" +
-                "- 최대 사용량: %dMB\n" +
-                "- 정리 후: %dMB",
-                generationMemory,
-                processingMemory,
+                "- 데이터 생성: 할당 %dMB\n" +
+                "- 데이터 처리: 할당 %dMB\n" +
+                "- 결과 보관: %s\n" +
+                "- 힙 사용량: %dMB (마지막 GC 후 %dMB)\n" +
+                "- 작업 중 GC: %d회, 일시정지 %dms",
+                generationAllocated / 1024 / 1024,
+                processingAllocated / 1024 / 1024,
+                result.isSpilled()
+                    ? String.format("결과 파일 %dMB (힙 예산 %dMB 초과로 spill)",
+                        result.getFileBytes() / 1024 / 1024, resultStore.getHeapBudgetBytes() / 1024 / 1024)
+                    : String.format("힙 %dMB", retainedBytes / 1024 / 1024),
                 afterProcessing.getUsedMemoryMB(),
-                afterCleanup.getUsedMemoryMB()
+                afterProcessing.getLiveAfterLastGcMB(),
+                jobMemory.getGcCount(),
+                jobMemory.getGcPauseMillis()
             );
             
             log.info(memoryReport);
+            metrics.record(ExtractionMetrics.Phase.JOB_TOTAL, System.nanoTime() - jobStart, dataSize);
+            Map<String, String> details = new LinkedHashMap<>(jobMemory.describe());
+            details.put("result.rows", String.format("%,d", result.getRows()));
+            details.put("result.storage", result.isSpilled()
+                ? String.format("파일 %,dKB", result.getFileBytes() / 1024)
+                : String.format("힙 %,dKB", result.getHeapBytes() / 1024));
+            asyncService.updateDetails(jobId, details);
             asyncService.completeJob(jobId, "50만건 데이터 처리 완료\n" + memoryReport);
             
-            return CompletableFuture.completedFuture(result);
+            return CompletableFuture.completedFuture("Processing completed for " + dataSize + " records");
             
         } catch (Exception e) {
             log.error("대용량 데이터 처리 중 오류", e);
@@ -79,53 +172,92 @@ public class LargeDataService {
     
     /**
      * 50만건 데이터 스트리밍 처리 (메모리 효율적)
+     * - 생성(source) → 처리(transform) → 소비(sink) 단계를 링 버퍼로 연결한 파이프라인
+     * - 뒤 단계가 느리면 큐가 차서 앞 단계가 멈추므로 메모리에는 최대 maxInFlight 배치만 존재
+     * - 배치 크기는 GC 일시정지/할당률/배치 지연을 보고 실행 중에 조절 (결정 과정은 작업 details 에 표시)
+     * - 처리 완료 위치와 수수료 합계를 체크포인트 로그에 남겨서 중간에 멈춰도 resumeStreaming 으로 이어서 처리
      */
-    @Async
+    @Async("extractionExecutor")
     public CompletableFuture<String> processLargeDataStreaming(String jobId, int dataSize) {
-        try {
-            log.info("🚀 50만건 데이터 스트리밍 처리 시작 - 크기: {}", dataSize);
+        return runStreaming(jobId, dataSize, null);
+    }
+    
+    /**
+     * 멈춘 스트리밍 작업을 마지막 체크포인트부터 새 작업(jobId)으로 이어서 처리
+     */
+    @Async("extractionExecutor")
+    public CompletableFuture<String> resumeStreaming(String jobId, Checkpoint checkpoint) {
+        return runStreaming(jobId, checkpoint.dataSize(), checkpoint);
+    }
+    
+    private CompletableFuture<String> runStreaming(String jobId, int dataSize, Checkpoint from) {
+        try (MemoryMonitor.JobMemory jobMemory = memoryMonitor.startJob(jobId)) {
+            JobCheckpointer checkpointer = checkpointLog.start(jobId, dataSize, from);
+            int startOffset = checkpointer.getOffset();
+            log.info("🚀 50만건 데이터 스트리밍 처리 시작 - 크기: {}, 시작 위치: {}, 파이프라인: {}",
+                dataSize, startOffset, pipelineSettings);
             
-            MemoryMonitor.MemoryInfo startMemory = memoryMonitor.measureMemory("스트리밍 시작 전");
+            memoryMonitor.measureMemory("스트리밍 시작 전");
             
-            // 배치 단위로 처리 (메모리 절약)
-            int batchSize = 1000;
-            int processedCount = 0;
+            // 배치 시작 위치를 나눠 가지며 생성 (source 스레드가 여러 개여도 겹치지 않음)
+            AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(batchSizing);
+            UserDataBatchPool batchPool = new UserDataBatchPool(pipelineSettings.maxInFlight(), offHeap);
+            AtomicInteger nextStart = new AtomicInteger(startOffset);
+            StagedPipeline<UserDataBatch> pipeline = new StagedPipeline<>(pipelineSettings,
+                () -> {
+                    int size = sizer.currentSize();
+                    int start = nextStart.getAndAdd(size);
+                    if (start >= dataSize) {
+                        return null;
+                    }
+                    long mark = jobMemory.mark();
+                    int count = Math.min(size, dataSize - start);
+                    UserDataBatch batch = batchPool.acquire(count);
+                    fillBatchData(batch, start, count);
+                    jobMemory.record(mark);
+                    return batch;
+                },
+                batch -> {
+                    long mark = jobMemory.mark();
+                    long batchStart = System.nanoTime();
+                    processBatch(batch);
+                    sizer.recordBatch(batch.size(), System.nanoTime() - batchStart);
+                    jobMemory.record(mark);
+                },
+                batch -> {
+                    // 결과는 처리 완료 위치/수수료 합계만 남기고 배치는 풀에 반납해서 source 가 다시 씀
+                    long sinkStart = System.nanoTime();
+                    int batchStart = batch.getId(0) - 1;
+                    checkpointer.complete(batchStart, batchStart + batch.size(), feeTotal(batch));
+                    metrics.record(ExtractionMetrics.Phase.SINK, System.nanoTime() - sinkStart, batch.size());
+                    batchPool.release(batch);
+                },
+                UserDataBatch::size);
             
-            for (int i = 0; i < dataSize; i += batchSize) {
-                int currentBatchSize = Math.min(batchSize, dataSize - i);
-                
-                // 소량의 데이터만 메모리에 로딩
-                List<UserData> batch = generateBatchData(i, currentBatchSize);
-                
-                // 배치 처리
-                processBatch(batch);
-                
-                // 즉시 메모리 해제
-                batch.clear();
-                batch = null;
-                
-                processedCount += currentBatchSize;
-                int progress = (processedCount * 100) / dataSize;
-                
-                // 진행률 업데이트
-                if (processedCount % 10000 == 0) {
-                    asyncService.updateJob(jobId, JobStatus.RUNNING, progress, 
-                        String.format("스트리밍 처리 중... (%,d/%,d)", processedCount, dataSize));
-                    
-                    // 주기적으로 메모리 상태 확인
-                    memoryMonitor.measureMemory("배치 처리 중 (진행률: " + progress + "%)");
-                }
-                
-                // 메모리 정리 힌트
-                if (processedCount % 50000 == 0) {
-                    System.gc();
-                }
-            }
+            long startTime = System.currentTimeMillis();
+            long jobStart = System.nanoTime();
+            pipeline.run(pipelinePool, PIPELINE_REPORT_INTERVAL, () -> {
+                long processedCount = startOffset + pipeline.completed();
+                Map<String, String> details = new LinkedHashMap<>(pipeline.describe());
+                details.putAll(sizer.describe());
+                details.putAll(jobMemory.describe());
+                details.put("checkpoint", String.format("%,d건까지 기록 (%,d회), 시작 위치 %,d",
+                    checkpointer.getCheckpointedOffset(), checkpointer.getCheckpointCount(), startOffset));
+                asyncService.updateDetails(jobId, details);
+                asyncService.updateJob(jobId, JobStatus.RUNNING, (int) (processedCount * 100 / Math.max(1, dataSize)),
+                    String.format("스트리밍 처리 중... (%,d/%,d)", processedCount, dataSize));
+            });
+            long elapsed = System.currentTimeMillis() - startTime;
+            metrics.record(ExtractionMetrics.Phase.JOB_TOTAL, System.nanoTime() - jobStart, dataSize - startOffset);
+            checkpointer.finish();
             
-            MemoryMonitor.MemoryInfo endMemory = memoryMonitor.measureMemory("스트리밍 처리 완료");
-            long totalMemoryUsed = memoryMonitor.calculateMemoryDiff(startMemory, endMemory);
+            memoryMonitor.measureMemory("스트리밍 처리 완료");
             
-            String result = String.format("스트리밍 처리 완료 - 총 메모리 사용량: %dMB", totalMemoryUsed);
+            String result = String.format(
+                "스트리밍 처리 완료 - 처리 시간: %,dms, 할당: %,dMB, 작업 중 GC: %d회/%dms, 최종 배치 크기: %,d, "
+                    + "수수료 합계: %,d, 시작 위치: %,d",
+                elapsed, jobMemory.getAllocatedBytes() / 1024 / 1024, jobMemory.getGcCount(),
+                jobMemory.getGcPauseMillis(), sizer.currentSize(), checkpointer.getFeeTotal(), startOffset);
             asyncService.completeJob(jobId, result);
             
             return CompletableFuture.completedFuture(result);
@@ -138,92 +270,218 @@ public class LargeDataService {
     }
     
     /**
-     * 대용량 데이터셋 생성 (메모리에 모든 데이터 로딩)
+     * 50만건 데이터 병렬 스트리밍 처리 (id 범위를 파티션으로 나눠 fork-join 으로 처리)
+     * - 워커는 한 번에 배치 1개만 들고 있으므로 최대 힙 사용량은 (병렬도 × 배치 크기)로 제한됨
      */
-    private List<UserData> generateLargeDataset(int size) {
-        log.info("📝 {}건 데이터 생성 시작", size);
-        
-        List<UserData> dataList = new ArrayList<>(size);
-        
-        for (int i = 0; i < size; i++) {
-            dataList.add(UserData.builder()
-                .id(i + 1)
-                .name("User_" + (i + 1))
-                .email("user" + (i + 1) + "@test.com")
-                .description("This is user number " + (i + 1) + " with some additional data for memory testing purposes.")
-                .createdAt(LocalDateTime.now())
-                .build());
-            
-            // 진행률 로깅
-            if ((i + 1) % 100000 == 0) {
-                log.info("데이터 생성 진행률: {}/{} ({}%)", 
-                    i + 1, size, ((i + 1) * 100) / size);
-            }
+    @Async("extractionExecutor")
+    public CompletableFuture<String> processLargeDataParallelStreaming(String jobId, int dataSize) {
+        try (MemoryMonitor.JobMemory jobMemory = memoryMonitor.startJob(jobId)) {
+            int parallelism = extractionPool.getParallelism();
+            int partitionSize = partitionSize(dataSize, parallelism);
+            log.info("🚀 50만건 데이터 병렬 스트리밍 처리 시작 - 크기: {}, 병렬도: {}, 파티션 크기: {}",
+                dataSize, parallelism, partitionSize);
+            
+            memoryMonitor.measureMemory("병렬 스트리밍 시작 전");
+            
+            long startTime = System.currentTimeMillis();
+            long jobStart = System.nanoTime();
+            ParallelProgress progress = new ParallelProgress(jobId, dataSize, jobMemory);
+            extractionPool.invoke(new PartitionTask(0, dataSize, partitionSize, progress));
+            long elapsed = System.currentTimeMillis() - startTime;
+            metrics.record(ExtractionMetrics.Phase.JOB_TOTAL, System.nanoTime() - jobStart, dataSize);
+            
+            memoryMonitor.measureMemory("병렬 스트리밍 처리 완료");
+            
+            String result = String.format(
+                "병렬 스트리밍 처리 완료 - 병렬도: %d, 처리 시간: %,dms, 할당: %,dMB, 작업 중 GC: %d회/%dms",
+                parallelism, elapsed, jobMemory.getAllocatedBytes() / 1024 / 1024, jobMemory.getGcCount(),
+                jobMemory.getGcPauseMillis());
+            asyncService.updateDetails(jobId, jobMemory.describe());
+            asyncService.completeJob(jobId, result);
+            
+            return CompletableFuture.completedFuture(result);
+            
+        } catch (Exception e) {
+            log.error("병렬 스트리밍 처리 중 오류", e);
+            asyncService.failJob(jobId, "오류 발생: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
-        
-        log.info("✅ {}건 데이터 생성 완료", size);
-        return dataList;
+    }
+    
+    /**
+     * 파티션 크기 계산 (배치 크기 배수로 맞춤)
+     */
+    private static int partitionSize(int dataSize, int parallelism) {
+        int partitions = Math.max(1, parallelism * PARTITIONS_PER_WORKER);
+        int size = (dataSize + partitions - 1) / partitions;
+        int batches = Math.max(1, (size + BATCH_SIZE - 1) / BATCH_SIZE);
+        return batches * BATCH_SIZE;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        extractionPool.shutdownNow();
+        pipelinePool.shutdownNow();
     }
     
     /**
      * 배치 데이터 생성 (소량씩 생성)
      */
-    private List<UserData> generateBatchData(int startIndex, int batchSize) {
-        List<UserData> batch = new ArrayList<>(batchSize);
+    UserDataBatch generateBatchData(int startIndex, int batchSize) {
+        UserDataBatch batch = UserDataBatch.allocate(batchSize, offHeap);
+        fillBatchData(batch, startIndex, batchSize);
+        return batch;
+    }
+    
+    /**
+     * 빈 배치(재사용 배치 포함)에 id startIndex+1 부터 count 건 채움
+     * - 레코드마다 String/LocalDateTime 을 만들지 않음, 생성 시각은 배치당 한 번 읽음
+     */
+    void fillBatchData(UserDataBatch batch, int startIndex, int count) {
+        long startTime = System.nanoTime();
+        long createdAt = System.currentTimeMillis();
         
-        for (int i = 0; i < batchSize; i++) {
+        for (int i = 0; i < count; i++) {
             int id = startIndex + i + 1;
-            batch.add(UserData.builder()
-                .id(id)
-                .name("User_" + id)
-                .email("user" + id + "@test.com")
-                .description("This is user number " + id + " with some additional data for memory testing purposes.")
-                .createdAt(LocalDateTime.now())
-                .build());
+            batch.add(id, NAME, EMAIL, department(id), DESCRIPTION, amount(id), createdAt);
         }
         
-        return batch;
+        metrics.record(ExtractionMetrics.Phase.GENERATE, System.nanoTime() - startTime, count);
+    }
+    
+    // 테스트용 거래 금액 (id 로 정해지는 0 ~ 1천만원 사이 값)
+    static long amount(int id) {
+        return Math.floorMod(id * 2654435761L, 10_000_000L);
+    }
+    
+    private static byte[] department(int id) {
+        return DEPARTMENTS[Department.of(id).ordinal()];
+    }
+    
+    private static byte[][] departmentBytes() {
+        Department[] departments = Department.values();
+        byte[][] bytes = new byte[departments.length][];
+        for (Department department : departments) {
+            bytes[department.ordinal()] = department.name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
     }
     
     /**
-     * 데이터 리스트 처리
+     * 배치 처리 (User 커서 추출 등 다른 서비스에서도 사용)
      */
-    private String processDataList(List<UserData> dataList) {
-        log.info("📊 데이터 처리 시작 - 크기: {}", dataList.size());
-        
-        // 시뮬레이션: 각 데이터에 대해 간단한 처리
-        long totalProcessingTime = 0;
+    public void processBatch(UserDataBatch batch) {
+        long startTime = System.nanoTime();
+        batch.resetProcessedNames();
+        for (int row = 0; row < batch.size(); row++) {
+            // 간단한 데이터 처리 (이름 대문자 + _PROCESSED, 컬럼 버퍼에 바로 기록)
+            batch.appendUpperCasedName(row, PROCESSED_SUFFIX);
+        }
+        feeEngine.apply(batch);
+        metrics.record(ExtractionMetrics.Phase.TRANSFORM, System.nanoTime() - startTime, batch.size());
+    }
+    
+    /**
+     * 재사용 배치에 id startIndex+1 부터 count 건을 생성/처리하고 수수료 합계 반환 (분산 파티션 작업용)
+     */
+    public long processRange(UserDataBatch batch, int startIndex, int count) {
+        batch.clear();
+        fillBatchData(batch, startIndex, count);
+        processBatch(batch);
+        return feeTotal(batch);
+    }
+    
+    // 배치 수수료 합계 (체크포인트 부분 집계)
+    private static long feeTotal(UserDataBatch batch) {
+        long total = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            total += batch.getFee(row);
+        }
+        return total;
+    }
+    
+    /**
+     * id 범위 [start, end) 를 반으로 나누다가 파티션 크기 이하가 되면 배치 단위로 처리
+     */
+    private class PartitionTask extends RecursiveAction {
+        private final int start;
+        private final int end;
+        private final int partitionSize;
+        private final ParallelProgress progress;
         
-        for (UserData data : dataList) {
-            long startTime = System.nanoTime();
-            
-            // 실제 처리 시뮬레이션
-            String processed = data.getName().toUpperCase() + "_PROCESSED";
-            data.setProcessedName(processed);
-            
-            long endTime = System.nanoTime();
-            totalProcessingTime += (endTime - startTime);
+        PartitionTask(int start, int end, int partitionSize, ParallelProgress progress) {
+            this.start = start;
+            this.end = end;
+            this.partitionSize = partitionSize;
+            this.progress = progress;
         }
         
-        log.info("✅ 데이터 처리 완료 - 총 처리 시간: {}ms", 
-            totalProcessingTime / 1_000_000);
+        @Override
+        protected void compute() {
+            int length = end - start;
+            if (length <= partitionSize) {
+                processPartition();
+                return;
+            }
+            // 배치 경계에 맞춰 분할
+            int mid = start + (length / 2 / BATCH_SIZE) * BATCH_SIZE;
+            if (mid <= start) {
+                mid = start + BATCH_SIZE;
+            }
+            invokeAll(new PartitionTask(start, mid, partitionSize, progress),
+                      new PartitionTask(mid, end, partitionSize, progress));
+        }
         
-        return "Processing completed for " + dataList.size() + " records";
+        private void processPartition() {
+            for (int i = start; i < end; i += BATCH_SIZE) {
+                int currentBatchSize = Math.min(BATCH_SIZE, end - i);
+                long mark = progress.jobMemory.mark();
+                UserDataBatch batch = generateBatchData(i, currentBatchSize);
+                processBatch(batch);
+                progress.jobMemory.record(mark);
+                progress.add(currentBatchSize);
+            }
+        }
     }
     
     /**
-     * 배치 처리
+     * 파티션들의 진행률을 하나의 JobInfo 로 합치는 카운터 (+ 파티션 할당량을 모을 작업 메모리 집계)
      */
-    private void processBatch(List<UserData> batch) {
-        for (UserData data : batch) {
-            // 간단한 데이터 처리
-            String processed = data.getName().toUpperCase() + "_PROCESSED";
-            data.setProcessedName(processed);
+    private class ParallelProgress {
+        private final String jobId;
+        private final int dataSize;
+        private final MemoryMonitor.JobMemory jobMemory;
+        private final AtomicInteger processedCount = new AtomicInteger();
+        private int lastReported;
+        
+        ParallelProgress(String jobId, int dataSize, MemoryMonitor.JobMemory jobMemory) {
+            this.jobId = jobId;
+            this.dataSize = dataSize;
+            this.jobMemory = jobMemory;
+        }
+        
+        void add(int count) {
+            int processed = processedCount.addAndGet(count);
+            // 업데이트 간격 경계를 넘은 경우에만 보고
+            if (processed / PROGRESS_INTERVAL != (processed - count) / PROGRESS_INTERVAL) {
+                report(processed);
+            }
+        }
+        
+        // 진행률이 뒤로 가지 않도록 보고만 직렬화 (1만건당 1회라 경합 미미)
+        private synchronized void report(int processed) {
+            if (processed <= lastReported) {
+                return;
+            }
+            lastReported = processed;
+            int progress = (int) ((long) processed * 100 / dataSize);
+            asyncService.updateJob(jobId, JobStatus.RUNNING, progress,
+                String.format("병렬 스트리밍 처리 중... (%,d/%,d)", processed, dataSize));
         }
     }
     
     /**
-     * 테스트용 사용자 데이터 클래스
+     * 테스트용 사용자 데이터 클래스 (레코드 단위 객체 모델, 대량 처리는 UserDataBatch 사용)
      */
     @lombok.Data
     @lombok.Builder
@@ -0,0 +1,246 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.domain.ExtractionMode;
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.pipeline.PipelineSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 대용량 작업 메모리 예산 기반 입장 제어
+ * - 작업별 힙 필요량을 추정 (UserData.getApproximateMemorySize × 실측 보정 배율)
+ * - 실행 중인 작업들이 예약한 합계가 예산(최대 힙 × 비율)을 넘지 않게 관리
+ * - 예산이 모자라면: 대기열(WAITING)에 넣거나 → 스트리밍으로 전환하거나 → 거절(429 + 재시도 힌트)
+ */
+@Service
+@Slf4j
+public class MemoryBudgetService {
+
+    // 전체 결과 보관 / 병렬 스트리밍 배치 크기 (LargeDataService 와 동일)
+    private static final int STREAMING_BATCH_SIZE = 1000;
+    // 보정 배율 반영 비율 (지수 이동 평균)
+    private static final double CALIBRATION_WEIGHT = 0.3;
+    // 보정에 사용할 최소 측정 크기 (MB 단위 측정이라 너무 작으면 오차가 큼)
+    private static final int MIN_CALIBRATION_SIZE = 10000;
+
+    public enum Decision {
+        ADMITTED,     // 바로 실행
+        DOWNGRADED,   // 스트리밍으로 전환해서 실행
+        QUEUED,       // 대기열에서 예산이 날 때까지 대기 (WAITING)
+        REJECTED      // 거절 (재시도 필요)
+    }
+
+    /**
+     * 입장 결과
+     */
+    public record Admission(Decision decision, ExtractionMode mode, long estimatedBytes, int queuePosition,
+                            int retryAfterSeconds) {
+    }
+
+    private final SimpleAsyncService asyncService;
+    private final long budgetBytes;
+    private final int maxQueuedJobs;
+    private final int retryAfterSeconds;
+    // 스트리밍 파이프라인에 동시에 떠 있을 수 있는 배치 수와 기준 배치 크기
+    private final int streamingBatches;
+    private final int streamingBatchSize;
+    // 결과 보관 힙 예산 (넘으면 결과 파일로 spill, 음수면 제한 없음)
+    private final long resultHeapBudgetBytes;
+
+    // 실측으로 보정되는 배율 (추정치 × 배율 = 실제 사용량)
+    private volatile double calibration;
+
+    // 아래 상태는 this 로 보호
+    private long committedBytes;
+    private final Map<String, Long> reservations = new HashMap<>();
+    private final Deque<PendingJob> waiting = new ArrayDeque<>();
+
+    public MemoryBudgetService(SimpleAsyncService asyncService, double heapFraction, int maxQueuedJobs,
+                               int retryAfterSeconds, double initialCalibration) {
+        this(asyncService, heapFraction, maxQueuedJobs, retryAfterSeconds, initialCalibration,
+                PipelineSettings.DEFAULT, BatchSizingSettings.DEFAULT, -1);
+    }
+
+    @Autowired
+    public MemoryBudgetService(SimpleAsyncService asyncService,
+                               @Value("${feeextract.admission.heap-fraction:0.6}") double heapFraction,
+                               @Value("${feeextract.admission.max-queued-jobs:8}") int maxQueuedJobs,
+                               @Value("${feeextract.admission.retry-after-seconds:30}") int retryAfterSeconds,
+                               @Value("${feeextract.admission.initial-calibration:1.0}") double initialCalibration,
+                               PipelineSettings pipelineSettings,
+                               BatchSizingSettings batchSizing,
+                               @Value("${feeextract.result.heap-budget-mb:256}") long resultHeapBudgetMb) {
+        this.asyncService = asyncService;
+        this.budgetBytes = (long) (Runtime.getRuntime().maxMemory() * heapFraction);
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.calibration = initialCalibration;
+        this.streamingBatches = pipelineSettings.maxInFlight();
+        // 배치 크기는 실행 중에 바뀌지만 GC 압박이 오면 컨트롤러가 줄이므로 시작 크기 기준으로 추정
+        this.streamingBatchSize = batchSizing.initialSize();
+        this.resultHeapBudgetBytes = resultHeapBudgetMb < 0 ? -1 : resultHeapBudgetMb * 1024 * 1024;
+    }
+
+    /**
+     * 작업 입장 요청
+     * @param launcher 실제 실행 방식(전환된 경우 스트리밍)을 받아 작업을 시작하고, 끝나면 완료되는 future 반환
+     */
+    public Admission submit(String jobId, ExtractionMode mode, int dataSize,
+                            Function<ExtractionMode, CompletableFuture<?>> launcher) {
+        Admission admission;
+        synchronized (this) {
+            long need = estimateBytes(mode, dataSize);
+            if (need <= budgetBytes - committedBytes) {
+                reserve(jobId, need);
+                admission = new Admission(Decision.ADMITTED, mode, need, 0, 0);
+            } else if (need <= budgetBytes && waiting.size() < maxQueuedJobs) {
+                // 지금은 자리가 없지만 다른 작업이 끝나면 들어갈 수 있음
+                waiting.addLast(new PendingJob(jobId, mode, need, launcher));
+                admission = new Admission(Decision.QUEUED, mode, need, waiting.size(), 0);
+            } else if (mode.isFullLoad()
+                    && estimateBytes(ExtractionMode.STREAMING, dataSize) <= budgetBytes - committedBytes) {
+                long streamingNeed = estimateBytes(ExtractionMode.STREAMING, dataSize);
+                reserve(jobId, streamingNeed);
+                admission = new Admission(Decision.DOWNGRADED, ExtractionMode.STREAMING, streamingNeed, 0, 0);
+            } else {
+                admission = new Admission(Decision.REJECTED, mode, need, 0, retryAfterSeconds);
+            }
+        }
+
+        switch (admission.decision()) {
+            case ADMITTED, DOWNGRADED -> launch(jobId, admission.mode(), launcher);
+            case QUEUED -> asyncService.updateJob(jobId, JobStatus.WAITING, 0,
+                    String.format("메모리 예산 대기 중... (대기 순번: %d, 필요: %,dMB)",
+                            admission.queuePosition(), toMB(admission.estimatedBytes())));
+            case REJECTED -> asyncService.failJob(jobId,
+                    String.format("메모리 예산 초과로 거절됨 (필요: %,dMB, 예산: %,dMB) - %d초 후 재시도",
+                            toMB(admission.estimatedBytes()), toMB(budgetBytes), retryAfterSeconds));
+        }
+        log.info("🎟️ 작업 입장 - ID: {}, 결정: {}, 방식: {}, 필요: {}MB, 사용 중: {}MB/{}MB",
+                jobId, admission.decision(), admission.mode(), toMB(admission.estimatedBytes()),
+                toMB(committedBytes()), toMB(budgetBytes));
+        return admission;
+    }
+
+    /**
+     * 작업 힙 필요량 추정
+     * - 전체 로딩: 건수 × 레코드당 크기 (결과 보관 힙 예산 + 배치 1개를 넘으면 파일로 spill 되므로 그 이상은 아님)
+     * - 스트리밍: 시작 배치 크기 × 레코드당 크기 × 파이프라인에 떠 있을 수 있는 배치 수
+     * - 병렬 스트리밍: 배치 크기 × 레코드당 크기 × 코어 수
+     */
+    public long estimateBytes(ExtractionMode mode, int dataSize) {
+        long recordBytes = (long) Math.ceil(sampleRecord(dataSize).getApproximateMemorySize() * calibration);
+        return switch (mode) {
+            case FULL_LOAD -> resultHeapBudgetBytes < 0
+                    ? recordBytes * dataSize
+                    : Math.min(recordBytes * dataSize, resultHeapBudgetBytes + recordBytes * STREAMING_BATCH_SIZE);
+            case STREAMING -> recordBytes * Math.min(dataSize, (long) streamingBatchSize * streamingBatches);
+            case PARALLEL_STREAMING -> recordBytes * Math.min(dataSize, STREAMING_BATCH_SIZE)
+                    * Runtime.getRuntime().availableProcessors();
+        };
+    }
+
+    /**
+     * 실측값으로 보정 배율 갱신 (전체 로딩 작업의 데이터 생성 후 증가량)
+     */
+    public void recordMeasurement(ExtractionMode mode, int dataSize, long measuredBytes) {
+        if (!mode.isFullLoad() || dataSize < MIN_CALIBRATION_SIZE || measuredBytes <= 0) {
+            return;
+        }
+        double approximate = (double) sampleRecord(dataSize).getApproximateMemorySize() * dataSize;
+        double observed = measuredBytes / approximate;
+        double updated = calibration * (1 - CALIBRATION_WEIGHT) + observed * CALIBRATION_WEIGHT;
+        calibration = updated;
+        log.info("📐 메모리 추정 보정 - 실측/추정: {}, 보정 배율: {}",
+                String.format("%.2f", observed), String.format("%.2f", updated));
+    }
+
+    public double getCalibration() {
+        return calibration;
+    }
+
+    public synchronized long committedBytes() {
+        return committedBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public synchronized int queuedJobs() {
+        return waiting.size();
+    }
+
+    private void launch(String jobId, ExtractionMode mode, Function<ExtractionMode, CompletableFuture<?>> launcher) {
+        try {
+            launcher.apply(mode).whenComplete((result, error) -> release(jobId));
+        } catch (RuntimeException e) {
+            log.error("작업 시작 실패 - ID: {}", jobId, e);
+            asyncService.failJob(jobId, "작업 시작 실패: " + e.getMessage());
+            release(jobId);
+        }
+    }
+
+    // 예약 해제 후, 대기열 앞에서부터 예산에 들어가는 작업 시작
+    private void release(String jobId) {
+        List<PendingJob> admitted = new ArrayList<>();
+        synchronized (this) {
+            Long reserved = reservations.remove(jobId);
+            if (reserved != null) {
+                committedBytes -= reserved;
+            }
+            Iterator<PendingJob> it = waiting.iterator();
+            while (it.hasNext()) {
+                PendingJob next = it.next();
+                if (next.need() > budgetBytes - committedBytes) {
+                    break;   // FIFO 유지 (큰 작업이 계속 밀리지 않도록)
+                }
+                it.remove();
+                reserve(next.jobId(), next.need());
+                admitted.add(next);
+            }
+        }
+        for (PendingJob job : admitted) {
+            asyncService.updateJob(job.jobId(), JobStatus.RUNNING, 0, "메모리 예산 확보 - 작업 시작");
+            launch(job.jobId(), job.mode(), job.launcher());
+        }
+    }
+
+    private void reserve(String jobId, long bytes) {
+        reservations.put(jobId, bytes);
+        committedBytes += bytes;
+    }
+
+    // 추정 기준 레코드 (가장 긴 id 기준)
+    private static LargeDataService.UserData sampleRecord(int dataSize) {
+        int id = Math.max(1, dataSize);
+        return LargeDataService.UserData.builder()
+                .id(id)
+                .name("User_" + id)
+                .email("user" + id + "@test.com")
+                .description("This is user number " + id + " with some additional data for memory testing purposes.")
+                .processedName("USER_" + id + "_PROCESSED")
+                .build();
+    }
+
+    private static long toMB(long bytes) {
+        return bytes / 1024 / 1024;
+    }
+
+    private record PendingJob(String jobId, ExtractionMode mode, long need,
+                              Function<ExtractionMode, CompletableFuture<?>> launcher) {
+    }
+}
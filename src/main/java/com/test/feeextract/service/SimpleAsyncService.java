@@ -1,60 +1,212 @@
 package com.test.feeextract.service;
 
 import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.domain.JobRecord;
 import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.jobstore.JobStore;
+import com.test.feeextract.util.BoundedFanOut;
+import com.test.feeextract.util.PriorityTaskExecutor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @Slf4j
 public class SimpleAsyncService {
 
-    // 작업들을 저장할 map
-    private final Map<String, JobInfo> jobs = new ConcurrentHashMap<>();
+    // 가상 스레드 실행기일 때 배치 동시 실행 수 기본값
+    private static final int VIRTUAL_BATCH_CONCURRENCY = 256;
+    // 저장소에서 읽어 온 작업 캐시 최대 항목 수
+    private static final int READ_CACHE_SIZE = 1024;
+
+    // 작업들을 저장할 map (항목은 제자리 갱신되는 JobRecord)
+    private final Map<String, JobRecord> jobs = new ConcurrentHashMap<>();
+
+    // 종료된 작업 만료 큐
+    // 보존 기간이 모든 작업에 동일하므로 종료 순서 = 만료 순서 → FIFO 큐 앞에서 만료된 것만 꺼내면 됨
+    private final Queue<ExpiringJob> expiryQueue = new ConcurrentLinkedQueue<>();
+
+    // 종료 후 보존 기간
+    private final long retentionNanos;
+
+    // 작업 상태 변경 리스너 (SSE 스트림 등)
+    private final List<JobUpdateListener> listeners = new CopyOnWriteArrayList<>();
+
+    // 배치 팬아웃용 실행기와 동시 실행 수 제한
+    private final Executor batchExecutor;
+    private final int batchConcurrency;
+
+    // 작업 이력 저장소 (없으면 null, 레지스트리에 없는 작업은 여기서 읽음)
+    private final JobStore jobStore;
+    private final long readCacheTtlNanos;
+
+    // 저장소에서 읽어 온 작업 (다른 인스턴스/재시작 전 작업, 없는 작업도 null 로 보관)
+    // 진행 중 작업은 read-cache-ttl 동안만, 종료된 작업은 보존 기간(최소 read-cache-ttl) 동안 보관 (LRU 로 크기 제한)
+    private final Map<String, CachedJob> readCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedJob> eldest) {
+            return size() > READ_CACHE_SIZE;
+        }
+    };
+
+    public SimpleAsyncService() {
+        this(Duration.ofMinutes(10));
+    }
+
+    public SimpleAsyncService(Duration retention) {
+        this(retention, null);
+    }
+
+    public SimpleAsyncService(Duration retention, JobStore jobStore) {
+        this(retention, Runnable::run, 1, jobStore, Duration.ofSeconds(2));
+    }
+
+    @Autowired
+    public SimpleAsyncService(@Value("${feeextract.jobs.retention:10m}") Duration retention,
+                              @Qualifier("taskExecutor") Executor batchExecutor,
+                              @Value("${feeextract.async.batch-concurrency:0}") int batchConcurrency,
+                              ObjectProvider<JobStore> jobStore,
+                              @Value("${feeextract.jobs.read-cache-ttl:2s}") Duration readCacheTtl) {
+        this(retention, batchExecutor, batchConcurrency, jobStore.getIfAvailable(), readCacheTtl);
+    }
+
+    private SimpleAsyncService(Duration retention, Executor batchExecutor, int batchConcurrency,
+                               JobStore jobStore, Duration readCacheTtl) {
+        this.retentionNanos = retention.toNanos();
+        this.batchExecutor = batchExecutor;
+        this.batchConcurrency = batchConcurrency > 0 ? batchConcurrency : defaultConcurrency(batchExecutor);
+        this.jobStore = jobStore;
+        this.readCacheTtlNanos = readCacheTtl.toNanos();
+    }
+
+    // 동시 실행 수 기본값: 스레드 풀이면 워커 수, 가상 스레드면 넉넉히
+    private static int defaultConcurrency(Executor executor) {
+        if (executor instanceof PriorityTaskExecutor pool) {
+            return Math.max(1, pool.getPoolSize());
+        }
+        return VIRTUAL_BATCH_CONCURRENCY;
+    }
 
     // 잡 생성
     public String createJob(String taskName){
         String jobId = UUID.randomUUID().toString();
 
-        jobs.put(jobId,
-                JobInfo.builder()
-                        .jobId(jobId)
-                        .status(JobStatus.RUNNING)
-                        .progress(0)
-                        .message("작업준비중..")
-                        .startTime(LocalDateTime.now())
-                        .build());
+        jobs.put(jobId, new JobRecord(jobId, taskName, JobStatus.RUNNING, 0, "작업준비중.."));
+        for (JobUpdateListener listener : listeners) {
+            listener.onJobUpdated(jobId);
+        }
         return jobId;
     }
 
-    // 작업 상태 업데이트
+    // 다른 인스턴스가 만든 작업을 이 인스턴스 레지스트리에 진행 중으로 등록 (이미 있으면 그대로)
+    public boolean adoptJob(String jobId, String taskName, LocalDateTime startTime, String message) {
+        JobRecord adopted = new JobRecord(jobId, taskName, JobStatus.RUNNING, 0, message, startTime);
+        if (jobs.putIfAbsent(jobId, adopted) != null) {
+            return false;
+        }
+        for (JobUpdateListener listener : listeners) {
+            listener.onJobUpdated(jobId);
+        }
+        return true;
+    }
+
+    // 작업 상태 업데이트 (JobInfo 재생성 없이 제자리 갱신)
     public void updateJob(String jobId , JobStatus status, int progress, String message){
+        JobRecord job = jobs.get(jobId);
+        if (job == null) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("작업 상태 업데이트 - ID: {}, 상태: {}, 진행률: {}%", jobId, status, progress);
+        }
+        if (job.update(status, progress, message)) {
+            // 종료 상태로 바뀐 시점에 한 번만 만료 예약
+            expiryQueue.add(new ExpiringJob(jobId, job, System.nanoTime() + retentionNanos));
+        }
+        for (JobUpdateListener listener : listeners) {
+            listener.onJobUpdated(jobId);
+        }
+    }
+
+    // 작업 부가 정보 갱신 (상태/진행률은 그대로)
+    public void updateDetails(String jobId, Map<String, String> details) {
+        JobRecord job = jobs.get(jobId);
+        if (job == null) {
+            return;
+        }
+        job.updateDetails(details);
+        for (JobUpdateListener listener : listeners) {
+            listener.onJobUpdated(jobId);
+        }
+    }
 
-            jobs.computeIfPresent(jobId,(key,existingJob)->{
-                log.debug("작업 상태 업데이트 - ID: {}, 상태: {}, 진행률: {}%", jobId, status, progress);
-                return JobInfo.builder()
-                        .jobId(existingJob.getJobId())
-                        .status(status)
-                        .progress(progress)
-                        .message(message)
-                        .startTime(existingJob.getStartTime())
-                        .endTime(LocalDateTime.now())
-                        .build();
-            });
+    // 작업 상태 변경 리스너 등록
+    public void addListener(JobUpdateListener listener) {
+        listeners.add(listener);
     }
 
-    // 작업 상태 조회
+    // 작업 상태 조회 (일관된 스냅샷, 레지스트리에 없으면 저장소에서 read-through)
     public JobInfo getJob(String jobId) {
-        return jobs.get(jobId);
+        JobRecord job = jobs.get(jobId);
+        if (job != null) {
+            return job.snapshot();
+        }
+        return jobStore != null ? readThrough(jobId) : null;
+    }
+
+    // 이 인스턴스 레지스트리에 있는 작업만 조회 (저장소는 보지 않음)
+    public JobInfo getLocalJob(String jobId) {
+        JobRecord job = jobs.get(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    // 캐시에 없거나 만료됐으면 저장소 조회, 저장소 오류 시 만료된 캐시라도 반환
+    private JobInfo readThrough(String jobId) {
+        long now = System.nanoTime();
+        CachedJob cached;
+        synchronized (readCache) {
+            cached = readCache.get(jobId);
+        }
+        if (cached != null && now - cached.expireAtNanos() < 0) {
+            return cached.job();
+        }
+        JobInfo job;
+        try {
+            job = jobStore.find(jobId);
+        } catch (RuntimeException e) {
+            log.warn("작업 이력 조회 실패 - ID: {}, {}", jobId, e.getMessage());
+            return cached != null ? cached.job() : null;
+        }
+        long ttl = job != null && !job.getStatus().isActive()
+                ? Math.max(retentionNanos, readCacheTtlNanos) : readCacheTtlNanos;
+        synchronized (readCache) {
+            readCache.put(jobId, new CachedJob(job, now + ttl));
+        }
+        return job;
+    }
+
+    private record CachedJob(JobInfo job, long expireAtNanos) {
     }
 
     // 작업 완료 처리
@@ -68,24 +220,29 @@ public class SimpleAsyncService {
     }
 
 
-    // 주기적으로 오래된 작업 정리 (메모리 누수 방지)
-    @Scheduled(fixedRate = 300000) // 5분마다 실행
-    public void cleanupOldJobs() {
-        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(10);
-        int beforeSize = jobs.size();
-        
-        jobs.entrySet().removeIf(entry -> {
-            JobInfo job = entry.getValue();
-            return job.getStartTime().isBefore(cutoff) && 
-                   (job.getStatus() == JobStatus.COMPLETED || job.getStatus() == JobStatus.FAILED);
-        });
-        
-        int afterSize = jobs.size();
-        if (beforeSize > afterSize) {
-            log.info("🧹 오래된 작업 정리 완료 - 정리 전: {}개, 정리 후: {}개", beforeSize, afterSize);
+    // 보존 기간이 지난 종료 작업 정리 (메모리 누수 방지)
+    // 만료 큐 앞에서 만료된 항목만 꺼내므로 비용은 전체 작업 수가 아니라 만료 대상 수에 비례
+    @Scheduled(fixedDelayString = "${feeextract.jobs.cleanup-interval-ms:10000}")
+    public synchronized void cleanupOldJobs() {
+        long now = System.nanoTime();
+        int removed = 0;
+
+        ExpiringJob head;
+        while ((head = expiryQueue.peek()) != null && now - head.expireAtNanos() >= 0) {
+            expiryQueue.poll();
+            if (jobs.remove(head.jobId(), head.job())) {
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            log.info("🧹 만료된 작업 정리 완료 - 정리: {}개, 남은 작업: {}개", removed, jobs.size());
         }
     }
 
+    private record ExpiringJob(String jobId, JobRecord job, long expireAtNanos) {
+    }
+
     // 현재 메모리 사용량 로깅
     @Scheduled(fixedRate = 60000) // 1분마다 실행
     public void logMemoryUsage() {
@@ -125,7 +282,10 @@ public class SimpleAsyncService {
     // 목적: 사용자 1명 처리 (개별 작업)
     @Async
     public CompletableFuture<String> processUser(String userName) {
+        return CompletableFuture.completedFuture(handleUser(userName));
+    }
 
+    private String handleUser(String userName) {
         try {
             long startTime = System.currentTimeMillis();
             log.info("[{}] 작업시작 ", userName);
@@ -137,24 +297,87 @@ public class SimpleAsyncService {
 
             long endTime =  System.currentTimeMillis();
             log.info("[{}] 작업 처리 시간 : {}", userName ,endTime-startTime);
-            return CompletableFuture.completedFuture(userName + "-데이터 처리 완료!");
+            return userName + "-데이터 처리 완료!";
 
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
     }
 
    // 목적: 여러 사용자 배치 처리
-    @Async
-    public CompletableFuture<String> processBatch(List<String> userNames) {
-        log.info("배치 처리 시작 - 대상: {}", userNames);
+   // - 동시 실행 수를 제한해서 팬아웃하고, 모든 사용자 처리가 끝나야 완료 (호출 스레드는 막히지 않음)
+   // - 전체 소요 시간, 사용자별 p50/p99 처리 시간, 실패 건수를 작업 결과로 기록
+    public CompletableFuture<String> processBatch(String jobId, List<String> userNames) {
+        int total = userNames.size();
+        log.info("배치 처리 시작 - 대상: {}명, 동시 실행: {}", total, batchConcurrency);
         long startTime = System.currentTimeMillis();
-        for(String name : userNames) {
-            processUser(name);
+        BatchProgress progress = new BatchProgress(jobId, total);
+
+        return BoundedFanOut.<String, String>run(userNames, batchConcurrency,
+                        name -> CompletableFuture.supplyAsync(() -> handleUser(name), batchExecutor),
+                        outcome -> progress.finished())
+                .thenApply(outcomes -> {
+                    String summary = summarizeBatch(outcomes, System.currentTimeMillis() - startTime);
+                    log.info(summary);
+                    completeJob(jobId, summary);
+                    return summary;
+                });
+    }
+
+    /**
+     * 배치 진행률 보고 (여러 batchExecutor 스레드에서 호출)
+     */
+    private class BatchProgress {
+        private final String jobId;
+        private final int total;
+        private final AtomicInteger finished = new AtomicInteger();
+        private int lastReported;
+
+        BatchProgress(String jobId, int total) {
+            this.jobId = jobId;
+            this.total = total;
+        }
+
+        void finished() {
+            report(finished.incrementAndGet());
+        }
+
+        // 진행률이 뒤로 가지 않도록 보고만 직렬화 (작은 값을 든 스레드가 늦게 오면 버림)
+        private synchronized void report(int done) {
+            if (done <= lastReported) {
+                return;
+            }
+            lastReported = done;
+            updateJob(jobId, JobStatus.RUNNING, done * 100 / total,
+                    String.format("배치 처리 중... (%d/%d)", done, total));
+        }
+    }
+
+    private String summarizeBatch(List<BoundedFanOut.Outcome<String, String>> outcomes, long elapsedMillis) {
+        long[] latencies = new long[outcomes.size()];
+        List<String> failedUsers = new ArrayList<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            BoundedFanOut.Outcome<String, String> outcome = outcomes.get(i);
+            latencies[i] = outcome.latencyNanos();
+            if (!outcome.isSuccess()) {
+                failedUsers.add(outcome.input());
+            }
+        }
+        Arrays.sort(latencies);
+        return String.format("배치 처리 완료 - 유저수: %d, 성공: %d, 실패: %d%s, 전체 소요: %,dms, p50: %,dms, p99: %,dms",
+                outcomes.size(), outcomes.size() - failedUsers.size(), failedUsers.size(),
+                failedUsers.isEmpty() ? "" : " " + failedUsers,
+                elapsedMillis, percentileMillis(latencies, 50), percentileMillis(latencies, 99));
+    }
+
+    // 정렬된 배열의 백분위수 (nearest-rank)
+    private static long percentileMillis(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
         }
-        long endTime =  System.currentTimeMillis();
-        log.info("유저수:{} , 작업 처리 시간 : {}", userNames.size() ,endTime-startTime);
-        return CompletableFuture.completedFuture(userNames + "-데이터 처리 완료!");
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+        return sortedNanos[Math.max(0, rank - 1)] / 1_000_000;
     }
 
    // 목적: 동기 처리 버전 (비교 실험용)
@@ -0,0 +1,385 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.entity.User;
+import com.test.feeextract.mapper.UserMapper;
+import com.test.feeextract.pipeline.AdaptiveBatchSizer;
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.repository.UserRepository;
+import com.test.feeextract.util.ExtractionMetrics;
+import com.test.feeextract.util.KeysetPartitioner;
+import com.test.feeextract.util.MemoryMonitor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User 테이블 추출
+ * - MyBatis Cursor 로 한 행씩 읽어 UserDataBatch 에 채우고, 찰 때마다 processBatch 로 넘김 (배치 크기는 실행 중 조절)
+ * - 한 번에 배치 1개만 메모리에 있으므로 테이블 크기와 관계없이 힙 사용량 일정
+ * - 병렬 모드: id 분위수로 키셋 범위를 나눠 범위마다 별도 트랜잭션(커넥션)에서 동시에 읽고 처리
+ */
+@Service
+@Slf4j
+public class UserExtractionService {
+
+    // 진행률 업데이트 간격 (건)
+    private static final int PROGRESS_INTERVAL = 10000;
+
+    private final UserMapper userMapper;
+    private final UserRepository userRepository;
+    private final LargeDataService largeDataService;
+    private final SimpleAsyncService asyncService;
+    private final MemoryMonitor memoryMonitor;
+    private final ExtractionMetrics metrics;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int partitions;
+    private final BatchSizingSettings batchSizing;
+
+    // 파티션 읽기/처리 전용 풀 (파티션마다 커넥션을 하나씩 잡으므로 커넥션 풀보다 작게)
+    private final ExecutorService partitionPool;
+
+    public UserExtractionService(UserMapper userMapper,
+                                 UserRepository userRepository,
+                                 LargeDataService largeDataService,
+                                 SimpleAsyncService asyncService,
+                                 MemoryMonitor memoryMonitor,
+                                 ExtractionMetrics metrics,
+                                 PlatformTransactionManager transactionManager,
+                                 BatchSizingSettings batchSizing,
+                                 @Value("${feeextract.extraction.chunk-size:1000}") int chunkSize,
+                                 @Value("${feeextract.extraction.partitions:0}") int partitions) {
+        this.userMapper = userMapper;
+        this.userRepository = userRepository;
+        this.largeDataService = largeDataService;
+        this.asyncService = asyncService;
+        this.memoryMonitor = memoryMonitor;
+        this.metrics = metrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.batchSizing = batchSizing;
+        this.partitions = partitions > 0 ? partitions : Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.partitionPool = Executors.newFixedThreadPool(this.partitions, task -> {
+            Thread thread = new Thread(task, "user-part-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitionPool.shutdownNow();
+    }
+
+    /**
+     * User 테이블 커서 스트리밍 추출
+     */
+    @Async("extractionExecutor")
+    public CompletableFuture<String> extractUsersStreaming(String jobId) {
+        try (MemoryMonitor.JobMemory jobMemory = memoryMonitor.startJob(jobId)) {
+            long total = userRepository.count();
+            log.info("🚀 User 커서 추출 시작 - 대상: {}건, 배치 크기: {}", total, batchSizing);
+            long startTime = System.currentTimeMillis();
+
+            long mark = jobMemory.mark();
+            long processed = readOnlyTransaction.execute(status -> streamAll(jobId, total));
+            jobMemory.record(mark);
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+            metrics.record(ExtractionMetrics.Phase.JOB_TOTAL, elapsed * 1_000_000, (int) processed);
+            String result = String.format("User 커서 추출 완료 - %,d건, 처리 시간: %,dms, 처리량: %,d건/초, 할당: %,dMB, 작업 중 GC: %d회/%dms",
+                    processed, elapsed, processed * 1000 / elapsed, jobMemory.getAllocatedBytes() / 1024 / 1024,
+                    jobMemory.getGcCount(), jobMemory.getGcPauseMillis());
+            log.info(result);
+            asyncService.completeJob(jobId, result);
+            return CompletableFuture.completedFuture(result);
+
+        } catch (Exception e) {
+            log.error("User 커서 추출 중 오류", e);
+            asyncService.failJob(jobId, "오류 발생: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * User 테이블 키셋 파티션 병렬 추출
+     * - id 분위수(OFFSET 으로 샘플링)를 경계로 나눠서 id 가 한쪽에 몰려 있어도 파티션별 행 수가 비슷함
+     * - 파티션마다 자기 커서 + 자기 배치로 처리하고, 건수/처리량은 작업 details 에 파티션별로 보고
+     */
+    @Async("extractionExecutor")
+    public CompletableFuture<String> extractUsersParallel(String jobId) {
+        try (MemoryMonitor.JobMemory jobMemory = memoryMonitor.startJob(jobId)) {
+            long total = userRepository.count();
+            List<KeysetPartitioner.Range> ranges = planRanges(total);
+            log.info("🚀 User 병렬 추출 시작 - 대상: {}건, 파티션: {}", total, ranges);
+            long startTime = System.currentTimeMillis();
+
+            List<PartitionStats> stats = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                stats.add(new PartitionStats(i, ranges.get(i)));
+            }
+            PartitionProgress progress = new PartitionProgress(jobId, total, stats);
+            CompletableFuture<?>[] futures = stats.stream()
+                    .map(partition -> CompletableFuture.runAsync(
+                            () -> {
+                                long mark = jobMemory.mark();
+                                readOnlyTransaction.executeWithoutResult(
+                                        status -> streamPartition(partition, progress));
+                                jobMemory.record(mark);
+                            },
+                            partitionPool))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+            long processed = progress.processed();
+            metrics.record(ExtractionMetrics.Phase.JOB_TOTAL, elapsed * 1_000_000, (int) processed);
+            Map<String, String> details = describe(stats);
+            details.putAll(jobMemory.describe());
+            asyncService.updateDetails(jobId, details);
+            String result = String.format("User 병렬 추출 완료 - %,d건, 파티션: %d개, 처리 시간: %,dms, 처리량: %,d건/초, 할당: %,dMB, %s",
+                    processed, stats.size(), elapsed, processed * 1000 / elapsed,
+                    jobMemory.getAllocatedBytes() / 1024 / 1024, straggler(stats));
+            log.info(result);
+            asyncService.completeJob(jobId, result);
+            return CompletableFuture.completedFuture(result);
+
+        } catch (Exception e) {
+            log.error("User 병렬 추출 중 오류", e);
+            asyncService.failJob(jobId, "오류 발생: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // min/max 와 분위수 id 로 키셋 범위 계산
+    private List<KeysetPartitioner.Range> planRanges(long total) {
+        Long minId = userMapper.selectMinId();
+        Long maxId = userMapper.selectMaxId();
+        if (minId == null || maxId == null) {
+            return List.of();
+        }
+        List<Long> quantiles = new ArrayList<>(partitions - 1);
+        for (long offset : KeysetPartitioner.quantileOffsets(total, partitions)) {
+            Long id = userMapper.selectIdAtOffset(offset);
+            if (id != null) {
+                quantiles.add(id);
+            }
+        }
+        return KeysetPartitioner.partition(minId, maxId, quantiles);
+    }
+
+    private void streamPartition(PartitionStats partition, PartitionProgress progress) {
+        UserDataBatch batch = UserDataBatch.allocate(chunkSize, false);
+        partition.startNanos = System.nanoTime();
+
+        try (Cursor<User> cursor = userMapper.streamRange(partition.range.lower(), partition.range.upper())) {
+            for (User user : cursor) {
+                appendUser(batch, user);
+                if (batch.size() == chunkSize) {
+                    onChunk(partition, progress, flush(batch));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("커서 종료 실패", e);
+        }
+        onChunk(partition, progress, flush(batch));
+        partition.endNanos = System.nanoTime();
+    }
+
+    // 청크 처리 후 집계
+    private void onChunk(PartitionStats partition, PartitionProgress progress, int count) {
+        if (count == 0) {
+            return;
+        }
+        partition.rows += count;
+        progress.add(count);
+    }
+
+    private static Map<String, String> describe(List<PartitionStats> stats) {
+        Map<String, String> details = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        for (PartitionStats partition : stats) {
+            details.put("partition-" + partition.index, partition.describe(now));
+        }
+        return details;
+    }
+
+    // 가장 늦게 끝난 파티션과 평균 대비 소요 시간
+    private static String straggler(List<PartitionStats> stats) {
+        if (stats.isEmpty()) {
+            return "파티션 없음";
+        }
+        PartitionStats slowest = stats.get(0);
+        long sum = 0;
+        for (PartitionStats partition : stats) {
+            sum += partition.totalNanos();
+            if (partition.totalNanos() > slowest.totalNanos()) {
+                slowest = partition;
+            }
+        }
+        double average = (double) sum / stats.size();
+        return String.format("가장 느린 파티션: %d (%,dms, 평균 대비 %.2f배)", slowest.index,
+                slowest.totalNanos() / 1_000_000, average > 0 ? slowest.totalNanos() / average : 1.0);
+    }
+
+    /**
+     * 병렬 추출 진행률 (여러 파티션 스레드에서 호출)
+     * - 전체 처리 건수가 간격을 넘을 때마다 진행률과 파티션별 처리량 보고
+     */
+    private class PartitionProgress {
+        private final String jobId;
+        private final long total;
+        private final List<PartitionStats> stats;
+        private final AtomicLong processed = new AtomicLong();
+        private long lastReported;
+
+        PartitionProgress(String jobId, long total, List<PartitionStats> stats) {
+            this.jobId = jobId;
+            this.total = total;
+            this.stats = stats;
+        }
+
+        void add(int count) {
+            long after = processed.addAndGet(count);
+            if ((after - count) / PROGRESS_INTERVAL != after / PROGRESS_INTERVAL) {
+                report(after);
+            }
+        }
+
+        long processed() {
+            return processed.get();
+        }
+
+        // 진행률이 뒤로 가지 않도록 보고만 직렬화 (1만건당 1회라 경합 미미)
+        private synchronized void report(long after) {
+            if (after <= lastReported) {
+                return;
+            }
+            lastReported = after;
+            asyncService.updateDetails(jobId, describe(stats));
+            reportProgress(jobId, after, total);
+        }
+    }
+
+    /**
+     * 파티션별 처리 현황 (쓰기는 해당 파티션 스레드만, 읽기는 진행률 보고 시 - 필드는 volatile)
+     */
+    private static class PartitionStats {
+        private final int index;
+        private final KeysetPartitioner.Range range;
+        private volatile long rows;
+        private volatile long startNanos;
+        private volatile long endNanos;
+
+        PartitionStats(int index, KeysetPartitioner.Range range) {
+            this.index = index;
+            this.range = range;
+        }
+
+        long elapsedNanos(long now) {
+            return startNanos == 0 ? 0 : Math.max(1, now - startNanos);
+        }
+
+        long totalNanos() {
+            return elapsedNanos(endNanos);
+        }
+
+        String describe(long now) {
+            boolean done = endNanos != 0;
+            long elapsed = elapsedNanos(done ? endNanos : now);
+            long throughput = elapsed > 0 ? rows * 1_000_000_000L / elapsed : 0;
+            return String.format("%s %,d건, %,d건/초%s", range, rows, throughput, done ? " (완료)" : "");
+        }
+    }
+
+    // 커서 한 개로 전체 순회, 배치 크기는 (커서 fetch + 처리) 지연과 GC 피드백으로 조절
+    private long streamAll(String jobId, long total) {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(batchSizing);
+        UserDataBatch batch = UserDataBatch.allocate(sizer.currentSize(), false);
+        long processed = 0;
+        long nextReport = PROGRESS_INTERVAL;
+        long batchStart = System.nanoTime();
+
+        try (Cursor<User> cursor = userMapper.streamAll()) {
+            for (User user : cursor) {
+                appendUser(batch, user);
+                if (batch.size() == batch.capacity()) {
+                    // 커서에서 배치를 채운 시간 = 조회 단계
+                    metrics.record(ExtractionMetrics.Phase.GENERATE, System.nanoTime() - batchStart, batch.size());
+                    int count = flush(batch);
+                    processed += count;
+                    long now = System.nanoTime();
+                    sizer.recordBatch(count, now - batchStart);
+                    batchStart = now;
+                    if (sizer.currentSize() != batch.capacity()) {
+                        batch = UserDataBatch.allocate(sizer.currentSize(), false);
+                    }
+                    if (processed >= nextReport) {
+                        asyncService.updateDetails(jobId, sizer.describe());
+                        reportProgress(jobId, processed, total);
+                        nextReport += PROGRESS_INTERVAL;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("커서 종료 실패", e);
+        }
+        processed += flush(batch);
+        asyncService.updateDetails(jobId, sizer.describe());
+        return processed;
+    }
+
+    // 배치 처리 후 비우고 처리 건수 반환
+    private int flush(UserDataBatch batch) {
+        int size = batch.size();
+        if (size > 0) {
+            largeDataService.processBatch(batch);
+            batch.clear();
+        }
+        return size;
+    }
+
+    private void reportProgress(String jobId, long processed, long total) {
+        int progress = total > 0 ? (int) Math.min(99, processed * 100 / total) : 0;
+        asyncService.updateJob(jobId, JobStatus.RUNNING, progress,
+                String.format("User 커서 추출 중... (%,d/%,d)", processed, total));
+    }
+
+    // amount 가 없는 행 (amount 컬럼 추가 전에 적재) 은 금액 0 으로 계산 → 최소/고정 수수료만 나옴
+    static void appendUser(UserDataBatch batch, User user) {
+        batch.add(Math.toIntExact(user.getId()),
+                nullToEmpty(user.getName()),
+                nullToEmpty(user.getEmail()),
+                nullToEmpty(user.getDepartment()),
+                "",
+                user.getAmount() != null ? user.getAmount() : 0L,
+                user.getCreatedAt() != null
+                        ? user.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : 0L);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
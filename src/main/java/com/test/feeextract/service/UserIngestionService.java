@@ -0,0 +1,104 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.config.AsyncConfig;
+import com.test.feeextract.domain.Department;
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.entity.User;
+import com.test.feeextract.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * User 대량 적재
+ * - ID 는 pooled 시퀀스(1000개 단위)로 할당해서 행마다 ID 조회 없음
+ * - hibernate.jdbc.batch_size 만큼 모아서 JDBC 배치 insert, 매 배치마다 flush/clear 로 영속성 컨텍스트를 비움
+ * - 커밋은 청크(배치 여러 개) 단위
+ */
+@Service
+@Slf4j
+public class UserIngestionService {
+
+    // 한 트랜잭션에서 처리할 배치 수
+    private static final int BATCHES_PER_CHUNK = 10;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final SimpleAsyncService asyncService;
+    private final int batchSize;
+
+    public UserIngestionService(TransactionTemplate transactionTemplate,
+                                UserRepository userRepository,
+                                SimpleAsyncService asyncService,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1000}") int batchSize) {
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.asyncService = asyncService;
+        this.batchSize = batchSize;
+    }
+
+    @Async(AsyncConfig.MAINTENANCE)
+    public CompletableFuture<String> ingestUsers(String jobId, int count) {
+        try {
+            log.info("🚀 User 대량 적재 시작 - 건수: {}, 배치 크기: {}", count, batchSize);
+            long startTime = System.currentTimeMillis();
+            int chunkSize = batchSize * BATCHES_PER_CHUNK;
+            int inserted = 0;
+
+            while (inserted < count) {
+                int from = inserted;
+                int to = Math.min(count, from + chunkSize);
+                transactionTemplate.executeWithoutResult(status -> insertChunk(from, to));
+                inserted = to;
+
+                long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+                asyncService.updateJob(jobId, JobStatus.RUNNING, (int) ((long) inserted * 100 / count),
+                        String.format("User 적재 중... (%,d/%,d, %,d건/초)", inserted, count, inserted * 1000L / elapsed));
+            }
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+            String result = String.format("User 적재 완료 - %,d건, 처리 시간: %,dms, 처리량: %,d건/초, 테이블 전체: %,d건",
+                    count, elapsed, count * 1000L / elapsed, userRepository.count());
+            log.info(result);
+            asyncService.completeJob(jobId, result);
+            return CompletableFuture.completedFuture(result);
+
+        } catch (Exception e) {
+            log.error("User 적재 중 오류", e);
+            asyncService.failJob(jobId, "오류 발생: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // [from, to) 구간 적재, batchSize 마다 flush/clear
+    private void insertChunk(int from, int to) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = from; i < to; i++) {
+            int seq = i + 1;
+            entityManager.persist(User.builder()
+                    .name("User_" + seq)
+                    .email("user" + seq + "@test.com")
+                    .department(Department.of(i).name())
+                    .amount(LargeDataService.amount(seq))
+                    .createdAt(now)
+                    .build());
+
+            if ((i - from + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
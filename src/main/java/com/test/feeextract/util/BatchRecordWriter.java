@@ -0,0 +1,224 @@
+package com.test.feeextract.util;
+
+import com.test.feeextract.domain.ExportFormat;
+import com.test.feeextract.domain.UserDataBatch;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UserDataBatch 를 NDJSON / CSV 바이트로 바로 쓰는 writer
+ * - 컬럼 버퍼의 UTF-8 바이트를 고정 크기 출력 버퍼로 복사 (레코드마다 String/JSON 객체를 만들지 않음)
+ * - 버퍼가 차면 out 에 씀 → 내보내는 건수와 관계없이 힙 사용량 일정
+ * - 필드: id, name, email, department, amount, fee, createdAtMillis, processedName
+ * - NDJSON 은 따옴표/역슬래시/제어문자 escape, CSV 는 , " 줄바꿈이 있으면 따옴표로 감싸고 " 는 두 번
+ */
+public class BatchRecordWriter implements Flushable {
+
+    private static final byte[] CSV_HEADER =
+            "id,name,email,department,amount,fee,createdAtMillis,processedName\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final ExportFormat format;
+    private final byte[] buffer;
+    private int position;
+    // 필드 하나를 escape 전에 복사해 두는 버퍼 (긴 필드가 오면 늘어남)
+    private byte[] field = new byte[256];
+    private long records;
+
+    public BatchRecordWriter(OutputStream out, ExportFormat format, int bufferSize) {
+        this.out = out;
+        this.format = format;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    /**
+     * 형식별 시작 부분 (CSV 헤더)
+     */
+    public void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeRaw(CSV_HEADER, CSV_HEADER.length);
+        }
+    }
+
+    /**
+     * 배치의 모든 행 기록 (처리 결과 컬럼이 비어 있으면 processedName 은 빈 값)
+     */
+    public void write(UserDataBatch batch) throws IOException {
+        boolean processed = batch.processedNames().size() == batch.size();
+        for (int row = 0; row < batch.size(); row++) {
+            if (format == ExportFormat.NDJSON) {
+                writeJson(batch, row, processed);
+            } else {
+                writeCsv(batch, row, processed);
+            }
+            records++;
+        }
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    private void writeJson(UserDataBatch batch, int row, boolean processed) throws IOException {
+        ascii("{\"id\":");
+        number(batch.getId(row));
+        ascii(",\"name\":");
+        jsonString(batch.names(), row);
+        ascii(",\"email\":");
+        jsonString(batch.emails(), row);
+        ascii(",\"department\":");
+        jsonString(batch.departments(), row);
+        ascii(",\"amount\":");
+        number(batch.getAmount(row));
+        ascii(",\"fee\":");
+        number(batch.getFee(row));
+        ascii(",\"createdAtMillis\":");
+        number(batch.getCreatedAtMillis(row));
+        if (processed) {
+            ascii(",\"processedName\":");
+            jsonString(batch.processedNames(), row);
+        }
+        ascii("}\n");
+    }
+
+    private void writeCsv(UserDataBatch batch, int row, boolean processed) throws IOException {
+        number(batch.getId(row));
+        ascii(",");
+        csvString(batch.names(), row);
+        ascii(",");
+        csvString(batch.emails(), row);
+        ascii(",");
+        csvString(batch.departments(), row);
+        ascii(",");
+        number(batch.getAmount(row));
+        ascii(",");
+        number(batch.getFee(row));
+        ascii(",");
+        number(batch.getCreatedAtMillis(row));
+        ascii(",");
+        if (processed) {
+            csvString(batch.processedNames(), row);
+        }
+        ascii("\n");
+    }
+
+    private void jsonString(UserDataBatch.StringColumn column, int row) throws IOException {
+        int length = load(column, row);
+        ensure(1);
+        buffer[position++] = '"';
+        for (int i = 0; i < length; i++) {
+            // 바이트 하나가 최대 \\u00XX (6바이트)
+            ensure(6);
+            byte b = field[i];
+            if (b == '"' || b == '\\') {
+                buffer[position++] = '\\';
+                buffer[position++] = b;
+            } else if (b >= 0 && b < 0x20) {
+                buffer[position++] = '\\';
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[b >> 4];
+                buffer[position++] = HEX[b & 0xF];
+            } else {
+                // 비 ASCII(UTF-8 다중 바이트)는 그대로
+                buffer[position++] = b;
+            }
+        }
+        ensure(1);
+        buffer[position++] = '"';
+    }
+
+    private void csvString(UserDataBatch.StringColumn column, int row) throws IOException {
+        int length = load(column, row);
+        boolean quote = false;
+        for (int i = 0; i < length && !quote; i++) {
+            byte b = field[i];
+            quote = b == ',' || b == '"' || b == '\n' || b == '\r';
+        }
+        if (!quote) {
+            writeRaw(field, length);
+            return;
+        }
+        ensure(1);
+        buffer[position++] = '"';
+        for (int i = 0; i < length; i++) {
+            ensure(2);
+            if (field[i] == '"') {
+                buffer[position++] = '"';
+            }
+            buffer[position++] = field[i];
+        }
+        ensure(1);
+        buffer[position++] = '"';
+    }
+
+    // 컬럼 값을 field 버퍼로 복사
+    private int load(UserDataBatch.StringColumn column, int row) {
+        int length = column.length(row);
+        if (field.length < length) {
+            field = new byte[Math.max(length, field.length * 2)];
+        }
+        return column.copyTo(row, field, 0);
+    }
+
+    private void number(long value) throws IOException {
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        long remaining = value;
+        do {
+            buffer[--end] = (byte) ('0' + Math.abs(remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        position += digits;
+    }
+
+    // 짧은 구분자/키 문자열 (버퍼 최소 크기 이하)
+    private void ascii(String text) throws IOException {
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[position++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeRaw(byte[] bytes, int length) throws IOException {
+        if (length > buffer.length) {
+            drain();
+            out.write(bytes, 0, length);
+            return;
+        }
+        ensure(length);
+        System.arraycopy(bytes, 0, buffer, position, length);
+        position += length;
+    }
+
+    // 버퍼에 additional 바이트(버퍼 최소 크기 이하)를 쓸 자리 확보, 모자라면 out 으로 비움
+    private void ensure(int additional) throws IOException {
+        if (position + additional > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
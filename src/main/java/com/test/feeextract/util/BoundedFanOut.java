@@ -0,0 +1,104 @@
+package com.test.feeextract.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 동시 실행 수를 제한한 비동기 팬아웃
+ * - 처음에 limit 개만 시작하고, 하나가 끝날 때마다 다음 입력을 시작 (완료를 기다리며 막혀 있는 스레드 없음)
+ * - 모든 입력의 결과(성공/실패, 소요 시간)를 입력 순서대로 모아 하나의 future 로 반환
+ * - task 가 동기로 완료돼도 호출이 중첩되지 않음 (시작 요청을 한 루프에서 차례로 처리, 입력이 많아도 스택 깊이 일정)
+ */
+public final class BoundedFanOut {
+
+    private BoundedFanOut() {
+    }
+
+    /**
+     * 입력 1건의 처리 결과
+     */
+    public record Outcome<T, R>(T input, R result, Throwable error, long latencyNanos) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    public static <T, R> CompletableFuture<List<Outcome<T, R>>> run(List<T> inputs, int limit,
+                                                                    Function<T, CompletableFuture<R>> task,
+                                                                    Consumer<Outcome<T, R>> onEach) {
+        int total = inputs.size();
+        if (total == 0) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        FanOut<T, R> fanOut = new FanOut<>(inputs, task, onEach);
+        for (int i = 0; i < Math.min(Math.max(1, limit), total); i++) {
+            fanOut.requestStart();
+        }
+        return fanOut.all;
+    }
+
+    private static final class FanOut<T, R> {
+        private final List<T> inputs;
+        private final Function<T, CompletableFuture<R>> task;
+        private final Consumer<Outcome<T, R>> onEach;
+        private final Outcome<T, R>[] outcomes;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        // 아직 처리 안 된 시작 요청 수 (0 → 1 로 만든 스레드만 루프를 돌며 시작, 나머지는 수만 올리고 바로 반환)
+        private final AtomicInteger startRequests = new AtomicInteger();
+        private final CompletableFuture<List<Outcome<T, R>>> all = new CompletableFuture<>();
+
+        @SuppressWarnings("unchecked")
+        private FanOut(List<T> inputs, Function<T, CompletableFuture<R>> task, Consumer<Outcome<T, R>> onEach) {
+            this.inputs = inputs;
+            this.task = task;
+            this.onEach = onEach;
+            this.outcomes = new Outcome[inputs.size()];
+            this.remaining = new AtomicInteger(inputs.size());
+        }
+
+        // 동기 완료된 task 의 콜백이 다시 시작을 요청해도 호출이 중첩되지 않고 바깥 루프가 이어서 처리
+        private void requestStart() {
+            if (startRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                startNext();
+            } while (startRequests.decrementAndGet() != 0);
+        }
+
+        private void startNext() {
+            int index = next.getAndIncrement();
+            if (index >= inputs.size()) {
+                return;
+            }
+            T input = inputs.get(index);
+            long start = System.nanoTime();
+            CompletableFuture<R> future;
+            try {
+                future = task.apply(input);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((result, error) -> {
+                Outcome<T, R> outcome = new Outcome<>(input, result, error, System.nanoTime() - start);
+                outcomes[index] = outcome;
+                try {
+                    onEach.accept(outcome);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        all.complete(Arrays.asList(outcomes));
+                    } else {
+                        requestStart();
+                    }
+                }
+            });
+        }
+    }
+}
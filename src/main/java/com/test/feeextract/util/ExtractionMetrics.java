@@ -0,0 +1,76 @@
+package com.test.feeextract.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 추출 단계별 지연/처리량 지표
+ * - 건마다가 아니라 배치마다 한 번 기록 (nanoTime 2번 + 히스토그램 카운터 1번)
+ * - 지연은 배치(작업 전체는 작업 1개) 단위, 처리량은 단계에서 실제로 일한 시간 기준 건/초
+ * - /memory-test/metrics 로 노출 (누적값, 수집기가 주기적으로 가져감)
+ */
+@Component
+public class ExtractionMetrics {
+
+    public enum Phase {
+        GENERATE,    // 데이터 생성/조회
+        TRANSFORM,   // 처리 (processBatch)
+        SINK,        // 결과 소비/적재
+        JOB_TOTAL    // 작업 시작~종료
+    }
+
+    /**
+     * 단계 지표 (JSON 응답용, 지연은 마이크로초)
+     */
+    public record PhaseMetrics(long samples, long records, long recordsPerSecond, double meanMicros,
+                               long p50Micros, long p99Micros, long p999Micros, long maxMicros) {
+    }
+
+    private final Map<Phase, PhaseRecorder> recorders = new EnumMap<>(Phase.class);
+
+    public ExtractionMetrics() {
+        for (Phase phase : Phase.values()) {
+            recorders.put(phase, new PhaseRecorder());
+        }
+    }
+
+    /**
+     * 배치(또는 작업) 1개 기록
+     * @param elapsedNanos 소요 시간
+     * @param records      처리 건수
+     */
+    public void record(Phase phase, long elapsedNanos, int records) {
+        PhaseRecorder recorder = recorders.get(phase);
+        recorder.latency.record(elapsedNanos);
+        recorder.records.add(records);
+        recorder.busyNanos.add(elapsedNanos);
+    }
+
+    public Map<String, PhaseMetrics> snapshot() {
+        Map<String, PhaseMetrics> result = new LinkedHashMap<>();
+        for (Map.Entry<Phase, PhaseRecorder> entry : recorders.entrySet()) {
+            result.put(entry.getKey().name().toLowerCase(), entry.getValue().snapshot());
+        }
+        return result;
+    }
+
+    private static class PhaseRecorder {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder records = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+
+        PhaseMetrics snapshot() {
+            LatencyHistogram.Snapshot s = latency.snapshot();
+            long totalRecords = records.sum();
+            long busy = busyNanos.sum();
+            return new PhaseMetrics(s.count(), totalRecords,
+                    busy > 0 ? (long) (totalRecords * 1e9 / busy) : 0,
+                    s.mean() / 1_000,
+                    s.p50() / 1_000, s.p99() / 1_000, s.p999() / 1_000, s.max() / 1_000);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.test.feeextract.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * id 키셋 범위 분할
+ * - 균등 간격(min~max 등분)이 아니라 id 분위수를 경계로 써서, id 가 한쪽에 몰려 있어도 범위마다 행 수가 비슷하게 나뉨
+ * - 분위수가 겹치면(같은 id 에 행이 몰린 경우가 아니라 경계가 중복된 경우) 빈 범위를 만들지 않고 합침
+ */
+public final class KeysetPartitioner {
+
+    private KeysetPartitioner() {
+    }
+
+    /**
+     * id 범위 [lower, upper)
+     */
+    public record Range(long lower, long upper) {
+
+        @Override
+        public String toString() {
+            return "[" + lower + ", " + upper + ")";
+        }
+    }
+
+    /**
+     * 분위수 경계로 범위 분할
+     * @param minId     최소 id
+     * @param maxId     최대 id
+     * @param quantiles 오름차순 분위수 id (범위 시작점이 됨, min/max 밖이거나 중복이면 무시)
+     */
+    public static List<Range> partition(long minId, long maxId, List<Long> quantiles) {
+        if (minId > maxId) {
+            return List.of();
+        }
+        List<Range> ranges = new ArrayList<>(quantiles.size() + 1);
+        long lower = minId;
+        for (long boundary : quantiles) {
+            if (boundary > lower && boundary <= maxId) {
+                ranges.add(new Range(lower, boundary));
+                lower = boundary;
+            }
+        }
+        ranges.add(new Range(lower, maxId + 1));
+        return ranges;
+    }
+
+    /**
+     * 전체 rowCount 건을 partitions 개로 나눌 때 각 경계의 행 위치 (1 ~ partitions-1 번째 분위수)
+     */
+    public static List<Long> quantileOffsets(long rowCount, int partitions) {
+        List<Long> offsets = new ArrayList<>(Math.max(0, partitions - 1));
+        for (int i = 1; i < partitions; i++) {
+            offsets.add(rowCount * i / partitions);
+        }
+        return offsets;
+    }
+}
@@ -1,70 +1,250 @@
 package com.test.feeextract.util;
 
+import com.sun.management.GarbageCollectionNotificationInfo;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
 import java.text.DecimalFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 메모리 모니터 (GC 를 일으키지 않음)
+ * - 힙 사용량: MemoryMXBean / MemoryPoolMXBean 조회만 함 (used 에는 아직 수거 안 된 garbage 포함)
+ * - 마지막 GC 직후 사용량(collection usage)을 같이 제공해서 실제 살아 있는 데이터 크기를 가늠
+ * - GC 알림 리스너로 일시정지 횟수/시간을 누적하고, 실행 중인 작업들에 나눠 기록
+ * - 작업별 할당 바이트: ThreadMXBean 현재 스레드 할당 카운터 (mark/record 한 쌍이 수십 ns, 배치마다 호출 가능)
+ */
 @Component
 @Slf4j
 public class MemoryMonitor {
-    
+
     private final DecimalFormat df = new DecimalFormat("#,###.##");
-    private final Map<String, Long> memorySnapshots = new HashMap<>();
-    
+    private final Map<String, Long> memorySnapshots = new ConcurrentHashMap<>();
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    // GC 알림으로 누적한 일시정지 횟수/시간 (JVM 전체)
+    private final LongAdder gcCount = new LongAdder();
+    private final LongAdder gcPauseMillis = new LongAdder();
+
+    // 실행 중인 작업 (GC 시간을 나눠 기록할 대상)
+    private final Set<JobMemory> activeJobs = ConcurrentHashMap.newKeySet();
+
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener gcListener = this::onGcNotification;
+
+    public MemoryMonitor() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            this.threadBean = bean;
+        } else {
+            this.threadBean = null;
+        }
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter && isPauseCollector(gc.getName())) {
+                emitter.addNotificationListener(gcListener, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException ignored) {
+                // 이미 해제됨
+            }
+        }
+    }
+
     /**
-     * 현재 메모리 사용량 측정 및 로깅
+     * 일시정지를 보고하는 수집기인지 (G1 Concurrent GC, ZGC ... Cycles 처럼 동시 수집 단계를 따로 보고하는 빈 제외)
+     */
+    public static boolean isPauseCollector(String collectorName) {
+        return !collectorName.contains("Concurrent") && !collectorName.contains("Cycles");
+    }
+
+    /**
+     * 현재 메모리 사용량 측정 및 로깅 (GC 를 일으키지 않음)
      */
     public MemoryInfo measureMemory(String phase) {
-        Runtime runtime = Runtime.getRuntime();
-        
-        // 강제 GC 후 측정 (정확한 측정을 위해)
-        System.gc();
-        
-        long maxMemory = runtime.maxMemory();
-        long totalMemory = runtime.totalMemory();
-        long freeMemory = runtime.freeMemory();
-        long usedMemory = totalMemory - freeMemory;
-        
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+        long maxMemory = heap.getMax() > 0 ? heap.getMax() : Runtime.getRuntime().maxMemory();
+        long totalMemory = heap.getCommitted();
+        long usedMemory = heap.getUsed();
+
         MemoryInfo memoryInfo = MemoryInfo.builder()
                 .phase(phase)
                 .usedMemoryMB(usedMemory / 1024 / 1024)
                 .maxMemoryMB(maxMemory / 1024 / 1024)
                 .totalMemoryMB(totalMemory / 1024 / 1024)
-                .freeMemoryMB(freeMemory / 1024 / 1024)
+                .freeMemoryMB((totalMemory - usedMemory) / 1024 / 1024)
                 .usagePercent((double) usedMemory / maxMemory * 100)
+                .liveAfterLastGcMB(liveAfterLastGc() / 1024 / 1024)
+                .gcCount(gcCount.sum())
+                .gcPauseMillis(gcPauseMillis.sum())
                 .build();
-        
+
         // 이전 측정값과 비교
         String prevKey = "prev_" + phase;
-        Long prevMemory = memorySnapshots.get(prevKey);
+        Long prevMemory = memorySnapshots.put(prevKey, usedMemory);
         long memoryDiff = prevMemory != null ? (usedMemory - prevMemory) : 0;
-        
+
         log.info("📊 메모리 상태 [{}]", phase);
-        log.info("   사용 메모리: {}MB / {}MB ({}%)", 
+        log.info("   사용 메모리: {}MB / {}MB ({}%), 마지막 GC 후: {}MB",
                 df.format(memoryInfo.getUsedMemoryMB()),
                 df.format(memoryInfo.getMaxMemoryMB()),
-                df.format(memoryInfo.getUsagePercent()));
-        
+                df.format(memoryInfo.getUsagePercent()),
+                df.format(memoryInfo.getLiveAfterLastGcMB()));
+
         if (memoryDiff != 0) {
             log.info("   메모리 변화: {}MB", df.format(memoryDiff / 1024 / 1024));
         }
-        
-        // 현재 값 저장
-        memorySnapshots.put(prevKey, usedMemory);
-        
+
         return memoryInfo;
     }
-    
+
     /**
      * 메모리 사용량 차이 계산
      */
     public long calculateMemoryDiff(MemoryInfo before, MemoryInfo after) {
         return after.getUsedMemoryMB() - before.getUsedMemoryMB();
     }
-    
+
+    /**
+     * 작업별 할당/GC 집계 시작 (try-with-resources 로 닫으면 집계 종료)
+     */
+    public JobMemory startJob(String jobId) {
+        JobMemory job = new JobMemory(jobId);
+        activeJobs.add(job);
+        return job;
+    }
+
+    /**
+     * 현재 스레드가 지금까지 할당한 바이트 (측정 불가면 -1)
+     */
+    public long currentThreadAllocatedBytes() {
+        return threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    // 힙 풀별 마지막 GC 직후 사용량 합계 (GC 가 아직 없었던 풀은 0)
+    private long liveAfterLastGc() {
+        long live = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                live += usage.getUsed();
+            }
+        }
+        return live;
+    }
+
+    // GC 종료 알림: 일시정지 시간을 전체와 실행 중인 작업에 기록
+    private void onGcNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long duration = info.getGcInfo().getDuration();
+        gcCount.increment();
+        gcPauseMillis.add(duration);
+        for (JobMemory job : activeJobs) {
+            job.gcCount.increment();
+            job.gcPauseMillis.add(duration);
+        }
+    }
+
+    /**
+     * 작업 1개의 할당/GC 집계
+     * - 작업 스레드는 mark() 후 일을 하고 record(mark) 로 그 사이 할당량을 더함 (여러 스레드가 동시에 기록 가능)
+     * - GC 는 JVM 전체 이벤트라 작업 실행 중 발생한 GC 를 모두 기록 (동시에 도는 작업끼리는 겹쳐서 기록됨)
+     */
+    public class JobMemory implements AutoCloseable {
+        private final String jobId;
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder gcCount = new LongAdder();
+        private final LongAdder gcPauseMillis = new LongAdder();
+
+        private JobMemory(String jobId) {
+            this.jobId = jobId;
+        }
+
+        /**
+         * 현재 스레드 할당 카운터 (record 와 같은 스레드에서 호출)
+         */
+        public long mark() {
+            return currentThreadAllocatedBytes();
+        }
+
+        /**
+         * mark 이후 현재 스레드가 할당한 바이트를 작업에 더하고 그 값을 반환
+         */
+        public long record(long mark) {
+            if (mark < 0) {
+                return 0;
+            }
+            long delta = currentThreadAllocatedBytes() - mark;
+            allocatedBytes.add(delta);
+            return delta;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        public long getGcCount() {
+            return gcCount.sum();
+        }
+
+        public long getGcPauseMillis() {
+            return gcPauseMillis.sum();
+        }
+
+        /**
+         * 작업 details 용 요약
+         */
+        public Map<String, String> describe() {
+            return Map.of(
+                    "memory.allocated", String.format("%,dMB", getAllocatedBytes() / 1024 / 1024),
+                    "memory.gc", String.format("%,d회, 일시정지 %,dms (작업 실행 중 JVM 전체)", getGcCount(), getGcPauseMillis()));
+        }
+
+        @Override
+        public void close() {
+            activeJobs.remove(this);
+        }
+    }
+
     /**
      * 메모리 정보 DTO
      */
@@ -72,10 +252,13 @@ public class MemoryMonitor {
     @lombok.Builder
     public static class MemoryInfo {
         private String phase;
-        private long usedMemoryMB;
+        private long usedMemoryMB;       // 현재 힙 사용량 (수거 전 garbage 포함)
         private long maxMemoryMB;
         private long totalMemoryMB;
         private long freeMemoryMB;
         private double usagePercent;
+        private long liveAfterLastGcMB;  // 마지막 GC 직후 힙 사용량 (살아 있는 데이터 근사)
+        private long gcCount;            // 누적 GC 횟수 (모니터 생성 이후)
+        private long gcPauseMillis;      // 누적 GC 일시정지 시간
     }
 }
@@ -0,0 +1,126 @@
+package com.test.feeextract.util;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 우선순위 대기열을 가진 고정 크기 실행기 (작업 종류별 bulkhead 로 하나씩 사용)
+ * - 대기열 순서: 들어온 시각 + 우선순위 × aging (작은 값 먼저, 같으면 들어온 순서)
+ *   → 우선순위가 높은 작업이 앞지르지만, 낮은 작업도 aging × 우선순위 차이만큼 기다리면 먼저 실행됨 (기아 없음)
+ * - 작업마다 대기 시간/실행 시간을 히스토그램에 기록 (/async/executors)
+ */
+public class PriorityTaskExecutor implements AsyncTaskExecutor {
+
+    /**
+     * 실행기 지표 (JSON 응답용, 시간은 마이크로초)
+     */
+    public record Stats(String name, int poolSize, int activeThreads, int queuedTasks, long completedTasks,
+                        double queueWaitMeanMicros, long queueWaitP50Micros, long queueWaitP99Micros,
+                        long queueWaitMaxMicros, long runP50Micros, long runP99Micros) {
+    }
+
+    private final String name;
+    private final long agingNanos;
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    public PriorityTaskExecutor(String name, int poolSize, Duration aging) {
+        this.name = name;
+        this.agingNanos = aging.toNanos();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new CustomizableThreadFactory(name + "-"));
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long now = System.nanoTime();
+        int priority = TaskPriority.current();
+        try {
+            pool.execute(new PrioritizedTask(task, now, now + priority * agingNanos, sequence.getAndIncrement()));
+        } catch (RejectedExecutionException e) {
+            throw new TaskRejectedException(name + " 실행기가 작업을 받지 않음 (종료됨)", e);
+        }
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return pool.getCorePoolSize();
+    }
+
+    public Stats snapshot() {
+        LatencyHistogram.Snapshot wait = queueWait.snapshot();
+        LatencyHistogram.Snapshot run = runTime.snapshot();
+        return new Stats(name, pool.getCorePoolSize(), pool.getActiveCount(), pool.getQueue().size(),
+                pool.getCompletedTaskCount(), wait.mean() / 1_000, wait.p50() / 1_000, wait.p99() / 1_000,
+                wait.max() / 1_000, run.p50() / 1_000, run.p99() / 1_000);
+    }
+
+    /**
+     * 실행 중인 작업은 인터럽트하고 대기 중인 작업은 버림 (빈 소멸 시 호출)
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private final Runnable task;
+        private final long enqueuedNanos;
+        private final long deadlineNanos;
+        private final long sequence;
+
+        private PrioritizedTask(Runnable task, long enqueuedNanos, long deadlineNanos, long sequence) {
+            this.task = task;
+            this.enqueuedNanos = enqueuedNanos;
+            this.deadlineNanos = deadlineNanos;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            queueWait.record(start - enqueuedNanos);
+            try {
+                task.run();
+            } finally {
+                runTime.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            // nanoTime 은 차이로만 비교
+            int byDeadline = Long.signum(deadlineNanos - other.deadlineNanos);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
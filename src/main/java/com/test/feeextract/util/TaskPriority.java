@@ -0,0 +1,53 @@
+package com.test.feeextract.util;
+
+import java.util.function.Supplier;
+
+/**
+ * 비동기 작업 우선순위 (작은 값이 먼저 실행)
+ * - @Async 호출은 호출한 스레드에서 실행기에 넣어지므로, 호출 전후로 스레드 로컬에 우선순위를 걸어 두면 실행기가 읽어 감
+ * - 지정하지 않으면 DEFAULT
+ */
+public final class TaskPriority {
+
+    public static final int HIGHEST = 0;
+    public static final int DEFAULT = 5;
+    public static final int LOWEST = 10;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private TaskPriority() {
+    }
+
+    public static int current() {
+        Integer priority = CURRENT.get();
+        return priority != null ? priority : DEFAULT;
+    }
+
+    /**
+     * priority 를 걸고 action 실행 (action 안에서 호출한 @Async 메서드가 이 우선순위로 대기열에 들어감)
+     */
+    public static <T> T with(int priority, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(Math.max(HIGHEST, Math.min(LOWEST, priority)));
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * 처리 건수 기준 우선순위 (작은 작업 먼저): 1만건 2, 10만건대 3, 100만건대 4 ...
+     */
+    public static int forRecords(long records) {
+        int digits = 0;
+        for (long r = records; r >= 10; r /= 10) {
+            digits++;
+        }
+        return Math.max(HIGHEST, Math.min(LOWEST, digits - 2));
+    }
+}
@@ -0,0 +1,91 @@
+package com.test.feeextract.checkpoint;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CheckpointLogTest {
+
+    @TempDir
+    Path directory;
+
+    CheckpointLog open(int intervalBatches) throws IOException {
+        return new CheckpointLog(directory.toString(), intervalBatches, false);
+    }
+
+    @Test
+    @DisplayName("순서가 바뀐 배치는 빈틈이 메워질 때까지 처리 완료 위치에 반영하지 않음")
+    void 순서바뀐배치_연속구간만반영() throws IOException {
+        CheckpointLog checkpointLog = open(1);
+        JobCheckpointer checkpointer = checkpointLog.start("job-1", 3000, null);
+
+        checkpointer.complete(1000, 2000, 20);
+        assertEquals(0, checkpointer.getOffset());
+        assertEquals(0, checkpointLog.latest("job-1").offset());
+
+        checkpointer.complete(0, 1000, 10);
+        assertEquals(2000, checkpointer.getOffset());
+        assertEquals(30, checkpointer.getFeeTotal());
+        assertEquals(2000, checkpointLog.latest("job-1").offset());
+        assertThrows(IllegalArgumentException.class, () -> checkpointer.complete(500, 1500, 0));
+    }
+
+    @Test
+    @DisplayName("재시작하면 마지막 체크포인트부터 재개 가능, 끝난 작업과 잘린 줄은 제외")
+    void 재시작후_재개목록() throws IOException {
+        CheckpointLog checkpointLog = open(2);
+        JobCheckpointer running = checkpointLog.start("running", 5000, null);
+        for (int start = 0; start < 3000; start += 1000) {
+            running.complete(start, start + 1000, 7);
+        }
+        JobCheckpointer done = checkpointLog.start("done", 1000, null);
+        done.complete(0, 1000, 1);
+        done.finish();
+        checkpointLog.close();
+        // 기록 도중 멈춘 마지막 줄
+        Files.writeString(directory.resolve(CheckpointLog.FILE_NAME), "running\t5000\t40",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        CheckpointLog restarted = open(2);
+        List<Checkpoint> resumable = restarted.resumable();
+
+        assertEquals(1, resumable.size());
+        Checkpoint checkpoint = resumable.get(0);
+        assertEquals("running", checkpoint.jobId());
+        assertEquals(2000, checkpoint.offset());
+        assertEquals(14, checkpoint.feeTotal());
+        assertEquals(3000, checkpoint.remaining());
+        assertEquals(1, Files.readAllLines(directory.resolve(CheckpointLog.FILE_NAME)).size());
+    }
+
+    @Test
+    @DisplayName("재개한 작업은 원래 위치부터 이어가고 원래 작업은 재개 대상에서 빠짐")
+    void 재개_원래작업종료() throws IOException {
+        CheckpointLog checkpointLog = open(1);
+        JobCheckpointer first = checkpointLog.start("first", 3000, null);
+        first.complete(0, 1000, 5);
+        checkpointLog.close();
+
+        CheckpointLog restarted = open(1);
+        Checkpoint claimed = restarted.claim("first");
+        assertNull(restarted.claim("first"));
+        JobCheckpointer resumed = restarted.start("second", claimed.dataSize(), claimed);
+        resumed.complete(1000, 3000, 10);
+        resumed.finish();
+
+        assertEquals(3000, resumed.getOffset());
+        assertEquals(15, resumed.getFeeTotal());
+        restarted.close();
+        assertTrue(open(1).resumable().isEmpty());
+    }
+}
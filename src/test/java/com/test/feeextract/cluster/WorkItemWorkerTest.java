@@ -0,0 +1,296 @@
+package com.test.feeextract.cluster;
+
+import com.test.feeextract.checkpoint.CheckpointLog;
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.domain.WorkItemStatus;
+import com.test.feeextract.entity.WorkItem;
+import com.test.feeextract.fee.FeeRuleEngine;
+import com.test.feeextract.mapper.WorkItemMapper;
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.pipeline.PipelineSettings;
+import com.test.feeextract.result.ResultStore;
+import com.test.feeextract.service.LargeDataService;
+import com.test.feeextract.service.MemoryBudgetService;
+import com.test.feeextract.service.SimpleAsyncService;
+import com.test.feeextract.util.ExtractionMetrics;
+import com.test.feeextract.util.MemoryMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class WorkItemWorkerTest {
+
+    private static final long LEASE_MS = 15000;
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    // 조건부 UPDATE 의미를 그대로 흉내 낸 메모리 작업 테이블
+    static class MemoryWorkItemMapper implements WorkItemMapper {
+        final Map<String, WorkItem> rows = new LinkedHashMap<>();
+
+        @Override
+        public synchronized int insertAll(List<WorkItem> items) {
+            items.forEach(item -> rows.put(item.getId(), copy(item)));
+            return items.size();
+        }
+
+        @Override
+        public synchronized List<WorkItem> findClaimable(long now, int maxAttempts, int limit) {
+            return rows.values().stream()
+                    .filter(item -> claimable(item, now) && item.getAttempts() < maxAttempts)
+                    .limit(limit).map(MemoryWorkItemMapper::copy).toList();
+        }
+
+        @Override
+        public synchronized int claim(String id, String owner, long now, long leaseUntil, int maxAttempts) {
+            WorkItem item = rows.get(id);
+            if (item == null || !claimable(item, now) || item.getAttempts() >= maxAttempts) {
+                return 0;
+            }
+            item.setStatus(WorkItemStatus.CLAIMED);
+            item.setLeaseOwner(owner);
+            item.setLeaseUntil(leaseUntil);
+            item.setAttempts(item.getAttempts() + 1);
+            return 1;
+        }
+
+        @Override
+        public synchronized int renew(String id, String owner, long now, long leaseUntil, long processed,
+                                      long feeTotal) {
+            WorkItem item = owned(id, owner);
+            if (item == null) {
+                return 0;
+            }
+            item.setLeaseUntil(leaseUntil);
+            item.setProcessed(processed);
+            item.setFeeTotal(feeTotal);
+            return 1;
+        }
+
+        @Override
+        public synchronized int complete(String id, String owner, long now, long processed, long feeTotal) {
+            WorkItem item = owned(id, owner);
+            if (item == null) {
+                return 0;
+            }
+            item.setStatus(WorkItemStatus.DONE);
+            item.setProcessed(processed);
+            item.setFeeTotal(feeTotal);
+            return 1;
+        }
+
+        @Override
+        public synchronized int release(String id, String owner, long now) {
+            WorkItem item = owned(id, owner);
+            if (item == null) {
+                return 0;
+            }
+            item.setStatus(WorkItemStatus.PENDING);
+            item.setLeaseOwner(null);
+            return 1;
+        }
+
+        @Override
+        public synchronized int failExhausted(long now, int maxAttempts) {
+            int failed = 0;
+            for (WorkItem item : rows.values()) {
+                if (item.getAttempts() >= maxAttempts && claimable(item, now)) {
+                    item.setStatus(WorkItemStatus.FAILED);
+                    failed++;
+                }
+            }
+            return failed;
+        }
+
+        @Override
+        public synchronized List<String> findRecentJobIds(long createdBefore, long updatedSince) {
+            return rows.values().stream()
+                    .filter(item -> item.getCreatedAt() <= createdBefore && (!item.getStatus().isFinished()
+                            || item.getUpdatedAt() >= updatedSince))
+                    .map(WorkItem::getJobId).distinct().toList();
+        }
+
+        @Override
+        public synchronized List<WorkItem> findByJobId(String jobId) {
+            return rows.values().stream().filter(item -> item.getJobId().equals(jobId))
+                    .sorted(Comparator.comparingInt(WorkItem::getPartitionNo)).map(MemoryWorkItemMapper::copy).toList();
+        }
+
+        private WorkItem owned(String id, String owner) {
+            WorkItem item = rows.get(id);
+            return item != null && item.getStatus() == WorkItemStatus.CLAIMED && owner.equals(item.getLeaseOwner())
+                    ? item : null;
+        }
+
+        private static boolean claimable(WorkItem item, long now) {
+            return item.getStatus() == WorkItemStatus.PENDING
+                    || (item.getStatus() == WorkItemStatus.CLAIMED && item.getLeaseUntil() < now);
+        }
+
+        private static WorkItem copy(WorkItem item) {
+            return item.toBuilder().build();
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    MemoryWorkItemMapper mapper = new MemoryWorkItemMapper();
+    SimpleAsyncService asyncService = new SimpleAsyncService();
+    LargeDataService largeDataService;
+    ClusterJobService clusterJobService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MemoryBudgetService memoryBudget = new MemoryBudgetService(asyncService, 0.6, 8, 30, 1.0);
+        largeDataService = new LargeDataService(new MemoryMonitor(), asyncService, memoryBudget,
+                PipelineSettings.DEFAULT, BatchSizingSettings.DEFAULT, new ExtractionMetrics(),
+                new FeeRuleEngine(new ClassPathResource("fee-rules.conf"), true),
+                new ResultStore(asyncService, directory.resolve("results").toString(), 1, 1),
+                new CheckpointLog(directory.resolve("checkpoints").toString(), 20, false));
+        clusterJobService = new ClusterJobService(mapper, asyncService, 1000);
+    }
+
+    // 노드 1개 (executor 가 null 이면 점유한 파티션을 바로 처리)
+    WorkItemWorker node(String name, Instant now, List<Runnable> deferred) {
+        return new WorkItemWorker(mapper, largeDataService, deferred == null ? Runnable::run : deferred::add,
+                Clock.fixed(now, ZoneOffset.UTC), name, 2, LEASE_MS, 5);
+    }
+
+    // 한 노드에서 처음부터 끝까지 처리했을 때의 수수료 합계
+    long expectedFeeTotal(int dataSize) {
+        UserDataBatch batch = UserDataBatch.allocate(1000, false);
+        long total = 0;
+        for (int start = 0; start < dataSize; start += 1000) {
+            total += largeDataService.processRange(batch, start, Math.min(1000, dataSize - start));
+        }
+        return total;
+    }
+
+    @Test
+    @DisplayName("여러 노드가 파티션을 나눠 처리하고 하나의 작업으로 집계")
+    void 노드분산처리_집계(){
+        String jobId = clusterJobService.submit(3500, 1000);
+        WorkItemWorker nodeA = node("node-a", NOW, null);
+        WorkItemWorker nodeB = node("node-b", NOW, null);
+
+        assertEquals(2, nodeA.poll());
+        assertEquals(2, nodeB.poll());
+        assertEquals(0, nodeB.poll());
+        clusterJobService.rollUp();
+
+        ClusterJobSummary summary = clusterJobService.summarize(jobId);
+        assertEquals(4, summary.done());
+        assertEquals(3500, summary.processed());
+        assertEquals(expectedFeeTotal(3500), summary.feeTotal());
+        assertEquals(100, asyncService.getJob(jobId).getProgress());
+        assertTrue(asyncService.getJob(jobId).getStatus().isCompleted());
+    }
+
+    @Test
+    @DisplayName("죽은 노드의 파티션은 임대 만료 후 다른 노드가 마지막 heartbeat 위치부터 처리")
+    void 임대만료_재점유(){
+        String jobId = clusterJobService.submit(3000, 3000);
+        List<Runnable> stuck = new ArrayList<>();
+        WorkItemWorker dead = node("node-dead", NOW, stuck);
+        assertEquals(1, dead.poll());
+        // 죽기 전 마지막 heartbeat: 앞 1000건 처리 완료
+        UserDataBatch batch = UserDataBatch.allocate(1000, false);
+        mapper.renew(jobId + "#0", "node-dead", NOW.toEpochMilli(), NOW.toEpochMilli() + LEASE_MS, 1000,
+                largeDataService.processRange(batch, 0, 1000));
+
+        assertEquals(0, node("node-b", NOW.plusMillis(LEASE_MS - 1), null).poll());
+        WorkItemWorker survivor = node("node-b", NOW.plusMillis(LEASE_MS + 1), null);
+        assertEquals(1, survivor.poll());
+
+        ClusterJobSummary summary = clusterJobService.summarize(jobId);
+        assertEquals(1, summary.done());
+        assertEquals(3000, summary.processed());
+        assertEquals(expectedFeeTotal(3000), summary.feeTotal());
+
+        // 늦게 깨어난 노드는 임대를 잃었으므로 결과를 덮어쓰지 못함
+        dead.heartbeat();
+        stuck.forEach(Runnable::run);
+        assertEquals(WorkItemStatus.DONE, mapper.findByJobId(jobId).get(0).getStatus());
+        assertEquals("node-b", mapper.findByJobId(jobId).get(0).getLeaseOwner());
+    }
+
+    @Test
+    @DisplayName("작업을 등록한 노드가 재시작해도 다른 노드가 집계를 이어받아 작업을 완료")
+    void 등록노드재시작_집계이어받기(){
+        String jobId = clusterJobService.submit(3000, 1000);
+        // 재시작한 노드: 레지스트리가 비어 있음
+        SimpleAsyncService restarted = new SimpleAsyncService();
+        ClusterJobService otherNode = new ClusterJobService(mapper, restarted, 1000, Duration.ofMinutes(10),
+                Duration.ZERO);
+
+        assertEquals(2, node("node-b", NOW, null).poll());
+        assertEquals(1, otherNode.adoptOrphans());
+        assertEquals(0, otherNode.adoptOrphans());
+        assertEquals(1, node("node-b", NOW, null).poll());
+        otherNode.rollUp();
+
+        assertTrue(restarted.getJob(jobId).getStatus().isCompleted());
+        assertEquals(100, restarted.getJob(jobId).getProgress());
+    }
+
+    @Test
+    @DisplayName("heartbeat 가 밀려 임대 시간이 지나면 처리 노드가 스스로 멈추고 다른 노드가 이어서 처리")
+    void 임대시간초과_스스로중단(){
+        String jobId = clusterJobService.submit(3000, 3000);
+        AtomicLong now = new AtomicLong(NOW.toEpochMilli());
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(now.get());
+            }
+        };
+        List<Runnable> stalled = new ArrayList<>();
+        WorkItemWorker slow = new WorkItemWorker(mapper, largeDataService, stalled::add, clock, "node-slow", 2,
+                LEASE_MS, 5);
+        assertEquals(1, slow.poll());
+
+        // 연장 없이 임대 시간이 지난 뒤에야 처리 시작
+        now.addAndGet(LEASE_MS);
+        stalled.forEach(Runnable::run);
+        assertEquals(WorkItemStatus.CLAIMED, mapper.findByJobId(jobId).get(0).getStatus());
+        assertEquals(0, mapper.findByJobId(jobId).get(0).getProcessed());
+
+        assertEquals(1, node("node-b", NOW.plusMillis(LEASE_MS + 1), null).poll());
+        assertEquals(expectedFeeTotal(3000), clusterJobService.summarize(jobId).feeTotal());
+    }
+
+    @Test
+    @DisplayName("인스턴스 ID 없이는 노드 시작 안 함")
+    void 인스턴스ID없음_시작실패() {
+        assertThrows(IllegalStateException.class,
+                () -> new WorkItemWorker(mapper, largeDataService, " ", 2, LEASE_MS, 5000, 5));
+    }
+}
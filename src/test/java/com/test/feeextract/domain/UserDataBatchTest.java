@@ -0,0 +1,88 @@
+package com.test.feeextract.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class UserDataBatchTest {
+
+    @Test
+    @DisplayName("컬럼 배치 저장/조회")
+    void 컬럼배치_저장조회(){
+        UserDataBatch batch = UserDataBatch.allocate(2, false);
+        batch.add(1, "User_1", "user1@test.com", "SALES", "설명", 1000L);
+        batch.add(2, "User_2", "user2@test.com", "HR", "desc", 2000L);
+
+        assertEquals(2, batch.size());
+        assertEquals(2, batch.getId(1));
+        assertEquals("User_1", batch.getName(0));
+        assertEquals("설명", batch.getDescription(0));
+        assertEquals("HR", batch.getDepartment(1));
+        assertEquals(2000L, batch.getCreatedAtMillis(1));
+        assertNull(batch.getProcessedName(0));
+    }
+
+    @Test
+    @DisplayName("오프힙 배치 버퍼 증가")
+    void 오프힙_버퍼증가(){
+        UserDataBatch batch = UserDataBatch.allocate(1, true);
+        String longDescription = "x".repeat(1000);
+        batch.add(1, "User_1", "user1@test.com", "SALES", longDescription, 0L);
+        batch.resetProcessedNames();
+        batch.appendProcessedName("USER_1_PROCESSED");
+
+        assertTrue(batch.isOffHeap());
+        assertEquals(longDescription, batch.getDescription(0));
+        assertEquals("USER_1_PROCESSED", batch.getProcessedName(0));
+    }
+
+    @Test
+    @DisplayName("배치 재사용")
+    void 배치_재사용(){
+        UserDataBatch batch = UserDataBatch.allocate(1, false);
+        batch.add(1, "User_1", "a", "HR", "b", 0L);
+        batch.clear();
+        batch.add(2, "User_2", "c", "HR", "d", 0L);
+
+        assertEquals(1, batch.size());
+        assertEquals("User_2", batch.getName(0));
+        assertThrows(IllegalStateException.class, () -> batch.add(3, "User_3", "e", "HR", "f", 0L));
+    }
+
+    @Test
+    @DisplayName("번호 템플릿으로 저장")
+    void 번호템플릿_저장(){
+        UserDataBatch batch = UserDataBatch.allocate(2, true);
+        UserDataBatch.NumberedText name = UserDataBatch.NumberedText.of("User_", "");
+        UserDataBatch.NumberedText email = UserDataBatch.NumberedText.of("user", "@test.com");
+        byte[] department = "HR".getBytes();
+        batch.add(1234567890, name, email, department, UserDataBatch.NumberedText.of("no ", "."), 5000L, 1000L);
+        batch.add(-7, name, email, department, UserDataBatch.NumberedText.of("", ""), 0L, 2000L);
+
+        assertEquals("User_1234567890", batch.getName(0));
+        assertEquals(5000L, batch.getAmount(0));
+        assertEquals("user1234567890@test.com", batch.getEmail(0));
+        assertEquals("HR", batch.getDepartment(0));
+        assertEquals("no 1234567890.", batch.getDescription(0));
+        assertEquals("User_-7", batch.getName(1));
+        assertEquals("-7", batch.getDescription(1));
+        assertThrows(IllegalArgumentException.class, () -> UserDataBatch.NumberedText.of("사용자_", ""));
+    }
+
+    @Test
+    @DisplayName("이름 대문자 변환 (ASCII / 비 ASCII)")
+    void 이름_대문자변환(){
+        UserDataBatch batch = UserDataBatch.allocate(2, false);
+        batch.add(1, "User_1", "a", "HR", "b", 0L);
+        batch.add(2, "café_2", "c", "HR", "d", 0L);
+        byte[] suffix = "_PROCESSED".getBytes();
+        batch.resetProcessedNames();
+        batch.appendUpperCasedName(0, suffix);
+        batch.appendUpperCasedName(1, suffix);
+
+        assertEquals("USER_1_PROCESSED", batch.getProcessedName(0));
+        assertEquals("CAFÉ_2_PROCESSED", batch.getProcessedName(1));
+    }
+}
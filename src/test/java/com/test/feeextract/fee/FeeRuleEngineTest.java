@@ -0,0 +1,105 @@
+package com.test.feeextract.fee;
+
+import com.test.feeextract.domain.Department;
+import com.test.feeextract.domain.UserDataBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class FeeRuleEngineTest {
+
+    private static final String RULES = """
+            # 주석
+            sales-large | department == SALES && amount >= 5000000 | rate 0.8% max 10000
+            sales       | department == SALES                      | rate 1.25% min 1000
+            internal    | department in (HR, FINANCE)              | fixed 500
+            new-eng     | department != SALES && createdAt >= 2024-01-01 | tiered 0:2%, 1000000:1.5%, 5000000:1%
+            default     | *                                        | rate 1.5%
+            unreachable | department == HR                         | fixed 1
+            """;
+
+    FeeRuleParser parser = new FeeRuleParser(ZoneOffset.UTC);
+
+    List<FeeRule> rules() throws IOException {
+        return parser.parse(new StringReader(RULES));
+    }
+
+    UserDataBatch row(String department, long amount, LocalDate createdAt) {
+        UserDataBatch batch = UserDataBatch.allocate(1, false);
+        batch.add(1, "User_1", "a", department, "b", amount,
+                createdAt.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli());
+        return batch;
+    }
+
+    @Test
+    @DisplayName("규칙별 수수료 계산")
+    void 규칙별_수수료(){
+        FeeRuleEngine engine = assertDoesNotThrow(() -> new FeeRuleEngine(rules(), true));
+        LocalDate recent = LocalDate.of(2024, 6, 1);
+        LocalDate old = LocalDate.of(2023, 6, 1);
+
+        assertEquals(10000, fee(engine, row("SALES", 9_000_000, recent)));    // 72000 → 상한 10000
+        assertEquals(1250, fee(engine, row("SALES", 100_000, recent)));       // 1.25%
+        assertEquals(1000, fee(engine, row("SALES", 10_000, recent)));        // 125 → 하한 1000
+        assertEquals(500, fee(engine, row("HR", 9_000_000, recent)));
+        // 20000 + 60000 + 10000
+        assertEquals(90_000, fee(engine, row("ENGINEERING", 6_000_000, recent)));
+        assertEquals(20_000, fee(engine, row("ENGINEERING", 1_000_000, recent)));
+        assertEquals(15_000, fee(engine, row("ENGINEERING", 1_000_000, old)));  // default
+    }
+
+    long fee(FeeRuleEngine engine, UserDataBatch batch) {
+        engine.apply(batch);
+        return batch.getFee(0);
+    }
+
+    @Test
+    @DisplayName("컴파일 계산기와 해석 계산기 결과 일치")
+    void 컴파일_해석_일치() throws IOException {
+        List<FeeRule> rules = rules();
+        FeeEvaluator interpreted = new InterpretedFeeEvaluator(rules);
+        CompiledFeeEvaluator compiled = new CompiledFeeEvaluator(rules);
+        UserDataBatch batch = UserDataBatch.allocate(20000, true);
+        long start = LocalDate.of(2023, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        for (int id = 0; id < 20000; id++) {
+            long amount = id < 100 ? id * 50_000L : Math.floorMod(id * 2654435761L, 12_000_000L);
+            batch.add(id, "User_" + id, "", Department.of(id).name(), "", amount, start + id * 7_200_000L);
+        }
+
+        assertEquals(5, compiled.ruleCount());
+        for (int row = 0; row < batch.size(); row++) {
+            assertEquals(interpreted.fee(batch, row), compiled.fee(batch, row), "row " + row);
+        }
+    }
+
+    @Test
+    @DisplayName("잘못된 규칙은 줄 번호와 함께 실패")
+    void 잘못된규칙_실패(){
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new StringReader("ok | * | fixed 1\nbad | amount ~ 1 | fixed 1\n")));
+        assertTrue(e.getMessage().startsWith("수수료 규칙 2번째 줄"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseRule("x | * | rate -1%"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseRule("x | * | tiered 100:1%"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseRule("x | amount > 1 | rate 1% min 10 max 5"));
+    }
+
+    @Test
+    @DisplayName("min / max 외의 한도는 실패")
+    void 알수없는한도_실패(){
+        assertEquals(10, parser.parseRule("x | * | rate 1% min 10 max 50").formula().minFee());
+        assertEquals(50, parser.parseRule("x | * | fixed 500 max 50").formula().maxFee());
+        assertThrows(IllegalArgumentException.class, () -> parser.parseRule("x | * | rate 1% cap 100"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseRule("x | * | rate 1% mim 500"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseRule("x | * | fixed 500 min 10 Max 100"));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parseRule("x | * | tiered 0:2%, 1000000:1.5% cap 100"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.test.feeextract.jobstore;
+
+import com.test.feeextract.domain.JobInfo;
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.service.SimpleAsyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class JobStoreWriterTest {
+
+    // 저장/조회 횟수를 세는 메모리 저장소
+    static class MapJobStore implements JobStore {
+        final Map<String, JobInfo> rows = new ConcurrentHashMap<>();
+        int saveCalls;
+        int findCalls;
+        boolean failing;
+
+        @Override
+        public void saveAll(List<JobInfo> jobs) {
+            if (failing) {
+                throw new IllegalStateException("저장소 연결 끊김");
+            }
+            saveCalls++;
+            jobs.forEach(job -> rows.put(job.getJobId(), job));
+        }
+
+        @Override
+        public JobInfo find(String jobId) {
+            findCalls++;
+            return rows.get(jobId);
+        }
+    }
+
+    MapJobStore store = new MapJobStore();
+
+    @Test
+    @DisplayName("여러 번 갱신해도 flush 한 번에 최신 상태 한 행만 저장")
+    void 갱신합치기_최신상태저장(){
+        SimpleAsyncService jobManager = new SimpleAsyncService(Duration.ofMinutes(10), store);
+        JobStoreWriter writer = new JobStoreWriter(jobManager, store);
+        String jobId = jobManager.createJob("진행률");
+        for (int progress = 1; progress <= 100; progress++) {
+            jobManager.updateJob(jobId, JobStatus.RUNNING, progress, "진행 중");
+        }
+
+        assertTrue(store.rows.isEmpty());
+        assertEquals(1, writer.flush());
+        assertEquals(1, store.saveCalls);
+        assertEquals(100, store.rows.get(jobId).getProgress());
+        assertEquals(0, writer.flush());
+        assertEquals(101, writer.getUpdateCount());
+    }
+
+    @Test
+    @DisplayName("저장 실패 시 다음 flush 에 다시 저장")
+    void 저장실패_재시도(){
+        SimpleAsyncService jobManager = new SimpleAsyncService(Duration.ofMinutes(10), store);
+        JobStoreWriter writer = new JobStoreWriter(jobManager, store);
+        String jobId = jobManager.createJob("실패");
+        store.failing = true;
+
+        assertEquals(0, writer.flush());
+        assertEquals(1, writer.getFailedFlushCount());
+
+        store.failing = false;
+        jobManager.completeJob(jobId, "완료");
+        assertEquals(1, writer.flush());
+        assertEquals(JobStatus.COMPLETED, store.rows.get(jobId).getStatus());
+    }
+
+    @Test
+    @DisplayName("레지스트리에서 정리된 작업은 저장소에서 읽고 캐시")
+    void 정리된작업_저장소조회(){
+        SimpleAsyncService jobManager = new SimpleAsyncService(Duration.ZERO, store);
+        JobStoreWriter writer = new JobStoreWriter(jobManager, store);
+        String jobId = jobManager.createJob("이력");
+        jobManager.completeJob(jobId, "완료");
+        writer.flush();
+        jobManager.cleanupOldJobs();
+
+        assertNull(jobManager.getLocalJob(jobId));
+        assertEquals(JobStatus.COMPLETED, jobManager.getJob(jobId).getStatus());
+        assertEquals("완료", jobManager.getJob(jobId).getMessage());
+        assertNull(jobManager.getJob("없는작업"));
+        assertEquals(2, store.findCalls);
+    }
+}
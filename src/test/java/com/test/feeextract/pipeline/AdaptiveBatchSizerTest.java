@@ -0,0 +1,71 @@
+package com.test.feeextract.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class AdaptiveBatchSizerTest {
+
+    // 누적 GC 값을 테스트에서 직접 올리는 가짜 프로브
+    static class FakeProbe implements AdaptiveBatchSizer.GcProbe {
+        long collections;
+        long collectionMillis;
+
+        @Override
+        public AdaptiveBatchSizer.GcSample sample() {
+            return new AdaptiveBatchSizer.GcSample(collections, collectionMillis, -1);
+        }
+    }
+
+    private static BatchSizingSettings settings(int initial) {
+        return new BatchSizingSettings(250, 20000, initial, 500, 2, 50, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GC 일시정지가 SLO 를 넘으면 절반으로 축소")
+    void GC일시정지_초과_축소(){
+        FakeProbe probe = new FakeProbe();
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(settings(1000), probe);
+
+        probe.collections = 2;
+        probe.collectionMillis = 200;   // 평균 100ms
+        sizer.recordBatch(1000, 1_000_000);
+        sizer.recordBatch(1000, 1_000_000);
+
+        assertEquals(500, sizer.currentSize());
+        assertTrue(sizer.describe().get("batch.decision").contains("SLO"));
+        assertEquals("1000 → 500", sizer.describe().get("batch.history"));
+    }
+
+    @Test
+    @DisplayName("GC 압박이 없으면 step 만큼 증가")
+    void 여유있음_증가(){
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(settings(1000), new FakeProbe());
+
+        sizer.recordBatch(1000, 1_000_000);
+        assertEquals(1000, sizer.currentSize());   // 구간이 차기 전에는 그대로
+        sizer.recordBatch(1000, 1_000_000);
+
+        assertEquals(1500, sizer.currentSize());
+    }
+
+    @Test
+    @DisplayName("최소/최대 크기 안에서만 조절")
+    void 최소최대_범위(){
+        FakeProbe probe = new FakeProbe();
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(settings(300), probe);
+
+        probe.collections = 1;
+        probe.collectionMillis = 100;
+        sizer.recordBatch(300, 1_000_000);
+        sizer.recordBatch(300, 1_000_000);
+        assertEquals(250, sizer.currentSize());
+
+        AdaptiveBatchSizer atMax = new AdaptiveBatchSizer(settings(20000), new FakeProbe());
+        atMax.recordBatch(20000, 1_000_000);
+        atMax.recordBatch(20000, 1_000_000);
+        assertEquals(20000, atMax.currentSize());
+    }
+}
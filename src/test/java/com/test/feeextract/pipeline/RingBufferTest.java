@@ -0,0 +1,73 @@
+package com.test.feeextract.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class RingBufferTest {
+
+    @Test
+    @DisplayName("가득 차면 offer 실패, 비면 poll null")
+    void 용량_경계(){
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(99));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    @DisplayName("여러 생산자/소비자가 동시에 써도 유실/중복 없음")
+    void 동시_생산소비() throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(16);
+        int producers = 4;
+        int perProducer = 50_000;
+        ConcurrentHashMap<Integer, Boolean> seen = new ConcurrentHashMap<>();
+        AtomicInteger consumed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(producers * 2);
+        CountDownLatch done = new CountDownLatch(producers * 2);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+            pool.execute(() -> {
+                while (consumed.get() < producers * perProducer) {
+                    Integer value = buffer.poll();
+                    if (value != null) {
+                        assertNull(seen.put(value, true));
+                        consumed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        pool.shutdownNow();
+        assertEquals(producers * perProducer, seen.size());
+    }
+}
@@ -0,0 +1,95 @@
+package com.test.feeextract.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class StagedPipelineTest {
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    @Test
+    @DisplayName("모든 항목이 변환 후 sink 까지 도달")
+    void 전체항목_처리() throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong sum = new AtomicLong();
+        StagedPipeline<int[]> pipeline = new StagedPipeline<>(new PipelineSettings(4, 2, 3, 2),
+                () -> {
+                    int value = next.getAndIncrement();
+                    return value < 10_000 ? new int[]{value} : null;
+                },
+                item -> item[0] *= 2,
+                item -> sum.addAndGet(item[0]),
+                item -> 1);
+
+        pipeline.run(pool, Duration.ofMillis(100), () -> { });
+
+        assertEquals(10_000, pipeline.completed());
+        assertEquals(2L * 9_999 * 10_000 / 2, sum.get());
+    }
+
+    @Test
+    @DisplayName("sink 가 느리면 앞 단계가 대기 (떠 있는 항목 수 상한)")
+    void 느린sink_백프레셔() throws InterruptedException {
+        PipelineSettings settings = new PipelineSettings(2, 1, 1, 1);
+        AtomicInteger produced = new AtomicInteger();
+        AtomicInteger sunk = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        StagedPipeline<Integer> pipeline = new StagedPipeline<>(settings,
+                () -> {
+                    int value = produced.getAndIncrement();
+                    if (value >= 50) {
+                        return null;
+                    }
+                    maxInFlight.accumulateAndGet(value + 1 - sunk.get(), Math::max);
+                    return value;
+                },
+                item -> { },
+                item -> {
+                    sleep(2);
+                    sunk.incrementAndGet();
+                },
+                item -> 1);
+
+        pipeline.run(pool, Duration.ofMillis(50), () -> { });
+
+        assertEquals(50, sunk.get());
+        assertTrue(maxInFlight.get() <= settings.maxInFlight(), "in flight: " + maxInFlight.get());
+        assertTrue(pipeline.describe().get("source").contains("출력 막힘"));
+    }
+
+    @Test
+    @DisplayName("한 단계가 실패하면 전체 중단 후 예외")
+    void 단계실패_중단(){
+        AtomicInteger next = new AtomicInteger();
+        StagedPipeline<Integer> pipeline = new StagedPipeline<>(PipelineSettings.DEFAULT,
+                next::getAndIncrement,   // 끝나지 않는 source
+                item -> {
+                    if (item == 100) {
+                        throw new IllegalArgumentException("변환 실패");
+                    }
+                },
+                item -> { },
+                item -> 1);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> pipeline.run(pool, Duration.ofMillis(50), () -> { }));
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.test.feeextract.repository;
+
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.entity.JobHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class JobHistoryRepositoryTest {
+
+    static final List<JobStatus> ACTIVE = List.of(JobStatus.WAITING, JobStatus.RUNNING);
+
+    @Autowired
+    JobHistoryRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    JobHistory history(String jobId, String owner, JobStatus status, LocalDateTime updatedAt) {
+        return entityManager.persist(JobHistory.builder()
+                .jobId(jobId).taskName("작업").status(status).instanceId(owner)
+                .startTime(updatedAt).updatedAt(updatedAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("갱신이 끊긴 다른 프로세스의 진행 중 작업만 중단됨으로 표시")
+    void 죽은프로세스_작업만_중단표시() {
+        LocalDateTime now = LocalDateTime.now();
+        history("dead", "node-1#100", JobStatus.RUNNING, now.minusMinutes(5));
+        history("alive", "node-1#200", JobStatus.RUNNING, now.minusSeconds(3));
+        history("mine", "node-2#300", JobStatus.WAITING, now.minusMinutes(5));
+        history("done", "node-1#100", JobStatus.COMPLETED, now.minusMinutes(5));
+        entityManager.flush();
+
+        int marked = repository.markInterrupted("node-2#300", ACTIVE, now.minusSeconds(30),
+                JobStatus.FAILED, "중단", now);
+        entityManager.clear();
+
+        assertEquals(1, marked);
+        assertEquals(JobStatus.FAILED, repository.findById("dead").orElseThrow().getStatus());
+        assertEquals(JobStatus.RUNNING, repository.findById("alive").orElseThrow().getStatus());
+        assertEquals(JobStatus.WAITING, repository.findById("mine").orElseThrow().getStatus());
+        assertEquals(JobStatus.COMPLETED, repository.findById("done").orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("heartbeat 는 자기 진행 중 작업의 갱신 시각만 연장")
+    void heartbeat_자기작업만연장() {
+        LocalDateTime old = LocalDateTime.now().minusMinutes(5);
+        history("running", "node-1#100", JobStatus.RUNNING, old);
+        history("finished", "node-1#100", JobStatus.COMPLETED, old);
+        history("other", "node-2#200", JobStatus.RUNNING, old);
+        entityManager.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, repository.touchActive("node-1#100", ACTIVE, now));
+        entityManager.clear();
+
+        assertFalse(repository.findById("running").orElseThrow().getUpdatedAt().isBefore(now.minusSeconds(1)));
+        assertTrue(repository.findById("finished").orElseThrow().getUpdatedAt().isBefore(now.minusMinutes(1)));
+        assertTrue(repository.findById("other").orElseThrow().getUpdatedAt().isBefore(now.minusMinutes(1)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.service.SimpleAsyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ResultCacheTest {
+
+    SimpleAsyncService asyncService = new SimpleAsyncService();
+    AtomicLong clock = new AtomicLong();
+    AtomicInteger submits = new AtomicInteger();
+
+    ResultCache cache(int maxEntries, long maxRecords) {
+        return new ResultCache(asyncService, maxEntries, maxRecords, Duration.ofMinutes(5), clock::get);
+    }
+
+    // 새 작업 생성 (submit 호출 횟수 기록)
+    String newJob() {
+        submits.incrementAndGet();
+        return asyncService.createJob("캐시테스트");
+    }
+
+    @Test
+    @DisplayName("진행 중이면 합류, 완료 후 ttl 동안 재사용, ttl 이 지나면 새 작업")
+    void 합류_재사용_만료(){
+        ResultCache cache = cache(16, 1_000_000);
+        String key = ResultCache.extractionKey("STREAMING", 500_000);
+
+        ResultCache.Lookup first = cache.getOrSubmit(key, 500_000, this::newJob);
+        ResultCache.Lookup joined = cache.getOrSubmit(key, 500_000, this::newJob);
+        assertEquals(ResultCache.Outcome.MISS, first.outcome());
+        assertEquals(ResultCache.Outcome.JOINED, joined.outcome());
+        assertEquals(first.jobId(), joined.jobId());
+
+        asyncService.completeJob(first.jobId(), "완료");
+        clock.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals(ResultCache.Outcome.HIT, cache.getOrSubmit(key, 500_000, this::newJob).outcome());
+
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        ResultCache.Lookup expired = cache.getOrSubmit(key, 500_000, this::newJob);
+        assertEquals(ResultCache.Outcome.MISS, expired.outcome());
+        assertNotEquals(first.jobId(), expired.jobId());
+        assertEquals(2, submits.get());
+
+        ResultCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.joins());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.expirations());
+    }
+
+    @Test
+    @DisplayName("실패한 작업(입장 거절 포함)은 캐시에서 빠지고 다음 요청은 새로 실행")
+    void 실패작업_제외(){
+        ResultCache cache = cache(16, 1_000_000);
+        String key = ResultCache.extractionKey("FULL_LOAD", 500_000);
+
+        String rejected = cache.getOrSubmit(key, 500_000, () -> {
+            String jobId = newJob();
+            asyncService.failJob(jobId, "메모리 예산 초과로 거절됨");
+            return jobId;
+        }).jobId();
+        ResultCache.Lookup retry = cache.getOrSubmit(key, 500_000, this::newJob);
+        assertEquals(ResultCache.Outcome.MISS, retry.outcome());
+        assertNotEquals(rejected, retry.jobId());
+
+        asyncService.failJob(retry.jobId(), "처리 중 오류");
+        assertEquals(ResultCache.Outcome.MISS, cache.getOrSubmit(key, 500_000, this::newJob).outcome());
+        assertEquals(2, cache.stats().invalidations());
+        assertEquals(3, submits.get());
+    }
+
+    @Test
+    @DisplayName("요청과 다른 방식으로 전환된 작업(입장 시 스트리밍 전환)은 재사용하지 않음")
+    void 방식전환작업_재사용안함(){
+        ResultCache cache = cache(16, 1_000_000);
+        String key = ResultCache.extractionKey("FULL_LOAD", 500_000);
+
+        String downgraded = cache.getOrSubmit(key, 500_000, () -> {
+            String jobId = newJob();
+            cache.discard(key);
+            return jobId;
+        }).jobId();
+        ResultCache.Lookup retry = cache.getOrSubmit(key, 500_000, this::newJob);
+        assertEquals(ResultCache.Outcome.MISS, retry.outcome());
+        assertNotEquals(downgraded, retry.jobId());
+
+        asyncService.completeJob(retry.jobId(), "완료");
+        assertEquals(ResultCache.Outcome.HIT, cache.getOrSubmit(key, 500_000, this::newJob).outcome());
+        assertEquals(1, cache.stats().invalidations());
+        assertEquals(2, submits.get());
+    }
+
+    @Test
+    @DisplayName("처리 건수 합계가 한도를 넘으면 가장 오래 안 쓴 항목부터 제거, 한도보다 큰 요청은 캐시 안 함")
+    void 건수한도_LRU제거(){
+        ResultCache cache = cache(16, 1_000);
+        cache.getOrSubmit("a", 600, this::newJob);
+        cache.getOrSubmit("b", 300, this::newJob);
+        cache.getOrSubmit("a", 600, this::newJob);
+        cache.getOrSubmit("c", 300, this::newJob);
+
+        assertEquals(ResultCache.Outcome.JOINED, cache.getOrSubmit("a", 600, this::newJob).outcome());
+        assertEquals(ResultCache.Outcome.JOINED, cache.getOrSubmit("c", 300, this::newJob).outcome());
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(900, cache.stats().records());
+
+        cache.getOrSubmit("big", 2_000, this::newJob);
+        assertEquals(ResultCache.Outcome.MISS, cache.getOrSubmit("big", 2_000, this::newJob).outcome());
+        assertEquals(2, cache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("배치 요청 키는 사용자 순서와 무관")
+    void 배치키_순서무관(){
+        assertEquals(ResultCache.batchKey(List.of("kim", "lee", "park")),
+                ResultCache.batchKey(List.of("park", "kim", "lee")));
+        assertNotEquals(ResultCache.batchKey(List.of("kim", "lee")),
+                ResultCache.batchKey(List.of("kim", "lee", "lee")));
+    }
+}
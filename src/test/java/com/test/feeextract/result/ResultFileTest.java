@@ -0,0 +1,161 @@
+package com.test.feeextract.result;
+
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.service.SimpleAsyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ResultFileTest {
+
+    @TempDir
+    Path directory;
+
+    UserDataBatch batch(int from, int count) {
+        UserDataBatch batch = UserDataBatch.allocate(count, false);
+        for (int id = from; id < from + count; id++) {
+            batch.add(id, "User_" + id, "user" + id + "@test.com", id % 2 == 0 ? "HR" : "영업", "설명 " + id,
+                    id * 100L, 1000L + id);
+        }
+        batch.resetProcessedNames();
+        for (int row = 0; row < count; row++) {
+            batch.appendUpperCasedName(row, "_P".getBytes(StandardCharsets.US_ASCII));
+            batch.setFee(row, row * 3L);
+        }
+        return batch;
+    }
+
+    @Test
+    @DisplayName("결과 파일 쓰기/읽기 (중간 force 포함, 파일 길이 = 쓴 데이터 + 인덱스/트레일러)")
+    void 결과파일_쓰기읽기() throws IOException {
+        Path path = directory.resolve("result.fxr");
+        long dataBytes;
+        try (ResultFileWriter writer = new ResultFileWriter(path, 4096)) {
+            for (int i = 0; i < 20; i++) {
+                writer.append(batch(i * 100, 100));
+            }
+            writer.append(batch(5000, 10), 3, 7);
+            dataBytes = writer.getBytesWritten();
+            assertEquals(dataBytes, Files.size(path));
+        }
+        assertEquals(dataBytes + 21L * ResultFile.INDEX_ENTRY_BYTES + ResultFile.TRAILER_BYTES, Files.size(path));
+
+        try (ResultFile file = ResultFile.open(path)) {
+            assertEquals(2004, file.getRows());
+            assertEquals(21, file.getBlockCount());
+            assertEquals(Files.size(path), file.getSizeBytes());
+
+            UserDataBatch read = UserDataBatch.allocate(200, false);
+            file.readBlock(7, read);
+            file.readBlock(20, read);
+            assertEquals(104, read.size());
+            assertEquals(799, read.getId(99));
+            assertEquals("영업", read.getDepartment(99));
+            assertEquals("설명 799", read.getDescription(99));
+            assertEquals("USER_799_P", read.getProcessedName(99));
+            assertEquals(79900L, read.getAmount(99));
+            assertEquals(297L, read.getFee(99));
+            assertEquals(1799L, read.getCreatedAtMillis(99));
+            assertEquals(5003, read.getId(100));
+            assertEquals(5006, read.getId(103));
+        }
+    }
+
+    @Test
+    @DisplayName("힙 보관 결과와 파일 결과의 전송 형식 동일")
+    void 힙결과_파일결과_동일형식() throws IOException {
+        List<UserDataBatch> batches = List.of(batch(0, 50), batch(50, 30));
+        Path path = directory.resolve("same.fxr");
+        try (ResultFileWriter writer = new ResultFileWriter(path, 4096)) {
+            for (UserDataBatch batch : batches) {
+                writer.append(batch);
+            }
+        }
+
+        ByteArrayOutputStream fromHeap = new ByteArrayOutputStream();
+        JobResult.inHeap("job", batches, 0).transferTo(Channels.newChannel(fromHeap));
+        ByteArrayOutputStream fromFile = new ByteArrayOutputStream();
+        try (ResultFile file = ResultFile.open(path)) {
+            JobResult.inFile("job", file).transferTo(Channels.newChannel(fromFile));
+        }
+
+        assertArrayEquals(Files.readAllBytes(path), fromHeap.toByteArray());
+        assertArrayEquals(fromHeap.toByteArray(), fromFile.toByteArray());
+    }
+
+    @Test
+    @DisplayName("힙 예산을 넘으면 결과 파일로 spill")
+    void 예산초과_spill() throws IOException {
+        SimpleAsyncService jobs = new SimpleAsyncService();
+        ResultStore store = new ResultStore(jobs, directory.toString(), 1, 1);
+
+        JobResult result;
+        String jobId = jobs.createJob("spill");
+        try (SpillableResult results = store.open(jobId)) {
+            results.add(batch(0, 1000));
+            assertFalse(results.isSpilled());
+            for (int i = 1; results.getHeapBytes() > 0 && i < 100; i++) {
+                results.add(batch(i * 1000, 1000));
+            }
+            assertTrue(results.isSpilled());
+            assertEquals(0, store.getHeapBytes());
+            result = results.finish();
+        }
+
+        assertTrue(result.isSpilled());
+        assertTrue(Files.exists(directory.resolve(jobId + ".fxr")));
+        assertSame(result, store.get(jobId));
+
+        // 실패한 작업은 예산 반납 후 파일 삭제
+        String failedJob = jobs.createJob("fail");
+        try (SpillableResult results = store.open(failedJob)) {
+            for (int i = 0; i < 10; i++) {
+                results.add(batch(i * 1000, 1000));
+            }
+        }
+        assertEquals(0, store.getHeapBytes());
+        assertFalse(Files.exists(directory.resolve(failedJob + ".fxr")));
+        assertNull(store.get(failedJob));
+
+        store.shutdown();
+        assertFalse(Files.exists(directory.resolve(jobId + ".fxr")));
+    }
+
+    @Test
+    @DisplayName("다운로드 중에 보관 기간이 끝나도 전송을 마친 뒤 삭제")
+    void 다운로드중_만료_전송후삭제() throws IOException {
+        SimpleAsyncService jobs = new SimpleAsyncService();
+        ResultStore store = new ResultStore(jobs, directory.toString(), 0, 1);
+        String jobId = jobs.createJob("download");
+        JobResult result;
+        try (SpillableResult results = store.open(jobId)) {
+            results.add(batch(0, 1000));
+            result = results.finish();
+        }
+        Path path = directory.resolve(jobId + ".fxr");
+        assertTrue(result.isSpilled());
+
+        assertTrue(result.acquire());
+        store.shutdown();
+        assertTrue(Files.exists(path));
+        assertFalse(result.acquire());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.transferTo(Channels.newChannel(out));
+        assertEquals(result.getFileBytes(), out.size());
+
+        result.release();
+        assertFalse(Files.exists(path));
+    }
+}
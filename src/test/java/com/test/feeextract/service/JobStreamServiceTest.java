@@ -0,0 +1,100 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.domain.JobStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobStreamServiceTest {
+
+    @Test
+    @DisplayName("느린 구독자가 전송 스레드를 모두 막아도 다른 구독자는 전송받음")
+    void 느린구독자_끊고_다른구독자전송() throws Exception {
+        SimpleAsyncService asyncService = new SimpleAsyncService();
+        JobStreamService streamService = new JobStreamService(asyncService, Duration.ofMillis(100));
+        String jobId = asyncService.createJob("스트림");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // 인터럽트를 무시하고 막히는 클라이언트 2개 = 기본 전송 스레드 수
+            StalledEmitter slow1 = new StalledEmitter(release);
+            StalledEmitter slow2 = new StalledEmitter(release);
+            streamService.subscribe(jobId, slow1);
+            streamService.subscribe(jobId, slow2);
+            assertTrue(slow1.entered.await(5, TimeUnit.SECONDS));
+            assertTrue(slow2.entered.await(5, TimeUnit.SECONDS));
+
+            RecordingEmitter fast = new RecordingEmitter();
+            streamService.subscribe(jobId, fast);
+            assertTrue(fast.sent.await(5, TimeUnit.SECONDS));
+
+            // 시간 초과로 끊긴 구독자는 더 이상 변경을 받지 않음
+            assertTrue(slow1.interrupted.await(5, TimeUnit.SECONDS));
+            assertTrue(slow2.interrupted.await(5, TimeUnit.SECONDS));
+            asyncService.updateJob(jobId, JobStatus.RUNNING, 50, "진행");
+            release.countDown();
+            assertTrue(slow1.failed.await(5, TimeUnit.SECONDS));
+            assertTrue(slow2.failed.await(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, slow1.error);
+            assertEquals(1, slow1.sends);
+            assertEquals(1, slow2.sends);
+        } finally {
+            release.countDown();
+            streamService.shutdown();
+        }
+    }
+
+    private static class StalledEmitter extends SseEmitter {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final CountDownLatch failed = new CountDownLatch(1);
+        final CountDownLatch release;
+        volatile int sends;
+        volatile Throwable error;
+
+        StalledEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sends++;
+            entered.countDown();
+            // 인터럽트에 반응하지 않는 컨테이너 쓰기처럼 release 까지 계속 막힘
+            boolean wasInterrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    wasInterrupted = true;
+                    interrupted.countDown();
+                }
+            }
+            if (wasInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            error = ex;
+            failed.countDown();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final CountDownLatch sent = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.countDown();
+        }
+    }
+}
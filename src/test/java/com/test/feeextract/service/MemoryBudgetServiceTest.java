@@ -0,0 +1,81 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.domain.ExtractionMode;
+import com.test.feeextract.domain.JobStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class MemoryBudgetServiceTest {
+
+    private static final int DATA_SIZE = 100000;
+
+    SimpleAsyncService jobManager = new SimpleAsyncService();
+
+    // 전체 로딩 작업 jobs 개 분량의 예산
+    MemoryBudgetService budgetFor(double jobs, int maxQueued) {
+        MemoryBudgetService probe = new MemoryBudgetService(jobManager, 1.0, maxQueued, 30, 1.0);
+        long need = probe.estimateBytes(ExtractionMode.FULL_LOAD, DATA_SIZE);
+        double fraction = need * jobs / Runtime.getRuntime().maxMemory();
+        return new MemoryBudgetService(jobManager, fraction, maxQueued, 30, 1.0);
+    }
+
+    @Test
+    @DisplayName("예산 부족 시 대기 후 실행")
+    void 예산부족_대기후실행(){
+        MemoryBudgetService budget = budgetFor(1.5, 8);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        List<ExtractionMode> launched = new ArrayList<>();
+
+        String firstJob = jobManager.createJob("첫번째");
+        String secondJob = jobManager.createJob("두번째");
+        MemoryBudgetService.Admission a1 = budget.submit(firstJob, ExtractionMode.FULL_LOAD, DATA_SIZE, mode -> first);
+        MemoryBudgetService.Admission a2 = budget.submit(secondJob, ExtractionMode.FULL_LOAD, DATA_SIZE, mode -> {
+            launched.add(mode);
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(MemoryBudgetService.Decision.ADMITTED, a1.decision());
+        assertEquals(MemoryBudgetService.Decision.QUEUED, a2.decision());
+        assertEquals(JobStatus.WAITING, jobManager.getJob(secondJob).getStatus());
+
+        first.complete("완료");
+
+        assertEquals(List.of(ExtractionMode.FULL_LOAD), launched);
+        assertEquals(JobStatus.RUNNING, jobManager.getJob(secondJob).getStatus());
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 스트리밍 전환")
+    void 대기열초과_스트리밍전환(){
+        MemoryBudgetService budget = budgetFor(1.5, 0);
+
+        budget.submit(jobManager.createJob("첫번째"), ExtractionMode.FULL_LOAD, DATA_SIZE,
+                mode -> new CompletableFuture<>());
+        MemoryBudgetService.Admission admission = budget.submit(jobManager.createJob("두번째"),
+                ExtractionMode.FULL_LOAD, DATA_SIZE, mode -> new CompletableFuture<>());
+
+        assertEquals(MemoryBudgetService.Decision.DOWNGRADED, admission.decision());
+        assertEquals(ExtractionMode.STREAMING, admission.mode());
+    }
+
+    @Test
+    @DisplayName("예산보다 큰 스트리밍 작업은 거절")
+    void 예산초과_거절(){
+        MemoryBudgetService budget = budgetFor(0.001, 8);
+        String jobId = jobManager.createJob("거절");
+
+        MemoryBudgetService.Admission admission = budget.submit(jobId, ExtractionMode.STREAMING, DATA_SIZE,
+                mode -> new CompletableFuture<>());
+
+        assertEquals(MemoryBudgetService.Decision.REJECTED, admission.decision());
+        assertTrue(admission.retryAfterSeconds() > 0);
+        assertEquals(JobStatus.FAILED, jobManager.getJob(jobId).getStatus());
+    }
+}
@@ -4,6 +4,8 @@ import com.test.feeextract.domain.JobStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -47,5 +49,32 @@ class SimpleAsyncServiceTest {
         assertEquals(jobManager.getJob(jobId).getProgress(), 70);
     }
 
+    @Test
+    @DisplayName("진행 중에는 종료시간 없음")
+    void 진행중_종료시간없음(){
+        String jobId = jobManager.createJob("잡생성");
+        jobManager.updateJob(jobId,JobStatus.RUNNING,50,"조회중");
+
+        assertEquals("잡생성", jobManager.getJob(jobId).getTaskName());
+        assertNull(jobManager.getJob(jobId).getEndTime());
+
+        jobManager.completeJob(jobId,"성공처리");
+        assertNotNull(jobManager.getJob(jobId).getEndTime());
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 종료 작업 정리")
+    void 종료작업_만료정리(){
+        SimpleAsyncService manager = new SimpleAsyncService(Duration.ZERO);
+        String finished = manager.createJob("종료");
+        String running = manager.createJob("진행");
+        manager.completeJob(finished,"성공처리");
+
+        manager.cleanupOldJobs();
+
+        assertNull(manager.getJob(finished));
+        assertNotNull(manager.getJob(running));
+    }
+
 
-}
\ No newline at end of file
+}
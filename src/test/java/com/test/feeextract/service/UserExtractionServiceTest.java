@@ -0,0 +1,170 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.checkpoint.CheckpointLog;
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.domain.UserDataBatch;
+import com.test.feeextract.entity.User;
+import com.test.feeextract.fee.FeeRuleEngine;
+import com.test.feeextract.mapper.UserMapper;
+import com.test.feeextract.pipeline.BatchSizingSettings;
+import com.test.feeextract.pipeline.PipelineSettings;
+import com.test.feeextract.repository.UserRepository;
+import com.test.feeextract.result.ResultStore;
+import com.test.feeextract.util.ExtractionMetrics;
+import com.test.feeextract.util.MemoryMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserExtractionServiceTest {
+
+    // processBatch 로 넘어온 id 별 횟수를 세는 처리 단계
+    static class RecordingLargeDataService extends LargeDataService {
+        final Map<Integer, Integer> seen = new ConcurrentHashMap<>();
+
+        RecordingLargeDataService(MemoryMonitor memoryMonitor, SimpleAsyncService asyncService,
+                                  MemoryBudgetService memoryBudget, PipelineSettings pipelineSettings,
+                                  BatchSizingSettings batchSizing, ExtractionMetrics metrics,
+                                  FeeRuleEngine feeEngine, ResultStore resultStore, CheckpointLog checkpointLog) {
+            super(memoryMonitor, asyncService, memoryBudget, pipelineSettings, batchSizing, metrics, feeEngine,
+                    resultStore, checkpointLog);
+        }
+
+        @Override
+        public void processBatch(UserDataBatch batch) {
+            for (int row = 0; row < batch.size(); row++) {
+                seen.merge(batch.getId(row), 1, Integer::sum);
+            }
+            super.processBatch(batch);
+        }
+    }
+
+    @Autowired UserMapper userMapper;
+    @Autowired UserRepository userRepository;
+    @Autowired UserIngestionService ingestionService;
+    @Autowired SimpleAsyncService asyncService;
+    @Autowired MemoryMonitor memoryMonitor;
+    @Autowired MemoryBudgetService memoryBudget;
+    @Autowired PipelineSettings pipelineSettings;
+    @Autowired BatchSizingSettings batchSizing;
+    @Autowired ExtractionMetrics metrics;
+    @Autowired FeeRuleEngine feeEngine;
+    @Autowired ResultStore resultStore;
+    @Autowired CheckpointLog checkpointLog;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    RecordingLargeDataService largeDataService;
+    UserExtractionService extractionService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        largeDataService = new RecordingLargeDataService(memoryMonitor, asyncService, memoryBudget,
+                pipelineSettings, batchSizing, metrics, feeEngine, resultStore, checkpointLog);
+        extractionService = new UserExtractionService(userMapper, userRepository, largeDataService, asyncService,
+                memoryMonitor, metrics, transactionManager, batchSizing, 100, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        extractionService.shutdown();
+    }
+
+    void ingest(int count) {
+        ingestionService.ingestUsers(asyncService.createJob("User 적재"), count).join();
+    }
+
+    Set<Integer> tableIds() {
+        return userRepository.findAll().stream()
+                .map(user -> Math.toIntExact(user.getId()))
+                .collect(Collectors.toSet());
+    }
+
+    // 모든 행이 정확히 한 번씩 처리됐는지
+    void assertEachOnce(Set<Integer> expected) {
+        assertEquals(expected, largeDataService.seen.keySet());
+        assertTrue(largeDataService.seen.values().stream().allMatch(count -> count == 1),
+                "두 번 이상 처리된 id 있음");
+    }
+
+    @Test
+    @DisplayName("커서 추출은 모든 행을 한 번씩 처리")
+    void 커서추출_모든행한번씩() {
+        ingest(5_432);
+        String jobId = asyncService.createJob("User 커서 추출");
+
+        extractionService.extractUsersStreaming(jobId).join();
+
+        assertEquals(JobStatus.COMPLETED, asyncService.getJob(jobId).getStatus());
+        assertEachOnce(tableIds());
+    }
+
+    @Test
+    @DisplayName("빈 테이블 커서 추출")
+    void 커서추출_빈테이블() {
+        String jobId = asyncService.createJob("User 커서 추출");
+
+        extractionService.extractUsersStreaming(jobId).join();
+
+        assertEquals(JobStatus.COMPLETED, asyncService.getJob(jobId).getStatus());
+        assertTrue(largeDataService.seen.isEmpty());
+    }
+
+    @Test
+    @DisplayName("키셋 파티션 병렬 추출은 모든 행을 한 번씩 처리")
+    void 병렬추출_모든행한번씩() {
+        ingest(5_432);
+        String jobId = asyncService.createJob("User 병렬 추출");
+
+        extractionService.extractUsersParallel(jobId).join();
+
+        assertEquals(JobStatus.COMPLETED, asyncService.getJob(jobId).getStatus());
+        assertEachOnce(tableIds());
+        assertEquals(4, asyncService.getJob(jobId).getDetails().keySet().stream()
+                .filter(key -> key.startsWith("partition-")).count());
+    }
+
+    @Test
+    @DisplayName("id 가 한쪽에 몰려 있어도 (중간이 비어 있어도) 병렬 추출은 모든 행을 한 번씩 처리")
+    void 병렬추출_id쏠림() {
+        ingest(6_000);
+        // 앞쪽 id 대부분을 지워서 id 간격이 크게 벌어지게 함
+        long minId = userMapper.selectMinId();
+        List<Long> removed = userRepository.findAll().stream()
+                .map(User::getId)
+                .filter(id -> id >= minId + 100 && id < minId + 4_000)
+                .toList();
+        assertFalse(removed.isEmpty());
+        userRepository.deleteAllByIdInBatch(removed);
+        String jobId = asyncService.createJob("User 병렬 추출");
+
+        extractionService.extractUsersParallel(jobId).join();
+
+        assertEquals(JobStatus.COMPLETED, asyncService.getJob(jobId).getStatus());
+        assertEachOnce(tableIds());
+    }
+
+    @Test
+    @DisplayName("빈 테이블 병렬 추출")
+    void 병렬추출_빈테이블() {
+        String jobId = asyncService.createJob("User 병렬 추출");
+
+        extractionService.extractUsersParallel(jobId).join();
+
+        assertEquals(JobStatus.COMPLETED, asyncService.getJob(jobId).getStatus());
+        assertTrue(largeDataService.seen.isEmpty());
+    }
+}
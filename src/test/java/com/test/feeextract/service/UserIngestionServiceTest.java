@@ -0,0 +1,71 @@
+package com.test.feeextract.service;
+
+import com.test.feeextract.domain.JobStatus;
+import com.test.feeextract.entity.User;
+import com.test.feeextract.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserIngestionServiceTest {
+
+    @Autowired
+    UserIngestionService ingestionService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    SimpleAsyncService asyncService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    String ingest(int count) {
+        String jobId = asyncService.createJob("User 적재");
+        ingestionService.ingestUsers(jobId, count).join();
+        return jobId;
+    }
+
+    @Test
+    @DisplayName("여러 청크에 걸쳐 적재해도 건수가 맞고 ID 가 겹치지 않음")
+    void 적재_건수_ID고유() {
+        // 기본 배치 1000 × 청크당 10배치 → 청크 경계를 넘도록
+        String jobId = ingest(12_345);
+
+        assertEquals(JobStatus.COMPLETED, asyncService.getJob(jobId).getStatus());
+        List<User> users = userRepository.findAll();
+        assertEquals(12_345, users.size());
+        assertEquals(12_345, users.stream().map(User::getId).distinct().count());
+        assertTrue(users.stream().allMatch(user -> user.getAmount() != null && user.getDepartment() != null));
+    }
+
+    @Test
+    @DisplayName("두 번 적재하면 ID 가 이어서 할당됨 (pooled 시퀀스)")
+    void 연속적재_ID겹치지않음() {
+        ingest(1500);
+        ingest(1500);
+
+        List<User> users = userRepository.findAll();
+        assertEquals(3000, users.size());
+        assertEquals(3000, users.stream().map(User::getId).distinct().count());
+    }
+
+    @Test
+    @DisplayName("0건 적재")
+    void 빈적재() {
+        String jobId = ingest(0);
+
+        assertEquals(JobStatus.COMPLETED, asyncService.getJob(jobId).getStatus());
+        assertEquals(0, userRepository.count());
+    }
+}
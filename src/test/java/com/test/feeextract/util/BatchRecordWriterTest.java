@@ -0,0 +1,63 @@
+package com.test.feeextract.util;
+
+import com.test.feeextract.domain.ExportFormat;
+import com.test.feeextract.domain.UserDataBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class BatchRecordWriterTest {
+
+    UserDataBatch batch() {
+        UserDataBatch batch = UserDataBatch.allocate(2, false);
+        batch.add(1, "User_1", "user1@test.com", "SALES", "", 100000L, 1000L);
+        batch.add(2, "a \"b\", c\n", "카페\\x", "HR", "", -5L, 2000L);
+        batch.resetProcessedNames();
+        batch.appendUpperCasedName(0, "_P".getBytes(StandardCharsets.US_ASCII));
+        batch.appendUpperCasedName(1, "_P".getBytes(StandardCharsets.US_ASCII));
+        batch.setFee(0, 1200L);
+        return batch;
+    }
+
+    String write(ExportFormat format, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchRecordWriter writer = new BatchRecordWriter(out, format, bufferSize);
+        writer.writeHeader();
+        writer.write(batch());
+        writer.flush();
+        assertEquals(2, writer.getRecords());
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("NDJSON 출력과 escape")
+    void NDJSON_출력() throws IOException {
+        assertEquals("{\"id\":1,\"name\":\"User_1\",\"email\":\"user1@test.com\",\"department\":\"SALES\","
+                        + "\"amount\":100000,\"fee\":1200,\"createdAtMillis\":1000,\"processedName\":\"USER_1_P\"}\n"
+                        + "{\"id\":2,\"name\":\"a \\\"b\\\", c\\u000a\",\"email\":\"카페\\\\x\",\"department\":\"HR\","
+                        + "\"amount\":-5,\"fee\":0,\"createdAtMillis\":2000,\"processedName\":\"A \\\"B\\\", C\\u000a_P\"}\n",
+                write(ExportFormat.NDJSON, 65536));
+    }
+
+    @Test
+    @DisplayName("CSV 출력과 따옴표 처리")
+    void CSV_출력() throws IOException {
+        assertEquals("id,name,email,department,amount,fee,createdAtMillis,processedName\n"
+                        + "1,User_1,user1@test.com,SALES,100000,1200,1000,USER_1_P\n"
+                        + "2,\"a \"\"b\"\", c\n\",카페\\x,HR,-5,0,2000,\"A \"\"B\"\", C\n_P\"\n",
+                write(ExportFormat.CSV, 65536));
+    }
+
+    @Test
+    @DisplayName("작은 버퍼에서도 같은 결과")
+    void 작은버퍼_동일결과() throws IOException {
+        assertEquals(write(ExportFormat.NDJSON, 65536), write(ExportFormat.NDJSON, 64));
+        assertEquals(write(ExportFormat.CSV, 65536), write(ExportFormat.CSV, 64));
+    }
+}
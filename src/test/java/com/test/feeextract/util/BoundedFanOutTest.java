@@ -0,0 +1,71 @@
+package com.test.feeextract.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class BoundedFanOutTest {
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("동시 실행 수 제한 + 전체 결과 수집")
+    void 동시실행제한_결과수집() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 50).boxed().toList();
+
+        List<BoundedFanOut.Outcome<Integer, Integer>> outcomes = BoundedFanOut.<Integer, Integer>run(inputs, 3,
+                input -> CompletableFuture.supplyAsync(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    if (input == 7) {
+                        throw new IllegalStateException("실패");
+                    }
+                    return input * 2;
+                }, executor),
+                outcome -> { }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(50, outcomes.size());
+        assertTrue(maxRunning.get() <= 3);
+        assertEquals(10, outcomes.get(5).result());
+        assertFalse(outcomes.get(7).isSuccess());
+        assertEquals(49, outcomes.stream().filter(BoundedFanOut.Outcome::isSuccess).count());
+    }
+
+    @Test
+    @DisplayName("task 가 동기로 완료돼도 입력이 많을 때 호출이 중첩되지 않음")
+    void 동기완료_스택깊이일정() throws Exception {
+        List<Integer> inputs = IntStream.range(0, 200_000).boxed().toList();
+        AtomicInteger seen = new AtomicInteger();
+
+        List<BoundedFanOut.Outcome<Integer, Integer>> outcomes = BoundedFanOut.<Integer, Integer>run(inputs, 1,
+                input -> CompletableFuture.completedFuture(input + 1),
+                outcome -> seen.incrementAndGet()).get(10, TimeUnit.SECONDS);
+
+        assertEquals(200_000, outcomes.size());
+        assertEquals(200_000, seen.get());
+        assertEquals(200_000, outcomes.get(199_999).result());
+    }
+}
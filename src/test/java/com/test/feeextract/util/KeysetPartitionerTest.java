@@ -0,0 +1,57 @@
+package com.test.feeextract.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class KeysetPartitionerTest {
+
+    @Test
+    @DisplayName("분위수 경계로 범위 분할")
+    void 분위수_범위분할(){
+        List<KeysetPartitioner.Range> ranges = KeysetPartitioner.partition(1, 100, List.of(26L, 51L, 76L));
+
+        assertEquals(List.of(
+                new KeysetPartitioner.Range(1, 26),
+                new KeysetPartitioner.Range(26, 51),
+                new KeysetPartitioner.Range(51, 76),
+                new KeysetPartitioner.Range(76, 101)), ranges);
+    }
+
+    @Test
+    @DisplayName("치우친 id 분포에서도 범위별 행 수가 비슷함")
+    void 치우친분포_행수균등(){
+        // 앞쪽 900건은 1~900, 뒤쪽 100건은 1,000,001~1,000,100 (균등 간격이면 첫 범위에 거의 다 몰림)
+        long[] ids = new long[1000];
+        for (int i = 0; i < 900; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = 0; i < 100; i++) {
+            ids[900 + i] = 1_000_001 + i;
+        }
+        List<Long> quantiles = KeysetPartitioner.quantileOffsets(ids.length, 4).stream()
+                .map(offset -> ids[offset.intValue()])
+                .toList();
+
+        List<KeysetPartitioner.Range> ranges = KeysetPartitioner.partition(ids[0], ids[ids.length - 1], quantiles);
+
+        assertEquals(4, ranges.size());
+        for (KeysetPartitioner.Range range : ranges) {
+            long rows = Arrays.stream(ids).filter(id -> id >= range.lower() && id < range.upper()).count();
+            assertEquals(250, rows);
+        }
+    }
+
+    @Test
+    @DisplayName("중복 경계는 합치고 빈 테이블은 범위 없음")
+    void 중복경계_빈테이블(){
+        assertEquals(List.of(new KeysetPartitioner.Range(5, 6)),
+                KeysetPartitioner.partition(5, 5, List.of(5L, 5L, 5L)));
+        assertTrue(KeysetPartitioner.partition(1, 0, List.of()).isEmpty());
+    }
+}
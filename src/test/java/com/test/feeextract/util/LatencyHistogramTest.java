@@ -0,0 +1,47 @@
+package com.test.feeextract.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("분위수 상대 오차 6.25% 이내")
+    void 분위수_정확도(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.count());
+        assertEquals(50_000_000, snapshot.p50(), 50_000_000 * 0.0625);
+        assertEquals(99_000_000, snapshot.p99(), 99_000_000 * 0.0625);
+        assertEquals(99_900_000, snapshot.p999(), 99_900_000 * 0.0625);
+        assertEquals(100_000_000, snapshot.max());
+    }
+
+    @Test
+    @DisplayName("버킷 경계 계산")
+    void 버킷_경계(){
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, value + " > " + upper);
+            assertTrue(upper - value <= Math.max(0, value / 16), value + " → " + upper);
+        }
+    }
+
+    @Test
+    @DisplayName("기록이 없으면 0")
+    void 빈_히스토그램(){
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.p99());
+    }
+}
@@ -0,0 +1,42 @@
+package com.test.feeextract.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class MemoryMonitorTest {
+
+    MemoryMonitor memoryMonitor = new MemoryMonitor();
+
+    @Test
+    @DisplayName("작업 스레드 할당량 집계")
+    void 작업_할당량집계(){
+        List<byte[]> retained = new ArrayList<>();
+        try (MemoryMonitor.JobMemory jobMemory = memoryMonitor.startJob("job-1")) {
+            long mark = jobMemory.mark();
+            for (int i = 0; i < 10; i++) {
+                retained.add(new byte[1024 * 1024]);
+            }
+            long allocated = jobMemory.record(mark);
+
+            assertTrue(allocated >= 10L * 1024 * 1024, "allocated: " + allocated);
+            assertEquals(allocated, jobMemory.getAllocatedBytes());
+        }
+        assertEquals(10, retained.size());
+    }
+
+    @Test
+    @DisplayName("측정값 조회")
+    void 측정값_조회(){
+        MemoryMonitor.MemoryInfo info = memoryMonitor.measureMemory("테스트");
+
+        assertTrue(info.getUsedMemoryMB() >= 0);
+        assertTrue(info.getMaxMemoryMB() > 0);
+        assertTrue(info.getUsagePercent() >= 0 && info.getUsagePercent() <= 100);
+    }
+}
@@ -0,0 +1,80 @@
+package com.test.feeextract.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class PriorityTaskExecutorTest {
+
+    PriorityTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    // 워커 1개를 막아 두고 tasks 를 순서대로 넣은 뒤 풀어서 실행 순서 확인
+    List<String> runOrder(Duration aging, int... priorities) throws Exception {
+        executor = new PriorityTaskExecutor("test", 1, aging);
+        CountDownLatch gate = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(priorities.length);
+        for (int i = 0; i < priorities.length; i++) {
+            String name = "작업" + i + "(우선순위 " + priorities[i] + ")";
+            TaskPriority.with(priorities[i], () -> executor.submit(() -> {
+                order.add(name);
+                done.countDown();
+            }));
+        }
+        gate.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        return order;
+    }
+
+    @Test
+    @DisplayName("우선순위가 높은 작업이 먼저 들어온 낮은 우선순위 작업을 앞지름")
+    void 높은우선순위_앞지르기() throws Exception {
+        List<String> order = runOrder(Duration.ofMinutes(1), 8, 3, TaskPriority.HIGHEST);
+
+        assertEquals(List.of("작업2(우선순위 0)", "작업1(우선순위 3)", "작업0(우선순위 8)"), order);
+        assertEquals(TaskPriority.DEFAULT, TaskPriority.current());
+    }
+
+    @Test
+    @DisplayName("aging 이 0 이면 들어온 순서대로 실행")
+    void aging없음_선입선출() throws Exception {
+        List<String> order = runOrder(Duration.ZERO, 8, 3, TaskPriority.HIGHEST);
+
+        assertEquals(List.of("작업0(우선순위 8)", "작업1(우선순위 3)", "작업2(우선순위 0)"), order);
+    }
+
+    @Test
+    @DisplayName("작업마다 대기 시간/실행 시간 기록, 건수 기준 우선순위는 작은 작업이 높음")
+    void 대기시간기록_건수우선순위() throws Exception {
+        runOrder(Duration.ofMillis(200), 5, 5);
+
+        PriorityTaskExecutor.Stats stats = executor.snapshot();
+        assertEquals("test", stats.name());
+        assertEquals(1, stats.poolSize());
+        assertEquals(0, stats.queuedTasks());
+        assertTrue(stats.queueWaitMaxMicros() > 0);
+        assertTrue(TaskPriority.forRecords(10_000) < TaskPriority.forRecords(5_000_000));
+        assertEquals(TaskPriority.HIGHEST, TaskPriority.forRecords(1));
+    }
+}